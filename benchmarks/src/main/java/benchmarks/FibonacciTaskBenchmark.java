@@ -0,0 +1,58 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import api.Result;
+import fibonacci_tasks.FibonacciReadyTask;
+import fibonacci_tasks.FibonacciSuccessorTask;
+
+/**
+ * Benchmarks of the Fibonacci tasks: a Ready Task, atomic for n less than 2
+ * and decomposing otherwise, and the join of a Successor Task.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FibonacciTaskBenchmark {
+	@Param({ "1", "20" })
+	int n;
+
+	FibonacciReadyTask task;
+
+	@Setup
+	public void setup() {
+		task = Fixtures.fibonacciReadyTask(n, 10);
+	}
+
+	@Benchmark
+	public Result readyExecute() {
+		return task.execute();
+	}
+
+	@Benchmark
+	public Result successorJoin() {
+		FibonacciSuccessorTask successor = Fixtures.fibonacciSuccessorTask();
+		successor.setLayer(10);
+		successor.setArgAt(0, n);
+		successor.setArgAt(1, n - 1);
+		if (!successor.isRunnable()) {
+			throw new IllegalStateException("Successor is not runnable.");
+		}
+		return successor.execute();
+	}
+}
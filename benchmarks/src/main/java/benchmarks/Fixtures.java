@@ -0,0 +1,216 @@
+package benchmarks;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import api.Result;
+import fibonacci_tasks.FibonacciReadyTask;
+import fibonacci_tasks.FibonacciSuccessorTask;
+import tsp_tasks.TspData;
+import tsp_tasks.TspReadyTask;
+import tsp_tasks.TspSuccessorTask;
+
+/**
+ * Fixtures builds the tasks measured by the benchmarks, with the same shape
+ * as the ones built by the Clients and by the tasks themselves.
+ */
+public final class Fixtures {
+
+	/**
+	 * Seed of the city coordinates, so every run measures the same tour.
+	 */
+	private static final long SEED = 42;
+
+	/**
+	 * Task ID of a task executed by a Computer Worker.
+	 */
+	public static final String WORKER_TASK_ID = "F:1:S0:1:U1:P0:1:C1:2:W5";
+
+	/**
+	 * Number of cities of the TSP job of the serialization payloads.
+	 */
+	public static final int TSP_CITIES = 12;
+
+	/**
+	 * Argument of the Fibonacci job of the serialization payloads.
+	 */
+	public static final int FIBONACCI_N = 30;
+
+	/**
+	 * Kinds of serialization payloads.
+	 */
+	public static final String[] PAYLOADS = { "TspTask", "TspTaskResult",
+			"TspValueResult", "FibonacciTask", "FibonacciTaskResult",
+			"FibonacciValueResult" };
+
+	private Fixtures() {
+	}
+
+	/**
+	 * Make the distance matrix of random cities in a 10x10 square.
+	 *
+	 * @param numOfCities
+	 *            Number of cities.
+	 * @return Distance matrix.
+	 */
+	public static double[][] distance(int numOfCities) {
+		Random random = new Random(SEED);
+		double[][] cities = new double[numOfCities][2];
+		for (int i = 0; i < numOfCities; i++) {
+			cities[i][0] = random.nextDouble() * 10;
+			cities[i][1] = random.nextDouble() * 10;
+		}
+		double[][] distance = new double[numOfCities][numOfCities];
+		for (int i = 0; i < numOfCities; i++) {
+			for (int j = 0; j < numOfCities; j++) {
+				distance[i][j] = Math.hypot(cities[i][0] - cities[j][0],
+						cities[i][1] - cities[j][1]);
+			}
+		}
+		return distance;
+	}
+
+	/**
+	 * Make a TSP Ready Task of a tour of cities whose first cities are
+	 * already ordered.
+	 *
+	 * @param numOfCities
+	 *            Number of cities of the tour.
+	 * @param unorderedNum
+	 *            Number of cities not ordered yet.
+	 * @return TSP Ready Task.
+	 */
+	public static TspReadyTask tspReadyTask(int numOfCities, int unorderedNum) {
+		List<Integer> ordered = new ArrayList<Integer>();
+		List<Integer> unordered = new ArrayList<Integer>();
+		for (int i = 0; i < numOfCities; i++) {
+			if (i < numOfCities - unorderedNum) {
+				ordered.add(i);
+			} else {
+				unordered.add(i);
+			}
+		}
+		List<TspData> args = new ArrayList<TspData>();
+		args.add(new TspData(-8, ordered, unordered));
+		TspReadyTask task = new TspReadyTask(args, 0, numOfCities,
+				distance(numOfCities));
+		task.setID(WORKER_TASK_ID);
+		task.setTargetID(WORKER_TASK_ID);
+		task.setLayer(numOfCities - unorderedNum - 1);
+		return task;
+	}
+
+	/**
+	 * Make a TSP Successor Task missing all its arguments.
+	 *
+	 * @param argNum
+	 *            Number of arguments.
+	 * @return TSP Successor Task.
+	 */
+	public static TspSuccessorTask tspSuccessorTask(int argNum) {
+		List<TspData> args = new ArrayList<TspData>();
+		for (int i = 0; i < argNum; i++) {
+			args.add(null);
+		}
+		TspSuccessorTask task = new TspSuccessorTask(args, argNum,
+				WORKER_TASK_ID, 0);
+		task.setID(WORKER_TASK_ID);
+		return task;
+	}
+
+	/**
+	 * Make the solved tours joined by a TSP Successor Task.
+	 *
+	 * @param numOfCities
+	 *            Number of cities of a tour.
+	 * @param argNum
+	 *            Number of tours.
+	 * @return Solved tours.
+	 */
+	public static List<TspData> tspValues(int numOfCities, int argNum) {
+		List<TspData> values = new ArrayList<TspData>();
+		for (int i = 0; i < argNum; i++) {
+			List<Integer> tour = new ArrayList<Integer>();
+			for (int j = 0; j < numOfCities; j++) {
+				tour.add((j + i) % numOfCities);
+			}
+			values.add(new TspData(100 - i, tour, new ArrayList<Integer>()));
+		}
+		return values;
+	}
+
+	/**
+	 * Make a Fibonacci Ready Task.
+	 *
+	 * @param n
+	 *            Argument.
+	 * @param layer
+	 *            Layer.
+	 * @return Fibonacci Ready Task.
+	 */
+	public static FibonacciReadyTask fibonacciReadyTask(int n, int layer) {
+		List<Integer> args = new ArrayList<Integer>();
+		args.add(n);
+		FibonacciReadyTask task = new FibonacciReadyTask(args, 0);
+		task.setID(WORKER_TASK_ID);
+		task.setTargetID(WORKER_TASK_ID);
+		task.setLayer(layer);
+		return task;
+	}
+
+	/**
+	 * Make a Fibonacci Successor Task missing both its arguments.
+	 *
+	 * @return Fibonacci Successor Task.
+	 */
+	public static FibonacciSuccessorTask fibonacciSuccessorTask() {
+		List<Integer> args = new ArrayList<Integer>();
+		args.add(null);
+		args.add(null);
+		FibonacciSuccessorTask task = new FibonacciSuccessorTask(args, 2,
+				WORKER_TASK_ID, 0);
+		task.setID(WORKER_TASK_ID);
+		return task;
+	}
+
+	/**
+	 * Make a payload crossing RMI at a level of the task tree: a Ready Task
+	 * sent to a Computer, the Task Result of its decomposition with the
+	 * nested subtasks, or the Value Result of a task of this level.
+	 *
+	 * @param kind
+	 *            One of PAYLOADS.
+	 * @param level
+	 *            Level of the task tree, 0 for the root.
+	 * @return Task or Result.
+	 */
+	public static Serializable payload(String kind, int level) {
+		switch (kind) {
+		case "TspTask":
+			return tspReadyTask(TSP_CITIES, TSP_CITIES - 1 - level);
+		case "TspTaskResult":
+			return tspReadyTask(TSP_CITIES, TSP_CITIES - 1 - level).execute();
+		case "TspValueResult":
+			TspSuccessorTask successor = tspSuccessorTask(TSP_CITIES - 1
+					- level);
+			List<TspData> values = tspValues(TSP_CITIES, TSP_CITIES - 1 - level);
+			for (int i = 0; i < values.size(); i++) {
+				successor.setArgAt(i, values.get(i));
+			}
+			successor.setLayer(level);
+			return successor.execute();
+		case "FibonacciTask":
+			return fibonacciReadyTask(FIBONACCI_N - level, level);
+		case "FibonacciTaskResult":
+			return fibonacciReadyTask(FIBONACCI_N - level, level).execute();
+		case "FibonacciValueResult":
+			Result result = fibonacciReadyTask(1, level).execute();
+			result.setID(WORKER_TASK_ID);
+			return result;
+		default:
+			throw new IllegalArgumentException("Unknown payload: " + kind);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the default Java serialization of the Tasks and Results
+ * crossing RMI, at every level of the task tree. Encoding and decoding are
+ * measured separately, each with a fresh stream as RMI does per call, and the
+ * serialized size is reported as the bytes counter of every operation.
+ * <p>
+ * An alternative wire format is compared by adding its encode and decode
+ * benchmarks over the same payloads.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+	@Param({ "TspTask", "TspTaskResult", "TspValueResult", "FibonacciTask",
+			"FibonacciTaskResult", "FibonacciValueResult" })
+	String payload;
+
+	@Param({ "0", "1", "2" })
+	int level;
+
+	Serializable object;
+
+	byte[] bytes;
+
+	/**
+	 * Serialized size, reported with every operation.
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Size {
+		public long bytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			bytes = 0;
+		}
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		object = Fixtures.payload(payload, level);
+		bytes = encode(object);
+	}
+
+	@Benchmark
+	public byte[] encode(Size size) throws IOException {
+		byte[] encoded = encode(object);
+		size.bytes = encoded.length;
+		return encoded;
+	}
+
+	@Benchmark
+	public Object decode() throws IOException, ClassNotFoundException {
+		return decode(bytes);
+	}
+
+	/**
+	 * Serialize an object.
+	 *
+	 * @param object
+	 *            Object.
+	 * @return Serialized bytes.
+	 */
+	public static byte[] encode(Serializable object) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+			out.writeObject(object);
+		}
+		return buffer.toByteArray();
+	}
+
+	/**
+	 * Deserialize an object.
+	 *
+	 * @param bytes
+	 *            Serialized bytes.
+	 * @return Object.
+	 */
+	public static Object decode(byte[] bytes) throws IOException,
+			ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(
+				new ByteArrayInputStream(bytes))) {
+			return in.readObject();
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package benchmarks;
+
+import java.io.IOException;
+
+/**
+ * Serialized Size Report prints the serialized size of every payload of
+ * {@link SerializationBenchmark} at every level of the task tree, without
+ * running JMH.
+ * <p>
+ * Usage: java -cp benchmarks.jar benchmarks.SerializedSizeReport [levels]
+ * </p>
+ */
+public class SerializedSizeReport {
+
+	public static void main(String[] args) throws IOException {
+		int levels = args.length == 0 ? 3 : Integer.parseInt(args[0]);
+		System.out.printf("%-22s", "Payload");
+		for (int level = 0; level < levels; level++) {
+			System.out.printf("%10s", "L" + level);
+		}
+		System.out.println();
+		for (String payload : Fixtures.PAYLOADS) {
+			System.out.printf("%-22s", payload);
+			for (int level = 0; level < levels; level++) {
+				System.out.printf("%10d", SerializationBenchmark.encode(
+						Fixtures.payload(payload, level)).length);
+			}
+			System.out.println();
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import api.Task;
+import config.Config;
+import result.TaskResult;
+import tsp_tasks.TspData;
+
+/**
+ * Benchmark of TaskResult.setRunningTasks, which moves child tasks to be
+ * cached in the Computer. The Task Result is rebuilt on every call, since
+ * setRunningTasks changes it, so the copy of the subtask list is measured
+ * too.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TaskResultBenchmark {
+	@Param({ "3", "9", "16" })
+	int subtaskNum;
+
+	List<Task<TspData>> subtasks;
+
+	@Setup
+	public void setup() {
+		subtasks = new ArrayList<Task<TspData>>();
+		subtasks.add(Fixtures.tspSuccessorTask(subtaskNum - 1));
+		for (int i = 1; i < subtaskNum; i++) {
+			subtasks.add(Fixtures.tspReadyTask(subtaskNum, subtaskNum - 1));
+		}
+	}
+
+	@Benchmark
+	public TaskResult<TspData> setRunningTasks() {
+		TaskResult<TspData> result = new TaskResult<TspData>(
+				Fixtures.WORKER_TASK_ID, new ArrayList<Task<TspData>>(
+						subtasks), false, 0, 0);
+		result.setRunningTasks(Config.CacheTaskNum);
+		return result;
+	}
+}
@@ -0,0 +1,111 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import api.Result;
+import tsp_tasks.TspData;
+import tsp_tasks.TspReadyTask;
+import tsp_tasks.TspSuccessorTask;
+import tsp_tasks.TspTaskConfig;
+
+/**
+ * Benchmarks of the TSP tasks: an atomic Ready Task permuting the unordered
+ * cities, a decomposing Ready Task generating its child tasks, and the join
+ * of a Successor Task filling its arguments and picking the shortest tour.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TspTaskBenchmark {
+
+	/**
+	 * Atomic task, no more unordered cities than TspTaskConfig.stopSign.
+	 */
+	@State(Scope.Thread)
+	public static class AtomicTask {
+		@Param({ "4", "6", "8" })
+		int unorderedNum;
+
+		TspReadyTask task;
+
+		@Setup
+		public void setup() {
+			if (unorderedNum > TspTaskConfig.stopSign) {
+				throw new IllegalStateException("Task is not atomic.");
+			}
+			task = Fixtures.tspReadyTask(12, unorderedNum);
+		}
+	}
+
+	/**
+	 * Decomposing task, more unordered cities than TspTaskConfig.stopSign.
+	 */
+	@State(Scope.Thread)
+	public static class DecomposingTask {
+		@Param({ "9", "12", "16" })
+		int unorderedNum;
+
+		TspReadyTask task;
+
+		@Setup
+		public void setup() {
+			if (unorderedNum <= TspTaskConfig.stopSign) {
+				throw new IllegalStateException("Task is atomic.");
+			}
+			task = Fixtures.tspReadyTask(unorderedNum + 1, unorderedNum);
+		}
+	}
+
+	/**
+	 * Successor task joining the tours of its child tasks.
+	 */
+	@State(Scope.Thread)
+	public static class Join {
+		@Param({ "2", "8", "15" })
+		int argNum;
+
+		List<TspData> values;
+
+		@Setup
+		public void setup() {
+			values = Fixtures.tspValues(16, argNum);
+		}
+	}
+
+	@Benchmark
+	public Result atomicExecute(AtomicTask state) {
+		return state.task.execute();
+	}
+
+	@Benchmark
+	public Result decomposingExecute(DecomposingTask state) {
+		return state.task.execute();
+	}
+
+	@Benchmark
+	public Result successorJoin(Join state) {
+		TspSuccessorTask successor = Fixtures.tspSuccessorTask(state.argNum);
+		for (int i = 0; i < state.argNum; i++) {
+			successor.setArgAt(i, state.values.get(i));
+		}
+		if (!successor.isRunnable()) {
+			throw new IllegalStateException("Successor is not runnable.");
+		}
+		return successor.execute();
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * JMH benchmarks of the task hot paths. Run {@link benchmarks.BenchmarkRunner}
+ * to report throughput with the allocation rate of the GC profiler.
+ */
+package benchmarks;
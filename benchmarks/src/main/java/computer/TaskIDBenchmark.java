@@ -0,0 +1,46 @@
+package computer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmarks.Fixtures;
+
+/**
+ * Benchmark of the Task ID generation of the subtasks in a Computer, shared
+ * by all its Workers. It lives in the package of ComputerImpl to reach the
+ * generator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskIDBenchmark {
+	@Param({ "3", "16" })
+	int subtaskNum;
+
+	@Benchmark
+	public String[] makeTaskIDList() {
+		return ComputerImpl.makeTaskIDList(Fixtures.WORKER_TASK_ID,
+				subtaskNum, 1);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String[] makeTaskIDListContended() {
+		return ComputerImpl.makeTaskIDList(Fixtures.WORKER_TASK_ID,
+				subtaskNum, 1);
+	}
+}
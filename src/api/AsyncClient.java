@@ -0,0 +1,430 @@
+package api;
+
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import config.Config;
+
+/**
+ * Async Client submits tasks to a Server without waiting for them: submit
+ * returns a future of the Result at once, and the Sender thread submits the
+ * queued tasks in the background, many in one call. The Receiver thread takes
+ * the Results in batches with a long poll and completes the futures by Job
+ * ID, so the order of the Results does not matter and thousands of jobs can
+ * be in flight from one Client. The futures are completed on the Receiver
+ * thread; callbacks chained on them should not block.
+ * <p>
+ * Cancelling a future cancels its job in the Server. A job submitted with a
+ * consumer of partial values streams its best answers so far to it, so the
+ * Client can stop the job once the answer is good enough.
+ * </p>
+ */
+public class AsyncClient {
+	/**
+	 * Client Name.
+	 */
+	private final String name;
+
+	/**
+	 * Server.
+	 */
+	private final Server server;
+
+	/**
+	 * Submissions waiting for the Sender.
+	 */
+	private final BlockingQueue<Submission> submissions;
+
+	/**
+	 * Futures of the submitted jobs, by Job ID.
+	 */
+	private final Map<String, CompletableFuture<Result>> pending;
+
+	/**
+	 * Consumers of the partial values of the subscribed jobs, by Job ID.
+	 */
+	private final Map<String, Consumer<Result>> listeners;
+
+	/**
+	 * Results arriving before their submit call returned, by Job ID.
+	 */
+	private final Map<String, Result> early;
+
+	/**
+	 * True while the Sender submits a batch. Guarded by pending.
+	 */
+	private boolean submitting;
+
+	/**
+	 * Status of the Async Client. Set to false under the lock of pending, so
+	 * no future is queued or tracked after the outstanding ones are failed.
+	 */
+	private volatile boolean running;
+
+	/**
+	 * Sender.
+	 */
+	private final Sender sender;
+
+	/**
+	 * Constructor of Async Client. Register the Client in the Server and
+	 * start the Sender and the Receiver.
+	 *
+	 * @param server
+	 *            Server.
+	 * @param clientName
+	 *            Client Name.
+	 * @param duration
+	 *            Time limit of the Client as minutes[:seconds], null for the
+	 *            default.
+	 * @throws RemoteException
+	 *             Cannot connect with Server, or the Server refused the
+	 *             Client.
+	 */
+	public AsyncClient(Server server, String clientName, String duration)
+			throws RemoteException {
+		this.name = clientName;
+		this.server = server;
+		this.submissions = new LinkedBlockingQueue<>();
+		this.pending = Collections.synchronizedMap(new HashMap<>());
+		this.listeners = new ConcurrentHashMap<>();
+		this.early = new HashMap<>();
+		if (!server.register(clientName, duration)) {
+			throw new RemoteException("Cannot register Client " + clientName);
+		}
+		running = true;
+		sender = new Sender();
+		sender.setDaemon(true);
+		sender.start();
+		Receiver receiver = new Receiver();
+		receiver.setDaemon(true);
+		receiver.start();
+	}
+
+	/**
+	 * Get Client Name.
+	 *
+	 * @return Client Name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Submit a task.
+	 *
+	 * @param task
+	 *            Task to be submitted.
+	 * @return Future of the Result. It fails with a RemoteException if the
+	 *         Server refuses the task or cannot be reached.
+	 */
+	public CompletableFuture<Result> submit(Task<?> task) {
+		return submit(task, null);
+	}
+
+	/**
+	 * Submit a task and subscribe to its partial values, the best answers
+	 * found so far, for a job whose successors take the best of their
+	 * arguments. Partial values found before the subscription reaches the
+	 * Universe are not seen.
+	 *
+	 * @param task
+	 *            Task to be submitted.
+	 * @param partials
+	 *            Consumer of the partial values, called on the Receiver
+	 *            thread until the future is done. Null for none.
+	 * @return Future of the Result. It fails with a RemoteException if the
+	 *         Server refuses the task or cannot be reached.
+	 */
+	public CompletableFuture<Result> submit(Task<?> task,
+			Consumer<Result> partials) {
+		CompletableFuture<Result> future = new CompletableFuture<>();
+		synchronized (pending) {
+			if (running) {
+				submissions.add(new Submission(task, future, partials));
+				return future;
+			}
+		}
+		future.completeExceptionally(new RemoteException("Client " + name
+				+ " is closed."));
+		return future;
+	}
+
+	/**
+	 * Get the number of the jobs submitted whose Results are not received.
+	 *
+	 * @return Number of outstanding jobs.
+	 */
+	public int getOutstanding() {
+		return submissions.size() + pending.size();
+	}
+
+	/**
+	 * Unregister the Client and fail the outstanding futures.
+	 */
+	public void close() {
+		stop();
+		sender.interrupt();
+		try {
+			server.unregister(name);
+		} catch (RemoteException e) {
+			System.out.println("Cannot unregister Client " + name + "!");
+		}
+		failAll(new RemoteException("Client " + name + " is closed."));
+	}
+
+	/**
+	 * Stop taking submissions.
+	 */
+	private void stop() {
+		synchronized (pending) {
+			running = false;
+		}
+	}
+
+	/**
+	 * Fail the futures of all the outstanding jobs. Call after stop.
+	 */
+	private void failAll(Exception e) {
+		List<CompletableFuture<Result>> futures = new ArrayList<>();
+		Submission submission;
+		while ((submission = submissions.poll()) != null) {
+			futures.add(submission.future);
+		}
+		synchronized (pending) {
+			futures.addAll(pending.values());
+			pending.clear();
+			early.clear();
+		}
+		listeners.clear();
+		for (CompletableFuture<Result> future : futures) {
+			future.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * Complete the future of a Result, or keep the Result until its submit
+	 * call returns.
+	 */
+	private void complete(Result result) {
+		if (result.isPartial()) {
+			Consumer<Result> listener = listeners.get(result.getJobID());
+			if (listener != null) {
+				listener.accept(result);
+			}
+			return;
+		}
+		CompletableFuture<Result> future;
+		synchronized (pending) {
+			future = pending.remove(result.getJobID());
+			if (future == null) {
+				// Results of cancelled jobs are dropped.
+				if (submitting) {
+					early.put(result.getJobID(), result);
+				}
+				return;
+			}
+		}
+		future.complete(result);
+	}
+
+	/**
+	 * Keep the future of a submitted job, or complete it with its Result
+	 * already received. Call from Sender when its submit call returns, then
+	 * with a null Job ID once the batch is tracked.
+	 */
+	private void track(String jobID, CompletableFuture<Result> future) {
+		Result result;
+		synchronized (pending) {
+			if (jobID == null) {
+				submitting = false;
+				early.clear();
+				return;
+			}
+			result = early.remove(jobID);
+			if (result == null && running) {
+				pending.put(jobID, future);
+			}
+		}
+		if (result != null) {
+			future.complete(result);
+			return;
+		}
+		if (!running) {
+			future.completeExceptionally(new RemoteException("Client " + name
+					+ " is closed."));
+			return;
+		}
+		future.whenComplete((r, e) -> {
+			listeners.remove(jobID);
+			if (future.isCancelled() && pending.remove(jobID) != null) {
+				try {
+					server.cancel(name, jobID);
+				} catch (RemoteException re) {
+					System.out.println("Cannot cancel job " + jobID + "!");
+				}
+			}
+		});
+	}
+
+	/**
+	 * A task waiting for the Sender, with its future and the consumer of its
+	 * partial values.
+	 */
+	private static class Submission {
+		private final Task<?> task;
+		private final CompletableFuture<Result> future;
+		private final Consumer<Result> partials;
+
+		Submission(Task<?> task, CompletableFuture<Result> future,
+				Consumer<Result> partials) {
+			this.task = task;
+			this.future = future;
+			this.partials = partials;
+		}
+	}
+
+	/**
+	 * Sender is a thread submitting the queued tasks, all the tasks queued
+	 * at the time in one call.
+	 */
+	private class Sender extends Thread {
+		@Override
+		public void run() {
+			List<Submission> batch = new ArrayList<>();
+			List<Task<?>> tasks = new ArrayList<>();
+			while (running) {
+				try {
+					batch.add(submissions.take());
+				} catch (InterruptedException e) {
+					return;
+				}
+				submissions.drainTo(batch, Config.ClientSubmitBatch - 1);
+				batch.removeIf(submission -> submission.future.isDone());
+				for (Submission submission : batch) {
+					tasks.add(submission.task);
+				}
+				if (!tasks.isEmpty()) {
+					submit(batch, tasks);
+				}
+				batch.clear();
+				tasks.clear();
+			}
+		}
+
+		/**
+		 * Submit a batch of tasks and track their futures.
+		 */
+		private void submit(List<Submission> batch, List<Task<?>> tasks) {
+			synchronized (pending) {
+				submitting = true;
+			}
+			List<String> jobIDs;
+			try {
+				jobIDs = server.submitAll(tasks, name);
+			} catch (RemoteException e) {
+				track(null, null);
+				for (Submission submission : batch) {
+					submission.future.completeExceptionally(e);
+				}
+				return;
+			}
+			for (int i = 0; i < batch.size(); i++) {
+				String jobID = jobIDs == null ? null : jobIDs.get(i);
+				if (jobID == null) {
+					batch.get(i).future
+							.completeExceptionally(new RemoteException(
+									"Server refused the task."));
+				} else {
+					track(jobID, batch.get(i).future);
+				}
+			}
+			track(null, null);
+			for (int i = 0; i < batch.size(); i++) {
+				Submission submission = batch.get(i);
+				if (submission.partials != null && jobIDs != null
+						&& jobIDs.get(i) != null) {
+					subscribe(jobIDs.get(i), submission);
+				}
+			}
+		}
+
+		/**
+		 * Subscribe to the partial values of a job still running.
+		 */
+		private void subscribe(String jobID, Submission submission) {
+			listeners.put(jobID, submission.partials);
+			if (submission.future.isDone()) {
+				listeners.remove(jobID);
+				return;
+			}
+			try {
+				server.subscribe(name, jobID);
+			} catch (RemoteException e) {
+				System.out.println("Cannot subscribe to job " + jobID + "!");
+			}
+		}
+	}
+
+	/**
+	 * Receiver is a thread taking the Results of the Client in batches and
+	 * completing their futures. A failed poll is retried, after a growing
+	 * delay, up to Config.ClientPollRetries times in a row, unless the Server
+	 * object is gone.
+	 */
+	private class Receiver extends Thread {
+		@Override
+		public void run() {
+			int retries = 0;
+			while (running) {
+				List<Result> results;
+				try {
+					results = server.getResults(name, Config.ClientResultBatch,
+							Config.ClientPollTimeout);
+				} catch (RemoteException e) {
+					if (!(e instanceof NoSuchObjectException)
+							&& retries < Config.ClientPollRetries) {
+						Logger.getLogger(AsyncClient.class.getName()).log(
+								Level.INFO, "Client {0} retries the Server: {1}",
+								new Object[] { name, e.getMessage() });
+						try {
+							Thread.sleep((long) Config.ClientRetryDelay
+									<< retries);
+						} catch (InterruptedException ie) {
+							return;
+						}
+						retries++;
+						continue;
+					}
+					Logger.getLogger(AsyncClient.class.getName()).log(
+							Level.WARNING, "Client {0} lost the Server.", name);
+					stop();
+					failAll(e);
+					return;
+				}
+				retries = 0;
+				if (results == null) {
+					stop();
+					failAll(new RemoteException("Client " + name
+							+ " is not registered in the Server."));
+					return;
+				}
+				for (Result result : results) {
+					complete(result);
+				}
+			}
+		}
+	}
+}
@@ -1,38 +1,47 @@
 package api;
 
-import java.awt.BorderLayout;
-import java.awt.Container;
 import java.net.MalformedURLException;
-import java.rmi.Naming;
 import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javax.swing.JFrame;
-import javax.swing.JLabel;
-import javax.swing.JScrollPane;
+import rmi.StubCache;
 
-public abstract class Client<T,A> extends JFrame {
-	private static final long serialVersionUID = -4472984886617837870L;
+/**
+ * Client is the headless core of a client: finding the Server, making its
+ * tasks and timing them. It loads no AWT or Swing class, so a client starts
+ * fast and runs without a display; a client showing its Result does it in a
+ * separate view.
+ */
+public abstract class Client<T,A> {
 	protected T taskReturnValue;
 	private long clientStartTime;
 	private String name;
+	private final String title;
 
 	/**
 	 * Constructor of Client.
 	 * 
 	 * @param title
-	 *            Frame title.
+	 *            Title of the job, for a view of the Result.
 	 * @param clientName
 	 *            Client Name
 	 */
 	public Client(final String title, final String clientName) {
-		setTitle(title);
-		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		this.title = title;
 		this.name = clientName;
 	}
 
+	/**
+	 * Get the title of the job.
+	 * 
+	 * @return Title.
+	 */
+	public String getTitle() {
+		return this.title;
+	}
+
 	/**
 	 * Get Client Name.
 	 * 
@@ -67,7 +76,7 @@ public abstract class Client<T,A> extends JFrame {
 			throws MalformedURLException, RemoteException, NotBoundException {
 		String url = "rmi://" + serverDomainName + ":" + Server.PORT + "/"
 				+ Server.SERVICE_NAME;
-		return (Server) Naming.lookup(url);
+		return (Server) StubCache.lookup(url);
 	}
 
 	/**
@@ -86,18 +95,4 @@ public abstract class Client<T,A> extends JFrame {
 				(System.nanoTime() - clientStartTime) / 1000000);
 	}
 
-	/**
-	 * Add Graph
-	 * 
-	 * @param jLabel
-	 *            label
-	 */
-	public void add(final JLabel jLabel) {
-		final Container container = getContentPane();
-		container.setLayout(new BorderLayout());
-		container.add(new JScrollPane(jLabel), BorderLayout.CENTER);
-		pack();
-		setVisible(true);
-	}
-
 }
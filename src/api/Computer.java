@@ -55,6 +55,18 @@ public interface Computer extends Remote {
 	 */
 	public Result getResult() throws RemoteException;
 
+	/**
+	 * Cancel a job. Tasks of the job in Ready Task Queue are skipped and
+	 * Results of the job in Result Queue are discarded. Call from Computer
+	 * Proxy in Space.
+	 * 
+	 * @param jobID
+	 *            Job ID to be cancelled.
+	 * @throws RemoteException
+	 *             Failed to connect to Computer.
+	 */
+	public void cancel(String jobID) throws RemoteException;
+
 	/**
 	 * Exit
 	 * 
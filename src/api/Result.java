@@ -1,9 +1,12 @@
 package api;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 
+import codec.CodecRegistry;
+import config.Config;
 import space.SpaceImpl;
 import universe.UniverseImpl;
 
@@ -13,7 +16,7 @@ import universe.UniverseImpl;
  * corresponding task, both of them have the same ID.
  * 
  */
-public abstract class Result implements Serializable {
+public abstract class Result implements Serializable, Cloneable {
 	private static final long serialVersionUID = 5197752215627028297L;
 
 	/**
@@ -26,6 +29,11 @@ public abstract class Result implements Serializable {
 	 */
 	public static final Integer TASKRESULT = 1;
 
+	/**
+	 * Error Result Type Identifier.
+	 */
+	public static final Integer ERRORRESULT = 2;
+
 	/**
 	 * Result ID, same as its associated task ID.
 	 */
@@ -51,6 +59,12 @@ public abstract class Result implements Serializable {
 	 */
 	private boolean coarse;
 
+	/**
+	 * Wait time in nanoseconds of the associated task in each hop, null if
+	 * hop timing is off.
+	 */
+	private long[] hopWaits;
+
 	/**
 	 * Constructor of Result.
 	 * 
@@ -89,10 +103,20 @@ public abstract class Result implements Serializable {
 		this.ID = resultid;
 	}
 
+	/**
+	 * Get the Job ID of the Result.
+	 * 
+	 * @return Job ID
+	 */
+	public String getJobID() {
+		return Task.getJobID(this.ID);
+	}
+
 	/**
 	 * Get the result type.
 	 * 
 	 * @return the resultType 0 if it is Value Result. 1 if it is Task Result.
+	 *         2 if it is Error Result.
 	 */
 	public int getType() {
 		return this.type;
@@ -107,6 +131,25 @@ public abstract class Result implements Serializable {
 		return this.coarse;
 	}
 
+	/**
+	 * Check if the Result is a partial value of its job, the best answer so
+	 * far, coming before the final Result of a subscribed job.
+	 * 
+	 * @return True if the Result is a partial value. False otherwise.
+	 */
+	public boolean isPartial() {
+		return false;
+	}
+
+	/**
+	 * Get the task start time.
+	 * 
+	 * @return Task start time in nanoseconds of the executing node.
+	 */
+	public long getTaskStartTime() {
+		return this.taskStartTime;
+	}
+
 	/**
 	 * Get the task Runtime.
 	 * 
@@ -117,6 +160,53 @@ public abstract class Result implements Serializable {
 		return this.taskEndTime - this.taskStartTime;
 	}
 
+	/**
+	 * Get the wait time of the associated task in each hop.
+	 * 
+	 * @return Wait time in nanoseconds indexed by hop. Null if hop timing is
+	 *         off.
+	 */
+	public long[] getHopWaits() {
+		return this.hopWaits;
+	}
+
+	/**
+	 * Set the wait time of the associated task in each hop. Call from Worker
+	 * in Computer.
+	 * 
+	 * @param hopWaits
+	 *            Wait time in nanoseconds indexed by hop.
+	 */
+	public void setHopWaits(long[] hopWaits) {
+		this.hopWaits = hopWaits;
+	}
+
+	/**
+	 * Replace the Result by its compact form when it is serialized, if its
+	 * type has a codec.
+	 * 
+	 * @return Object to be serialized.
+	 * @throws ObjectStreamException
+	 *             Never thrown.
+	 */
+	protected Object writeReplace() throws ObjectStreamException {
+		return Config.COMPACTWIRE ? CodecRegistry.replace(this) : this;
+	}
+
+	/**
+	 * Copy the Result as it would arrive at another node, without
+	 * serialization.
+	 * 
+	 * @return Copy of the Result.
+	 */
+	public Result copy() {
+		try {
+			return (Result) clone();
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+
 	/**
 	 * Process the result. Call from Computer Proxy in Space.
 	 * 
@@ -2,12 +2,14 @@ package api;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.util.List;
 
 public interface Server extends Remote {
 	/**
-	 * The port used by the RMI registry.
+	 * The port used by the RMI registry, 8001 unless set by the system property
+	 * server.port.
 	 */
-	public static int PORT = 8001;
+	public static int PORT = Integer.getInteger("server.port", 8001);
 
 	/**
 	 * The service name associated with this Remote interface.
@@ -33,6 +35,18 @@ public interface Server extends Remote {
 	 */
 	public Task<?> getTask() throws RemoteException;
 
+	/**
+	 * Get Tasks from Ready Task Queue, waiting for the first one. Call from
+	 * Server Proxy in Universe.
+	 * 
+	 * @param max
+	 *            Max number of Tasks.
+	 * @return Tasks in submit order.
+	 * @throws RemoteException
+	 *             Cannot connect with Server.
+	 */
+	public List<Task<?>> getTasks(final int max) throws RemoteException;
+
 	/**
 	 * Dispatch the Result to corresponding Client Proxy. Call from Server Proxy
 	 * in Universe. If the Client is down, discard the result.
@@ -44,6 +58,18 @@ public interface Server extends Remote {
 	 */
 	public void dispatchResult(final Result result) throws RemoteException;
 
+	/**
+	 * Dispatch Results to their Client Proxies. Call from Server Proxy in
+	 * Universe.
+	 * 
+	 * @param results
+	 *            Results to be dispatched.
+	 * @throws RemoteException
+	 *             Cannot connect with Server.
+	 */
+	public void dispatchResults(final List<Result> results)
+			throws RemoteException;
+
 	/**
 	 * Register a Client in Server. Call from Client.
 	 * 
@@ -78,6 +104,21 @@ public interface Server extends Remote {
 	String submit(final Task<?> task, final String clientname)
 			throws RemoteException;
 
+	/**
+	 * Add Tasks to the Ready Task Queue in one call. Call from Client
+	 * 
+	 * @param tasks
+	 *            Tasks to be submitted.
+	 * @param clientname
+	 *            Client Name
+	 * @return Task IDs in the order of the Tasks, null for a Task not
+	 *         accepted. Null if the Client is not registered.
+	 * @throws RemoteException
+	 *             Cannot connect with Server
+	 */
+	List<String> submitAll(final List<? extends Task<?>> tasks,
+			final String clientname) throws RemoteException;
+
 	/**
 	 * Get the Result of a Task.
 	 * 
@@ -88,4 +129,56 @@ public interface Server extends Remote {
 	 *             Cannot connect with Server
 	 */
 	Result getResult(final String clientname) throws RemoteException;
+
+	/**
+	 * Get the Results of a Client, waiting until at least one arrives or the
+	 * timeout expires. Call from Client.
+	 * 
+	 * @param clientname
+	 *            Client Name
+	 * @param max
+	 *            Max number of Results returned. No Result is taken if it is
+	 *            less than 1.
+	 * @param timeout
+	 *            Max time to wait for the first Result in milliseconds.
+	 * @return Results in arrival order, empty if none arrived in time. Null
+	 *         if the Client is not registered.
+	 * @throws RemoteException
+	 *             Cannot connect with Server
+	 */
+	List<Result> getResults(final String clientname, final int max,
+			final long timeout) throws RemoteException;
+
+	/**
+	 * Cancel a submitted Task. All the Tasks and Results of the job are
+	 * discarded in Server, Universe, Spaces and Computers. Call from Client.
+	 * 
+	 * @param clientname
+	 *            Client Name
+	 * @param taskID
+	 *            Task ID returned by submit.
+	 * @return True if the Task is cancelled. False otherwise.
+	 * @throws RemoteException
+	 *             Cannot connect with Server
+	 */
+	boolean cancel(final String clientname, final String taskID)
+			throws RemoteException;
+
+	/**
+	 * Subscribe to the partial values of a submitted Task: the best answers
+	 * found so far, for a job whose successors take the best of their
+	 * arguments. They come from getResult and getResults as partial Value
+	 * Results before the final Result, each better than the ones before.
+	 * Call from Client.
+	 * 
+	 * @param clientname
+	 *            Client Name
+	 * @param taskID
+	 *            Task ID returned by submit.
+	 * @return True if the Task is subscribed. False otherwise.
+	 * @throws RemoteException
+	 *             Cannot connect with Server
+	 */
+	boolean subscribe(final String clientname, final String taskID)
+			throws RemoteException;
 }
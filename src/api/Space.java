@@ -10,9 +10,24 @@ import java.rmi.RemoteException;
  */
 public interface Space extends Remote {
 	/**
-	 * The port used by the RMI registry.
+	 * The port used by the RMI registry, 8002 unless set by the system property
+	 * space.port.
 	 */
-	public static int PORT = 8002;
+	public static int PORT = Integer.getInteger("space.port", 8002);
+
+	/**
+	 * How the Computers connect to the Space, "rmi" unless set to "nio" by
+	 * the system property space.transport.
+	 */
+	public static String TRANSPORT = System.getProperty("space.transport",
+			"rmi");
+
+	/**
+	 * The port of the nio transport, 1000 above the registry port unless set
+	 * by the system property space.transport.port.
+	 */
+	public static int TRANSPORT_PORT = Integer.getInteger(
+			"space.transport.port", PORT + 1000);
 
 	/**
 	 * The service name associated with this Remote interface.
@@ -57,4 +72,16 @@ public interface Space extends Remote {
 	 *             Cannot connect with Space.
 	 */
 	public void register(final Computer computer) throws RemoteException;
+
+	/**
+	 * Cancel a job. Discard all its Ready Tasks and Successor Tasks in Space
+	 * and propagate the cancellation to all the Computers. Call from Space
+	 * Proxy in Universe.
+	 * 
+	 * @param jobID
+	 *            Job ID to be cancelled.
+	 * @throws RemoteException
+	 *             Cannot connect with Space.
+	 */
+	public void cancel(final String jobID) throws RemoteException;
 }
@@ -1,15 +1,50 @@
 package api;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.List;
 
+import codec.CodecRegistry;
+import config.Config;
+
 /**
  * 
  * Task is a data structure containing a task to be executed by Computer.
  *
  */
-public abstract class Task<T> implements Serializable {
+public abstract class Task<T> implements Serializable, Cloneable {
 	private static final long serialVersionUID = -1946800150903851225L;
+
+	/**
+	 * Hop of the Server Ready Task Queue.
+	 */
+	public static final int SERVER_HOP = 0;
+
+	/**
+	 * Hop of the Universe Ready Task Queue.
+	 */
+	public static final int UNIVERSE_HOP = 1;
+
+	/**
+	 * Hop of the Space Ready Task Queue.
+	 */
+	public static final int SPACE_HOP = 2;
+
+	/**
+	 * Hop of the Computer Ready Task Queue.
+	 */
+	public static final int COMPUTER_HOP = 3;
+
+	/**
+	 * Number of hops.
+	 */
+	public static final int HOPS = 4;
+
+	/**
+	 * Names of the hops.
+	 */
+	public static final String[] HOP_NAMES = { "Server", "Universe", "Space",
+			"Computer" };
 	/**
 	 * Task Id, same as its assocaited resutl Id.
 	 */
@@ -35,6 +70,32 @@ public abstract class Task<T> implements Serializable {
 	 */
 	private boolean isSpaceRunnable;
 
+	/**
+	 * Deadline of the job in milliseconds since the epoch, 0 for none. Set by
+	 * the Client or the Server on the submitted Task, and by the Universe on
+	 * the Tasks it dispatches.
+	 */
+	private long deadline;
+
+	/**
+	 * Time in nanoseconds when a proxy dispatched the Task. Local to the node,
+	 * not sent with the Task.
+	 */
+	private transient long dispatchTime;
+
+	/**
+	 * Enqueue time and total wait time in nanoseconds of each hop, null if
+	 * hop timing is off. Enqueue time is local to the node of the hop, wait
+	 * time is sent with the Task.
+	 */
+	private long[] hopTimes;
+
+	/**
+	 * Trace ID of the Task, of the task spawning it and of its successor
+	 * task, null if job tracing is off.
+	 */
+	private long[] traceLinks;
+
 	/**
 	 * Constructor of Task
 	 * 
@@ -103,6 +164,42 @@ public abstract class Task<T> implements Serializable {
 		this.taskID = taskId;
 	}
 
+	/**
+	 * Get the Job ID of the Task.
+	 * 
+	 * @return Job ID
+	 */
+	public String getJobID() {
+		return getJobID(taskID);
+	}
+
+	/**
+	 * Get the Job ID from a Task ID or Result ID. Job ID is the Task ID
+	 * assigned by Server when Client submits the Task, shared by all the
+	 * Tasks and Results generated from it.
+	 * <p>
+	 * !:F:1:S0:1:U1:P0:1 -> F:1:S0:1
+	 * </p>
+	 * 
+	 * @param ID
+	 *            Task ID or Result ID
+	 * @return Job ID. Null if the ID is null.
+	 */
+	public static String getJobID(String ID) {
+		if (ID == null) {
+			return null;
+		}
+		int begin = (ID.charAt(0) == '!' || ID.charAt(0) == '$') ? 2 : 0;
+		int end = begin - 1;
+		for (int i = 0; i < 4; i++) {
+			end = ID.indexOf(':', end + 1);
+			if (end == -1) {
+				return ID.substring(begin);
+			}
+		}
+		return ID.substring(begin, end);
+	}
+
 	/**
 	 * Get the target Task ID.
 	 * 
@@ -142,6 +239,185 @@ public abstract class Task<T> implements Serializable {
 		this.isSpaceRunnable = isSpaceRunnable;
 	}
 
+	/**
+	 * Get the deadline of the job.
+	 * 
+	 * @return Deadline in milliseconds since the epoch. 0 for none.
+	 */
+	public long getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Set the deadline of the job. As it approaches, the Universe and the
+	 * Spaces complete the successor tasks taking the best of their arguments
+	 * with the arguments they have, so the best answer found is returned in
+	 * time.
+	 * 
+	 * <p>
+	 * The deadline is an absolute wall clock time, compared with the clock of
+	 * every host the job runs on. Their clocks must be kept in sync, within a
+	 * small part of Config.DeadlineMargin, or the job is completed early or
+	 * late.
+	 * </p>
+	 * 
+	 * @param deadline
+	 *            Deadline in milliseconds since the epoch. 0 for none.
+	 */
+	public void setDeadline(long deadline) {
+		this.deadline = deadline;
+	}
+
+	/**
+	 * Get the time when a proxy dispatched the Task.
+	 * 
+	 * @return Dispatch time in nanoseconds. 0 if the Task was not dispatched
+	 *         by a proxy of this node.
+	 */
+	public long getDispatchTime() {
+		return dispatchTime;
+	}
+
+	/**
+	 * Set the time when a proxy dispatched the Task.
+	 * 
+	 * @param dispatchTime
+	 *            Dispatch time in nanoseconds.
+	 */
+	public void setDispatchTime(long dispatchTime) {
+		this.dispatchTime = dispatchTime;
+	}
+
+	/**
+	 * Mark the Task as put into the Ready Task Queue of a hop.
+	 * 
+	 * @param hop
+	 *            Hop of the queue.
+	 */
+	public void enqueued(int hop) {
+		if (!Config.HOPTIMING) {
+			return;
+		}
+		if (hopTimes == null) {
+			hopTimes = new long[HOPS * 2];
+		}
+		hopTimes[hop * 2] = System.nanoTime();
+	}
+
+	/**
+	 * Mark the Task as taken from the Ready Task Queue of a hop and add the
+	 * time it waited there to the wait time of the hop.
+	 * 
+	 * @param hop
+	 *            Hop of the queue.
+	 * @return Wait time in nanoseconds. -1 if the Task was not marked as
+	 *         enqueued.
+	 */
+	public long dequeued(int hop) {
+		if (hopTimes == null || hopTimes[hop * 2] == 0) {
+			return -1;
+		}
+		long wait = System.nanoTime() - hopTimes[hop * 2];
+		hopTimes[hop * 2] = 0;
+		hopTimes[hop * 2 + 1] += wait;
+		return wait;
+	}
+
+	/**
+	 * Get the total wait time of each hop.
+	 * 
+	 * @return Wait time in nanoseconds indexed by hop. Null if hop timing is
+	 *         off.
+	 */
+	public long[] getHopWaits() {
+		if (hopTimes == null) {
+			return null;
+		}
+		long[] waits = new long[HOPS];
+		for (int i = 0; i < HOPS; i++) {
+			waits[i] = hopTimes[i * 2 + 1];
+		}
+		return waits;
+	}
+
+	/**
+	 * Get the hop timing of the Task. Call from codec.
+	 * 
+	 * @return Enqueue time and total wait time of each hop. Null if hop timing
+	 *         is off.
+	 */
+	public long[] getHopTimes() {
+		return hopTimes;
+	}
+
+	/**
+	 * Set the hop timing of the Task. Call from codec.
+	 * 
+	 * @param hopTimes
+	 *            Enqueue time and total wait time of each hop.
+	 */
+	public void setHopTimes(long[] hopTimes) {
+		this.hopTimes = hopTimes;
+	}
+
+	/**
+	 * Get the trace links of the Task. Call from Job Tracer.
+	 * 
+	 * @return Trace ID of the Task, of the task spawning it and of its
+	 *         successor task. Null if the Task is not traced.
+	 */
+	public long[] getTraceLinks() {
+		return traceLinks;
+	}
+
+	/**
+	 * Set the trace links of the Task. Call from Job Tracer.
+	 * 
+	 * @param traceLinks
+	 *            Trace ID of the Task, of the task spawning it and of its
+	 *            successor task.
+	 */
+	public void setTraceLinks(long[] traceLinks) {
+		this.traceLinks = traceLinks;
+	}
+
+	/**
+	 * Copy the Task as it would arrive at another node, without
+	 * serialization. Arguments are shared, the fields changed on the way are
+	 * not.
+	 * 
+	 * @return Copy of the Task.
+	 */
+	@SuppressWarnings("unchecked")
+	public Task<T> copy() {
+		Task<T> task;
+		try {
+			task = (Task<T>) clone();
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+		task.dispatchTime = 0;
+		if (hopTimes != null) {
+			task.hopTimes = hopTimes.clone();
+		}
+		if (traceLinks != null) {
+			task.traceLinks = traceLinks.clone();
+		}
+		return task;
+	}
+
+	/**
+	 * Replace the Task by its compact form when it is serialized, if its type
+	 * has a codec.
+	 * 
+	 * @return Object to be serialized.
+	 * @throws ObjectStreamException
+	 *             Never thrown.
+	 */
+	protected Object writeReplace() throws ObjectStreamException {
+		return Config.COMPACTWIRE ? CodecRegistry.replace(this) : this;
+	}
+
 	/**
 	 * Check if the Task is coarse or not.
 	 * 
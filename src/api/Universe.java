@@ -5,9 +5,10 @@ import java.rmi.RemoteException;
 
 public interface Universe extends Remote {
 	/**
-	 * The port used by the RMI registry.
+	 * The port used by the RMI registry, 8000 unless set by the system property
+	 * universe.port.
 	 */
-	public static int PORT = 8000;
+	public static int PORT = Integer.getInteger("universe.port", 8000);
 
 	/**
 	 * The service name associated with this Remote interface.
@@ -33,4 +34,28 @@ public interface Universe extends Remote {
 	 *             Cannot connect with Universe.
 	 */
 	void register(final Space space) throws RemoteException;
+
+	/**
+	 * Cancel a job. Discard all its Ready Tasks and Successor Tasks in
+	 * Universe and propagate the cancellation to all the Spaces. Call from
+	 * Server.
+	 * 
+	 * @param jobID
+	 *            Job ID to be cancelled.
+	 * @throws RemoteException
+	 *             Cannot connect with Universe.
+	 */
+	void cancel(final String jobID) throws RemoteException;
+
+	/**
+	 * Subscribe to the partial values of a job. Each value better than the
+	 * ones before, reaching the Universe for a successor taking the best of
+	 * its arguments, is sent to the Server of the job. Call from Server.
+	 * 
+	 * @param jobID
+	 *            Job ID.
+	 * @throws RemoteException
+	 *             Cannot connect with Universe.
+	 */
+	void subscribe(final String jobID) throws RemoteException;
 }
@@ -3,7 +3,6 @@ package client;
 import java.awt.BorderLayout;
 import java.awt.Container;
 import java.net.MalformedURLException;
-import java.rmi.Naming;
 import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
 import java.util.logging.Level;
@@ -13,6 +12,7 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JScrollPane;
  
+import rmi.StubCache;
 import server.Server;
 import task.Task;
 
@@ -70,7 +70,7 @@ public abstract class Client<T,A> extends JFrame {
 			throws MalformedURLException, RemoteException, NotBoundException {
 		String url = "rmi://" + serverDomainName + ":" + Server.PORT + "/"
 				+ Server.SERVICE_NAME;
-		return (Server) Naming.lookup(url);
+		return (Server) StubCache.lookup(url);
 	}
 
 	/**
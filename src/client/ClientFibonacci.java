@@ -18,8 +18,6 @@ import result.ValueResult;
  * takes Space's domain name as its argument.
  */
 public class ClientFibonacci extends Client<Integer, Integer> {
-	private static final long serialVersionUID = -6190190465235435463L;
-
 	/**
 	 * Constructor of Client Fibonacci.
 	 * 
@@ -1,9 +1,6 @@
 package client;
 
-import java.awt.Color;
-import java.awt.Graphics;
-import java.awt.Image;
-import java.awt.image.BufferedImage;
+import java.awt.GraphicsEnvironment;
 import java.net.MalformedURLException;
 import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
@@ -12,20 +9,16 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javax.swing.ImageIcon;
-import javax.swing.JLabel;
-
 import api.Client;
+import api.Result;
 import api.Server;
 import api.Task;
+import result.ErrorResult;
 import result.ValueResult;
 import tsp_tasks.TspData;
 import tsp_tasks.TspReadyTask;
 
 public class ClientTsp extends Client<List<Integer>, double[][]> {
-	private static final long serialVersionUID = 4192126821917742620L;
-	private static final int NUM_PIXALS = 600;
-
 	public ClientTsp(String clientName) {
 		super("TSP", clientName);
 	}
@@ -64,6 +57,11 @@ public class ClientTsp extends Client<List<Integer>, double[][]> {
 				{ 7, 2 }, { 7, 7 }, { 2, 7 }, { 3, 3 }, { 6, 3 }, { 6, 6 },
 				{ 3, 6 } };
 		Task<TspData> tspTask = client.makeTask(CITIES);
+		if (args.length > 1) {
+			// Deadline in seconds: the best tour found by then is returned.
+			tspTask.setDeadline(System.currentTimeMillis()
+					+ Long.parseLong(args[1]) * 1000);
+		}
 		try {
 			Server server = client.findServer(serverDomainName);
 			if (!server.register(client.getName(), null)) {
@@ -73,14 +71,39 @@ public class ClientTsp extends Client<List<Integer>, double[][]> {
 				Logger.getLogger(Client.class.getCanonicalName()).log(
 						Level.INFO, "Task: TSP({0}) is submitted. ID is {1}",
 						new Object[] { CITIES.length, taskID });
-				ValueResult<TspData> result = (ValueResult<TspData>) server
-						.getResult(client.getName());
-				TspData tspData = result.getResultValue();
+				server.subscribe(client.getName(), taskID);
+				Result result = server.getResult(client.getName());
+				// Shorter tours found so far come before the final one.
+				while (result != null && result.isPartial()) {
+					Logger.getLogger(Client.class.getCanonicalName()).log(
+							Level.INFO, "Tour so far: {0}",
+							((ValueResult<TspData>) result).getResultValue()
+									.getDistance());
+					result = server.getResult(client.getName());
+				}
+				// Null if the Client is unregistered, e.g. on its time limit.
+				if (result == null) {
+					System.out.println("No tour: the Client is unregistered.");
+					client.end();
+					return;
+				}
+				if (result.getType() == Result.ERRORRESULT) {
+					System.out.println("No tour: "
+							+ ((ErrorResult) result).getError());
+					client.end();
+					return;
+				}
+				TspData tspData = ((ValueResult<TspData>) result)
+						.getResultValue();
 				List<Integer> minTour;
 				minTour = tspData.getOrderedCities();
 				minTour.add(0);
-				client.add(client.getLabel(minTour.toArray(new Integer[0]),
-						CITIES));
+				Integer[] tour = minTour.toArray(new Integer[0]);
+				Logger.getLogger(ClientTsp.class.getCanonicalName()).log(
+						Level.INFO, client.tourToString(tour));
+				if (!GraphicsEnvironment.isHeadless()) {
+					new TspView(client.getTitle()).show(tour, CITIES);
+				}
 			}
 		} catch (MalformedURLException | NotBoundException e) {
 			System.out.println("Bad Server domain name!");
@@ -110,69 +133,5 @@ public class ClientTsp extends Client<List<Integer>, double[][]> {
 						+ Math.pow(CITIES[i][1] - CITIES[j][1], 2));
 		return distance;
 	}
-	
-	public JLabel getLabel(final Integer[] tour, final double[][] cities) {
-		Logger.getLogger(ClientTsp.class.getCanonicalName()).log(Level.INFO,
-				tourToString(tour));
-		// display the graph graphically, as it were
-		// get minX, maxX, minY, maxY, assuming they 0.0 <= mins
-		double minX = cities[0][0], maxX = cities[0][0];
-		double minY = cities[0][1], maxY = cities[0][1];
-		for (double[] city : cities) {
-			if (city[0] < minX)
-				minX = city[0];
-			if (city[0] > maxX)
-				maxX = city[0];
-			if (city[1] < minY)
-				minY = city[1];
-			if (city[1] > maxY)
-				maxY = city[1];
-		}
-
-		// scale points to fit in unit square
-		final double side = Math.max(maxX - minX, maxY - minY);
-		double[][] scaledCities = new double[cities.length][2];
-		for (int i = 0; i < cities.length; i++) {
-			scaledCities[i][0] = (cities[i][0] - minX) / side;
-			scaledCities[i][1] = (cities[i][1] - minY) / side;
-		}
-
-		final Image image = new BufferedImage(NUM_PIXALS, NUM_PIXALS,
-				BufferedImage.TYPE_INT_ARGB);
-		final Graphics graphics = image.getGraphics();
-
-		final int margin = 10;
-		final int field = NUM_PIXALS - 2 * margin;
-		// draw edges
-		graphics.setColor(Color.BLUE);
-		int x1, y1, x2, y2;
-		int city1 = tour[0], city2;
-		x1 = margin + (int) (scaledCities[city1][0] * field);
-		y1 = margin + (int) (scaledCities[city1][1] * field);
-		for (int i = 1; i < cities.length; i++) {
-			city2 = tour[i];
-			x2 = margin + (int) (scaledCities[city2][0] * field);
-			y2 = margin + (int) (scaledCities[city2][1] * field);
-			graphics.drawLine(x1, y1, x2, y2);
-			x1 = x2;
-			y1 = y2;
-		}
-		city2 = tour[0];
-		x2 = margin + (int) (scaledCities[city2][0] * field);
-		y2 = margin + (int) (scaledCities[city2][1] * field);
-		graphics.drawLine(x1, y1, x2, y2);
-
-		// draw vertices
-		final int VERTEX_DIAMETER = 6;
-		graphics.setColor(Color.RED);
-		for (int i = 0; i < cities.length; i++) {
-			int x = margin + (int) (scaledCities[i][0] * field);
-			int y = margin + (int) (scaledCities[i][1] * field);
-			graphics.fillOval(x - VERTEX_DIAMETER / 2, y - VERTEX_DIAMETER / 2,
-					VERTEX_DIAMETER, VERTEX_DIAMETER);
-		}
-		final ImageIcon imageIcon = new ImageIcon(image);
-		return new JLabel(imageIcon);
-	}
 
 }
@@ -0,0 +1,122 @@
+package client;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Container;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+
+import javax.swing.ImageIcon;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JScrollPane;
+
+/**
+ * TSP View is the window drawing the tour of a TSP Result. It is the only
+ * part of the TSP client using AWT and Swing.
+ */
+public class TspView extends JFrame {
+	private static final long serialVersionUID = 4192126821917742620L;
+	private static final int NUM_PIXALS = 600;
+
+	/**
+	 * Constructor of TSP View.
+	 * 
+	 * @param title
+	 *            Frame title.
+	 */
+	public TspView(final String title) {
+		setTitle(title);
+		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+	}
+
+	/**
+	 * Show a tour.
+	 * 
+	 * @param tour
+	 *            Cities in the order of the tour.
+	 * @param cities
+	 *            Coordinates of the cities.
+	 */
+	public void show(final Integer[] tour, final double[][] cities) {
+		final Container container = getContentPane();
+		container.setLayout(new BorderLayout());
+		container.add(new JScrollPane(getLabel(tour, cities)),
+				BorderLayout.CENTER);
+		pack();
+		setVisible(true);
+	}
+
+	/**
+	 * Draw a tour.
+	 * 
+	 * @param tour
+	 *            Cities in the order of the tour.
+	 * @param cities
+	 *            Coordinates of the cities.
+	 * @return Label of the drawing.
+	 */
+	public static JLabel getLabel(final Integer[] tour,
+			final double[][] cities) {
+		// display the graph graphically, as it were
+		// get minX, maxX, minY, maxY, assuming they 0.0 <= mins
+		double minX = cities[0][0], maxX = cities[0][0];
+		double minY = cities[0][1], maxY = cities[0][1];
+		for (double[] city : cities) {
+			if (city[0] < minX)
+				minX = city[0];
+			if (city[0] > maxX)
+				maxX = city[0];
+			if (city[1] < minY)
+				minY = city[1];
+			if (city[1] > maxY)
+				maxY = city[1];
+		}
+
+		// scale points to fit in unit square
+		final double side = Math.max(maxX - minX, maxY - minY);
+		double[][] scaledCities = new double[cities.length][2];
+		for (int i = 0; i < cities.length; i++) {
+			scaledCities[i][0] = (cities[i][0] - minX) / side;
+			scaledCities[i][1] = (cities[i][1] - minY) / side;
+		}
+
+		final Image image = new BufferedImage(NUM_PIXALS, NUM_PIXALS,
+				BufferedImage.TYPE_INT_ARGB);
+		final Graphics graphics = image.getGraphics();
+
+		final int margin = 10;
+		final int field = NUM_PIXALS - 2 * margin;
+		// draw edges
+		graphics.setColor(Color.BLUE);
+		int x1, y1, x2, y2;
+		int city1 = tour[0], city2;
+		x1 = margin + (int) (scaledCities[city1][0] * field);
+		y1 = margin + (int) (scaledCities[city1][1] * field);
+		for (int i = 1; i < cities.length; i++) {
+			city2 = tour[i];
+			x2 = margin + (int) (scaledCities[city2][0] * field);
+			y2 = margin + (int) (scaledCities[city2][1] * field);
+			graphics.drawLine(x1, y1, x2, y2);
+			x1 = x2;
+			y1 = y2;
+		}
+		city2 = tour[0];
+		x2 = margin + (int) (scaledCities[city2][0] * field);
+		y2 = margin + (int) (scaledCities[city2][1] * field);
+		graphics.drawLine(x1, y1, x2, y2);
+
+		// draw vertices
+		final int VERTEX_DIAMETER = 6;
+		graphics.setColor(Color.RED);
+		for (int i = 0; i < cities.length; i++) {
+			int x = margin + (int) (scaledCities[i][0] * field);
+			int y = margin + (int) (scaledCities[i][1] * field);
+			graphics.fillOval(x - VERTEX_DIAMETER / 2, y - VERTEX_DIAMETER / 2,
+					VERTEX_DIAMETER, VERTEX_DIAMETER);
+		}
+		final ImageIcon imageIcon = new ImageIcon(image);
+		return new JLabel(imageIcon);
+	}
+}
@@ -0,0 +1,410 @@
+package cluster;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.rmi.Naming;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import api.Result;
+import api.Server;
+import api.Space;
+import api.Universe;
+import computer.ComputerImpl;
+import metrics.NodeMetrics;
+import rmi.StubCache;
+import server.ServerImpl;
+import space.SpaceImpl;
+import universe.UniverseImpl;
+
+/**
+ * Cluster Launcher starts a Universe, Servers, Spaces and the Computers of
+ * every Space as separate JVMs on the loopback interface, each registry on
+ * its own port, and drives them with Clients running in the launcher. The
+ * nodes are the same as in a real deployment: they talk through RMI with the
+ * SecurityManager on, and log into launcher-logs/. The Computers use the
+ * transport of the system property space.transport of the launcher. Every
+ * Space runs a JMX agent, through which the launcher waits for its Computers
+ * to register.
+ * <p>
+ * Usage: ClusterLauncher mode spaceNum computerNum serverNum clientNum
+ * workerNum job [jobNum]
+ * </p>
+ * <ul>
+ * <li>run: start the cluster once and run jobNum jobs from every Client.</li>
+ * <li>strong: restart the cluster with 1, 2, 4, ... up to computerNum
+ * Computers in every Space and run the same jobs every time.</li>
+ * <li>weak: the same, with the number of jobs growing with the number of
+ * Computers.</li>
+ * </ul>
+ * The makespan, the throughput, the speedup and the efficiency of every
+ * cluster size are printed as CSV lines.
+ */
+public class ClusterLauncher {
+	/**
+	 * First port of the registries. The Universe takes it, the Servers and
+	 * the Spaces the following ones.
+	 */
+	private static final int BASE_PORT = Integer.getInteger("launcher.port",
+			18000);
+
+	/**
+	 * Address of all the nodes.
+	 */
+	private static final String LOOPBACK = "127.0.0.1";
+
+	/**
+	 * Ports skipped between two clusters, so a new cluster does not wait for
+	 * the ports of the previous one.
+	 */
+	private static final int PORT_STRIDE = 100;
+
+	/**
+	 * Offset of the JMX agent port of a Space from its registry port.
+	 */
+	private static final int JMX_PORT_OFFSET = PORT_STRIDE / 2;
+
+	/**
+	 * Time in ms for a registry to come up.
+	 */
+	private static final int STARTUP_TIMEOUT = 30000;
+
+	/**
+	 * Time in ms for the Computers to register to their Spaces.
+	 */
+	private static final int REGISTER_TIMEOUT = 30000;
+
+	/**
+	 * Time in ms for a node to exit after it is asked to, before it is
+	 * killed.
+	 */
+	private static final int SHUTDOWN_TIMEOUT = 5000;
+
+	/**
+	 * Directory of the node logs.
+	 */
+	private static final File LOG_DIR = new File("launcher-logs");
+
+	/**
+	 * Processes of the nodes, in starting order.
+	 */
+	private final List<Process> processes;
+
+	/**
+	 * Ports of the Servers.
+	 */
+	private final int[] serverPorts;
+
+	/**
+	 * Policy file granting the nodes all permissions.
+	 */
+	private final File policy;
+
+	/**
+	 * Constructor of Cluster Launcher. Start the Universe, the Servers, the
+	 * Spaces and the Computers of each Space, each waiting for the ones it
+	 * registers to.
+	 *
+	 * @param basePort
+	 *            Port of the Universe registry.
+	 * @param spaceNum
+	 *            Number of Spaces.
+	 * @param computerNum
+	 *            Number of Computers of each Space.
+	 * @param serverNum
+	 *            Number of Servers.
+	 * @param workerNum
+	 *            Number of Workers of each Computer.
+	 * @throws IOException
+	 *             Failed to start a node.
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for a node.
+	 */
+	public ClusterLauncher(int basePort, int spaceNum, int computerNum,
+			int serverNum, int workerNum) throws IOException,
+			InterruptedException {
+		processes = Collections.synchronizedList(new ArrayList<>());
+		serverPorts = new int[serverNum];
+		LOG_DIR.mkdirs();
+		policy = File.createTempFile("launcher", ".policy");
+		policy.deleteOnExit();
+		try (FileWriter writer = new FileWriter(policy)) {
+			writer.write("grant {\n\tpermission java.security.AllPermission;\n};\n");
+		}
+		String universePort = "-Duniverse.port=" + basePort;
+		// The Universe recovers from its checkpoint when given an argument.
+		start("Universe", UniverseImpl.class, null, universePort);
+		waitFor(basePort, Universe.SERVICE_NAME);
+		for (int i = 0; i < serverNum; i++) {
+			serverPorts[i] = basePort + 1 + i;
+			start("Server" + i, ServerImpl.class, LOOPBACK, universePort,
+					"-Dserver.port=" + serverPorts[i]);
+			waitFor(serverPorts[i], Server.SERVICE_NAME);
+		}
+		int[] spacePorts = new int[spaceNum];
+		for (int i = 0; i < spaceNum; i++) {
+			spacePorts[i] = basePort + 1 + serverNum + i;
+			int jmxPort = spacePorts[i] + JMX_PORT_OFFSET;
+			start("Space" + i, SpaceImpl.class, LOOPBACK, universePort,
+					"-Dspace.port=" + spacePorts[i],
+					"-Dcom.sun.management.jmxremote.port=" + jmxPort,
+					"-Dcom.sun.management.jmxremote.host=" + LOOPBACK,
+					"-Dcom.sun.management.jmxremote.authenticate=false",
+					"-Dcom.sun.management.jmxremote.ssl=false");
+			waitFor(spacePorts[i], Space.SERVICE_NAME);
+			for (int j = 0; j < computerNum; j++) {
+				start("Space" + i + "-Computer" + j, ComputerImpl.class,
+						LOOPBACK, "-Dspace.port=" + spacePorts[i],
+						"-Dcomputer.workers=" + workerNum);
+			}
+		}
+		for (int spacePort : spacePorts) {
+			waitForComputers(spacePort + JMX_PORT_OFFSET, computerNum);
+		}
+		Logger.getLogger(this.getClass().getName()).log(
+				Level.INFO,
+				"Cluster started on port {0} with {1} Servers, {2} Spaces and {3} Computers.",
+				new Object[] { Integer.toString(basePort), serverNum, spaceNum,
+						spaceNum * computerNum });
+	}
+
+	/**
+	 * Start a node in a new JVM with the class path of the launcher.
+	 */
+	private void start(String name, Class<?> mainClass, String argument,
+			String... properties) throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(System.getProperty("java.home") + File.separator + "bin"
+				+ File.separator + "java");
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add("-Djava.security.manager=allow");
+		command.add("-Djava.security.policy=" + policy.getAbsolutePath());
+		command.add("-Djava.rmi.server.hostname=" + LOOPBACK);
+		command.add("-Dspace.transport=" + Space.TRANSPORT);
+		Collections.addAll(command, properties);
+		command.add(mainClass.getName());
+		if (argument != null) {
+			command.add(argument);
+		}
+		File log = new File(LOG_DIR, name + ".log");
+		// Standard input stays open, the nodes stop when it is closed.
+		Process process = new ProcessBuilder(command).redirectErrorStream(true)
+				.redirectOutput(log).start();
+		processes.add(process);
+	}
+
+	/**
+	 * Wait until a service is bound in the registry of a port.
+	 */
+	private void waitFor(int port, String serviceName)
+			throws InterruptedException, IOException {
+		String url = "rmi://" + LOOPBACK + ":" + port + "/" + serviceName;
+		long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT;
+		while (true) {
+			try {
+				Naming.lookup(url);
+				return;
+			} catch (Exception e) {
+				if (System.currentTimeMillis() > deadline
+						|| !processes.get(processes.size() - 1).isAlive()) {
+					throw new IOException("Node at " + url
+							+ " did not start, see " + LOG_DIR, e);
+				}
+				Thread.sleep(100);
+			}
+		}
+	}
+
+	/**
+	 * Wait until a number of Computers are registered to a Space, reading the
+	 * ComputerNum gauge of the Space through its JMX agent.
+	 */
+	private void waitForComputers(int jmxPort, int computerNum)
+			throws InterruptedException, IOException {
+		JMXServiceURL url = new JMXServiceURL(
+				"service:jmx:rmi:///jndi/rmi://" + LOOPBACK + ":" + jmxPort
+						+ "/jmxrmi");
+		long deadline = System.currentTimeMillis() + REGISTER_TIMEOUT;
+		try (JMXConnector connector = JMXConnectorFactory.connect(url)) {
+			MBeanServerConnection mbeans = connector.getMBeanServerConnection();
+			ObjectName spaces = new ObjectName(NodeMetrics.DOMAIN
+					+ ":type=Space,*");
+			int num = 0;
+			while (true) {
+				for (ObjectName space : mbeans.queryNames(spaces, null)) {
+					num = ((Number) mbeans.getAttribute(space, "ComputerNum"))
+							.intValue();
+				}
+				if (num >= computerNum) {
+					return;
+				}
+				if (System.currentTimeMillis() > deadline) {
+					throw new IOException(num + " of " + computerNum
+							+ " Computers registered to the Space at " + url
+							+ ", see " + LOG_DIR);
+				}
+				Thread.sleep(100);
+			}
+		} catch (JMException e) {
+			throw new IOException("Cannot read the Space metrics at " + url, e);
+		}
+	}
+
+	/**
+	 * Run jobs from Clients, each Client on its own thread and Server, and
+	 * wait for all the Results.
+	 *
+	 * @param job
+	 *            Job, as made by Workloads.
+	 * @param clientNum
+	 *            Number of Clients.
+	 * @param jobNum
+	 *            Number of jobs run one after another by each Client.
+	 * @return Makespan in ns.
+	 * @throws Exception
+	 *             A Client failed.
+	 */
+	public long run(String job, int clientNum, int jobNum) throws Exception {
+		List<Exception> failures = Collections
+				.synchronizedList(new ArrayList<>());
+		Thread[] clients = new Thread[clientNum];
+		long start = System.nanoTime();
+		for (int i = 0; i < clientNum; i++) {
+			String url = "rmi://" + LOOPBACK + ":"
+					+ serverPorts[i % serverPorts.length] + "/"
+					+ Server.SERVICE_NAME;
+			String clientName = "Launcher" + i;
+			clients[i] = new Thread(() -> {
+				try {
+					Server server = StubCache.call(url, (Server stub) -> {
+						stub.register(clientName, null);
+						return stub;
+					});
+					for (int j = 0; j < jobNum; j++) {
+						server.submit(Workloads.makeTask(job), clientName);
+						Result result = server.getResult(clientName);
+						if (result == null) {
+							throw new IOException("No Result for "
+									+ clientName);
+						}
+					}
+					server.unregister(clientName);
+				} catch (Exception e) {
+					failures.add(e);
+				}
+			});
+			clients[i].start();
+		}
+		for (Thread client : clients) {
+			client.join();
+		}
+		long makespan = System.nanoTime() - start;
+		if (!failures.isEmpty()) {
+			throw failures.get(0);
+		}
+		return makespan;
+	}
+
+	/**
+	 * Stop all the nodes, the Computers first. Every node is asked to exit,
+	 * and killed if it has not within the shutdown timeout.
+	 */
+	public void shutdown() {
+		synchronized (processes) {
+			for (int i = processes.size() - 1; i >= 0; i--) {
+				processes.get(i).destroy();
+			}
+			long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT;
+			for (Process process : processes) {
+				try {
+					if (!process.waitFor(Math.max(0, deadline
+							- System.currentTimeMillis()),
+							TimeUnit.MILLISECONDS)) {
+						process.destroyForcibly().waitFor();
+					}
+				} catch (InterruptedException e) {
+					process.destroyForcibly();
+					Thread.currentThread().interrupt();
+				}
+			}
+			processes.clear();
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 7) {
+			System.out
+					.println("Usage: ClusterLauncher run|strong|weak spaceNum computerNum serverNum clientNum workerNum job [jobNum]");
+			return;
+		}
+		String mode = args[0];
+		int spaceNum = Integer.parseInt(args[1]);
+		int computerNum = Integer.parseInt(args[2]);
+		int serverNum = Integer.parseInt(args[3]);
+		int clientNum = Integer.parseInt(args[4]);
+		int workerNum = Integer.parseInt(args[5]);
+		String job = args[6];
+		int jobNum = args.length > 7 ? Integer.parseInt(args[7]) : 1;
+
+		List<Integer> sizes = new ArrayList<>();
+		if (mode.equals("run")) {
+			sizes.add(computerNum);
+		} else if (mode.equals("strong") || mode.equals("weak")) {
+			for (int size = 1; size < computerNum; size *= 2) {
+				sizes.add(size);
+			}
+			sizes.add(computerNum);
+		} else {
+			System.out.println("Unknown mode: " + mode);
+			return;
+		}
+
+		System.out
+				.println("mode,computers,workers,jobs,makespan_ms,throughput_jobs_per_s,speedup,efficiency");
+		double baseMakespan = 0;
+		int baseComputers = 0;
+		for (int i = 0; i < sizes.size(); i++) {
+			int size = sizes.get(i);
+			int jobs = mode.equals("weak") ? jobNum * size : jobNum;
+			ClusterLauncher launcher = new ClusterLauncher(BASE_PORT + i
+					* PORT_STRIDE, spaceNum, size, serverNum, workerNum);
+			Runtime.getRuntime().addShutdownHook(
+					new Thread(launcher::shutdown));
+			double makespan;
+			try {
+				// Warm up the nodes before timing.
+				launcher.run(job, clientNum, 1);
+				makespan = launcher.run(job, clientNum, jobs) / 1e6;
+			} finally {
+				launcher.shutdown();
+			}
+			int computers = spaceNum * size;
+			if (i == 0) {
+				baseMakespan = makespan;
+				baseComputers = computers;
+			}
+			// Weak scaling keeps the work per Computer, so the speedup is the
+			// scaled work done in the same time.
+			double speedup = mode.equals("weak") ? baseMakespan / makespan
+					* computers / baseComputers : baseMakespan / makespan;
+			System.out.printf("%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f%n", mode,
+					computers, computers * workerNum, clientNum * jobs,
+					makespan, clientNum * jobs * 1000 / makespan, speedup,
+					speedup * baseComputers / computers);
+		}
+		System.exit(0);
+	}
+}
@@ -0,0 +1,198 @@
+package cluster;
+
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import api.Result;
+import api.Server;
+import api.Task;
+import computer.ComputerImpl;
+import result.ValueResult;
+import server.ServerImpl;
+import space.SpaceImpl;
+import tsp_tasks.TspData;
+import universe.UniverseImpl;
+
+/**
+ * Embedded Cluster wires a Universe, Spaces, Computers and a Server in one
+ * JVM. They talk through the same api interfaces with direct method calls:
+ * no RMI registry, no SecurityManager and no serialization. Tasks and Results
+ * are copied where they cross a node boundary, as the nodes keep and change
+ * them as if they had their own copy.
+ * <p>
+ * Usage: EmbeddedCluster spaceNum computerNum workerNum job [repeat]. It runs
+ * the job, as made by Workloads, repeat times one after another and reports
+ * the makespan of each run and the throughput.
+ * </p>
+ */
+public class EmbeddedCluster {
+	/**
+	 * Universe.
+	 */
+	private final UniverseImpl universe;
+
+	/**
+	 * Spaces.
+	 */
+	private final List<SpaceImpl> spaces;
+
+	/**
+	 * Computers.
+	 */
+	private final List<ComputerImpl> computers;
+
+	/**
+	 * Server.
+	 */
+	private final ServerImpl server;
+
+	/**
+	 * Names of the Clients registered in the Server.
+	 */
+	private final Set<String> clientNames;
+
+	/**
+	 * Constructor of Embedded Cluster. Start the Universe, the Spaces, the
+	 * Computers of each Space and the Server.
+	 *
+	 * @param spaceNum
+	 *            Number of Spaces.
+	 * @param computerNum
+	 *            Number of Computers of each Space.
+	 * @param workerNum
+	 *            Number of Workers of each Computer.
+	 * @throws RemoteException
+	 *             Failed to start a node.
+	 */
+	public EmbeddedCluster(int spaceNum, int computerNum, int workerNum)
+			throws RemoteException {
+		universe = new UniverseImpl();
+		unexport(universe);
+		LocalUniverse localUniverse = new LocalUniverse(universe);
+		spaces = new ArrayList<>();
+		computers = new ArrayList<>();
+		for (int i = 0; i < spaceNum; i++) {
+			SpaceImpl space = new SpaceImpl(localUniverse);
+			unexport(space);
+			spaces.add(space);
+			LocalSpace localSpace = new LocalSpace(space);
+			for (int j = 0; j < computerNum; j++) {
+				ComputerImpl computer = new ComputerImpl(workerNum);
+				unexport(computer);
+				computers.add(computer);
+				localSpace.register(computer);
+			}
+		}
+		server = new ServerImpl(localUniverse);
+		unexport(server);
+		clientNames = Collections.synchronizedSet(new HashSet<>());
+		Logger.getLogger(this.getClass().getName()).log(
+				Level.INFO,
+				"Embedded Cluster started with {0} Spaces, {1} Computers and {2} Workers.",
+				new Object[] { spaceNum, computers.size(),
+						computers.size() * workerNum });
+	}
+
+	/**
+	 * Stop the remote object of a node from listening to RMI calls.
+	 */
+	private static void unexport(UnicastRemoteObject node) {
+		try {
+			UnicastRemoteObject.unexportObject(node, true);
+		} catch (RemoteException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Get the Server of the cluster, to be called by the Clients.
+	 *
+	 * @return Server.
+	 */
+	public Server getServer() {
+		return server;
+	}
+
+	/**
+	 * Get the Universe of the cluster.
+	 *
+	 * @return Universe.
+	 */
+	public UniverseImpl getUniverse() {
+		return universe;
+	}
+
+	/**
+	 * Get the Spaces of the cluster.
+	 *
+	 * @return Spaces.
+	 */
+	public List<SpaceImpl> getSpaces() {
+		return spaces;
+	}
+
+	/**
+	 * Get the Computers of the cluster.
+	 *
+	 * @return Computers.
+	 */
+	public List<ComputerImpl> getComputers() {
+		return computers;
+	}
+
+	/**
+	 * Run a task as a Client and wait for its Result.
+	 *
+	 * @param clientName
+	 *            Client Name, registered in the Server if it is not yet.
+	 * @param task
+	 *            Task to be run.
+	 * @return Result of the Task.
+	 * @throws RemoteException
+	 *             Never thrown by the local Server.
+	 */
+	public Result run(String clientName, Task<?> task) throws RemoteException {
+		if (clientNames.add(clientName)) {
+			server.register(clientName, null);
+		}
+		server.submit(task, clientName);
+		return server.getResult(clientName);
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 4) {
+			System.out
+					.println("Usage: EmbeddedCluster spaceNum computerNum workerNum job [repeat]");
+			return;
+		}
+		int spaceNum = Integer.parseInt(args[0]);
+		int computerNum = Integer.parseInt(args[1]);
+		int workerNum = Integer.parseInt(args[2]);
+		String job = args[3];
+		int repeat = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+		EmbeddedCluster cluster = new EmbeddedCluster(spaceNum, computerNum,
+				workerNum);
+		long start = System.nanoTime();
+		for (int i = 0; i < repeat; i++) {
+			long jobStart = System.nanoTime();
+			Result result = cluster.run("Embedded", Workloads.makeTask(job));
+			Object value = result instanceof ValueResult ? ((ValueResult<?>) result)
+					.getResultValue() : result;
+			if (value instanceof TspData) {
+				value = ((TspData) value).getDistance();
+			}
+			System.out.printf("Run %d: %s = %s in %.3f ms%n", i, job, value,
+					(System.nanoTime() - jobStart) / 1e6);
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("Throughput: %.3f jobs/s%n", repeat / seconds);
+		System.exit(0);
+	}
+}
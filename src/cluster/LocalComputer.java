@@ -0,0 +1,71 @@
+package cluster;
+
+import java.rmi.RemoteException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import api.Computer;
+import api.Result;
+import api.Task;
+
+/**
+ * Local Computer is a Computer called directly by a Space of an Embedded
+ * Cluster. Tasks are copied on the way in and Results on the way out, since
+ * the Space and the Computer both keep the running tasks.
+ */
+public class LocalComputer implements Computer {
+	/**
+	 * Computer.
+	 */
+	private final Computer computer;
+
+	/**
+	 * Constructor of Local Computer.
+	 * 
+	 * @param computer
+	 *            Computer in this JVM.
+	 */
+	public LocalComputer(Computer computer) {
+		this.computer = computer;
+	}
+
+	@Override
+	public void setID(int computerId) throws RemoteException {
+		computer.setID(computerId);
+	}
+
+	@Override
+	public int getWorkerNum() throws RemoteException {
+		return computer.getWorkerNum();
+	}
+
+	@Override
+	public boolean isBusy() throws RemoteException {
+		return computer.isBusy();
+	}
+
+	@Override
+	public void addTask(Task<?> task) throws RemoteException {
+		computer.addTask(task.copy());
+	}
+
+	@Override
+	public Result getResult() throws RemoteException {
+		Result result = computer.getResult();
+		return result == null ? null : result.copy();
+	}
+
+	@Override
+	public void cancel(String jobID) throws RemoteException {
+		computer.cancel(jobID);
+	}
+
+	/**
+	 * The Computer shares the JVM with the cluster, so it is not exited.
+	 */
+	@Override
+	public void exit() throws RemoteException {
+		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
+				"Local Computer: exit is ignored in an Embedded Cluster.");
+	}
+}
@@ -0,0 +1,116 @@
+package cluster;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+
+import api.Result;
+import api.Server;
+import api.Task;
+
+/**
+ * Local Server is a Server called directly by the Universe of an Embedded
+ * Cluster. Tasks are copied on the way out, since the Server keeps the ones
+ * it hands over while the Universe changes their IDs, and Results are copied
+ * on the way in, as RMI would.
+ */
+public class LocalServer implements Server {
+	/**
+	 * Server.
+	 */
+	private final Server server;
+
+	/**
+	 * Constructor of Local Server.
+	 * 
+	 * @param server
+	 *            Server in this JVM.
+	 */
+	public LocalServer(Server server) {
+		this.server = server;
+	}
+
+	@Override
+	public void setID(int serverID) throws RemoteException {
+		server.setID(serverID);
+	}
+
+	@Override
+	public Task<?> getTask() throws RemoteException {
+		Task<?> task = server.getTask();
+		return task == null ? null : task.copy();
+	}
+
+	@Override
+	public List<Task<?>> getTasks(int max) throws RemoteException {
+		List<Task<?>> tasks = server.getTasks(max);
+		if (tasks == null) {
+			return null;
+		}
+		List<Task<?>> copies = new ArrayList<>(tasks.size());
+		for (Task<?> task : tasks) {
+			copies.add(task.copy());
+		}
+		return copies;
+	}
+
+	@Override
+	public void dispatchResult(Result result) throws RemoteException {
+		server.dispatchResult(result.copy());
+	}
+
+	@Override
+	public void dispatchResults(List<Result> results) throws RemoteException {
+		List<Result> copies = new ArrayList<>(results.size());
+		for (Result result : results) {
+			copies.add(result.copy());
+		}
+		server.dispatchResults(copies);
+	}
+
+	@Override
+	public boolean register(String clientname, String duration)
+			throws RemoteException {
+		return server.register(clientname, duration);
+	}
+
+	@Override
+	public boolean unregister(String clientname) throws RemoteException {
+		return server.unregister(clientname);
+	}
+
+	@Override
+	public String submit(Task<?> task, String clientname)
+			throws RemoteException {
+		return server.submit(task, clientname);
+	}
+
+	@Override
+	public List<String> submitAll(List<? extends Task<?>> tasks,
+			String clientname) throws RemoteException {
+		return server.submitAll(tasks, clientname);
+	}
+
+	@Override
+	public Result getResult(String clientname) throws RemoteException {
+		return server.getResult(clientname);
+	}
+
+	@Override
+	public List<Result> getResults(String clientname, int max, long timeout)
+			throws RemoteException {
+		return server.getResults(clientname, max, timeout);
+	}
+
+	@Override
+	public boolean cancel(String clientname, String taskID)
+			throws RemoteException {
+		return server.cancel(clientname, taskID);
+	}
+
+	@Override
+	public boolean subscribe(String clientname, String taskID)
+			throws RemoteException {
+		return server.subscribe(clientname, taskID);
+	}
+}
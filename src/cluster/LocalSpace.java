@@ -0,0 +1,56 @@
+package cluster;
+
+import java.rmi.RemoteException;
+
+import api.Computer;
+import api.Result;
+import api.Space;
+import api.Task;
+
+/**
+ * Local Space is a Space called directly by the Universe of an Embedded
+ * Cluster. Tasks are copied on the way in, since the Universe keeps the ones
+ * it sent in its Running Task Map while the Space changes their IDs. Every
+ * Computer registered is wrapped in a {@link LocalComputer}.
+ */
+public class LocalSpace implements Space {
+	/**
+	 * Space.
+	 */
+	private final Space space;
+
+	/**
+	 * Constructor of Local Space.
+	 * 
+	 * @param space
+	 *            Space in this JVM.
+	 */
+	public LocalSpace(Space space) {
+		this.space = space;
+	}
+
+	@Override
+	public void setID(int spaceID) throws RemoteException {
+		space.setID(spaceID);
+	}
+
+	@Override
+	public void addTask(Task<?> task) throws RemoteException {
+		space.addTask(task.copy());
+	}
+
+	@Override
+	public Result getResult() throws RemoteException {
+		return space.getResult();
+	}
+
+	@Override
+	public void register(Computer computer) throws RemoteException {
+		space.register(new LocalComputer(computer));
+	}
+
+	@Override
+	public void cancel(String jobID) throws RemoteException {
+		space.cancel(jobID);
+	}
+}
@@ -0,0 +1,50 @@
+package cluster;
+
+import java.rmi.RemoteException;
+
+import api.Server;
+import api.Space;
+import api.Universe;
+
+/**
+ * Local Universe is the Universe seen by the Spaces and Servers of an
+ * Embedded Cluster. Every Space registered is wrapped in a {@link LocalSpace}
+ * and every Server in a {@link LocalServer}, so the Universe and its Spaces
+ * and Servers hand each other copies of the Tasks and Results as RMI would.
+ */
+public class LocalUniverse implements Universe {
+	/**
+	 * Universe.
+	 */
+	private final Universe universe;
+
+	/**
+	 * Constructor of Local Universe.
+	 * 
+	 * @param universe
+	 *            Universe in this JVM.
+	 */
+	public LocalUniverse(Universe universe) {
+		this.universe = universe;
+	}
+
+	@Override
+	public void register(Server server) throws RemoteException {
+		universe.register(new LocalServer(server));
+	}
+
+	@Override
+	public void register(Space space) throws RemoteException {
+		universe.register(new LocalSpace(space));
+	}
+
+	@Override
+	public void cancel(String jobID) throws RemoteException {
+		universe.cancel(jobID);
+	}
+
+	@Override
+	public void subscribe(String jobID) throws RemoteException {
+		universe.subscribe(jobID);
+	}
+}
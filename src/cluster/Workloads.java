@@ -0,0 +1,128 @@
+package cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import api.Task;
+import fibonacci_tasks.FibonacciReadyTask;
+import synthetic_tasks.SyntheticReadyTask;
+import synthetic_tasks.SyntheticShape;
+import tsp_tasks.TspData;
+import tsp_tasks.TspReadyTask;
+
+/**
+ * Workloads makes the root tasks of the jobs driving a cluster, the same as
+ * the ones made by the Clients.
+ * <p>
+ * A job is given as fib:N for Fibonacci of N, tsp:N for a TSP of N random
+ * cities, which are the same for the same N, or
+ * syn:fanOut,depth[,leafMicros[,payloadBytes[,resultBytes[,skew]]]] for a
+ * synthetic task tree.
+ * </p>
+ */
+public final class Workloads {
+
+	private Workloads() {
+	}
+
+	/**
+	 * Make the root task of a job.
+	 * 
+	 * @param job
+	 *            fib:N, tsp:N or syn:fanOut,depth,...
+	 * @return Root task.
+	 */
+	public static Task<?> makeTask(String job) {
+		String[] parts = job.split(":");
+		if (parts.length != 2) {
+			throw new IllegalArgumentException("Bad job: " + job);
+		}
+		switch (parts[0]) {
+		case "fib":
+			return fibonacci(Integer.parseInt(parts[1]));
+		case "tsp":
+			return tsp(cities(Integer.parseInt(parts[1])));
+		case "syn":
+			return new SyntheticReadyTask(shape(parts[1]));
+		default:
+			throw new IllegalArgumentException("Bad job: " + job);
+		}
+	}
+
+	/**
+	 * Parse the shape of a synthetic task tree. The leaf cost, the payload
+	 * and result sizes and the skew are 0 unless given.
+	 * 
+	 * @param shape
+	 *            fanOut,depth[,leafMicros[,payloadBytes[,resultBytes[,skew]]]]
+	 * @return Synthetic Shape.
+	 */
+	public static SyntheticShape shape(String shape) {
+		String[] values = shape.split(",");
+		if (values.length < 2 || values.length > 6) {
+			throw new IllegalArgumentException("Bad synthetic shape: " + shape);
+		}
+		return new SyntheticShape(Integer.parseInt(values[0]),
+				Integer.parseInt(values[1]), values.length > 2 ? Long
+						.parseLong(values[2]) : 0,
+				values.length > 3 ? Integer.parseInt(values[3]) : 0,
+				values.length > 4 ? Integer.parseInt(values[4]) : 0,
+				values.length > 5 ? Double.parseDouble(values[5]) : 0);
+	}
+
+	/**
+	 * Make a Fibonacci Ready Task.
+	 * 
+	 * @param n
+	 *            N
+	 * @return Fibonacci Ready Task of N.
+	 */
+	public static Task<Integer> fibonacci(int n) {
+		ArrayList<Integer> arg = new ArrayList<Integer>();
+		arg.add(n);
+		return new FibonacciReadyTask(arg);
+	}
+
+	/**
+	 * Make random cities in a 10x10 square. The cities are the same for the
+	 * same number.
+	 * 
+	 * @param n
+	 *            Number of cities.
+	 * @return Coordinates of the cities.
+	 */
+	public static double[][] cities(int n) {
+		Random random = new Random(n);
+		double[][] cities = new double[n][2];
+		for (int i = 0; i < n; i++) {
+			cities[i][0] = random.nextDouble() * 10;
+			cities[i][1] = random.nextDouble() * 10;
+		}
+		return cities;
+	}
+
+	/**
+	 * Make a TSP Ready Task.
+	 * 
+	 * @param cities
+	 *            Coordinates of the cities.
+	 * @return TSP Ready Task starting from the first city.
+	 */
+	public static Task<TspData> tsp(double[][] cities) {
+		final int numOfCities = cities.length;
+		double[][] distance = new double[numOfCities][numOfCities];
+		for (int i = 0; i < numOfCities; ++i)
+			for (int j = 0; j < numOfCities; ++j)
+				distance[i][j] = Math.hypot(cities[i][0] - cities[j][0],
+						cities[i][1] - cities[j][1]);
+		List<Integer> ordered = new ArrayList<Integer>();
+		ordered.add(0);
+		List<Integer> unordered = new ArrayList<Integer>();
+		for (int i = 1; i < numOfCities; ++i)
+			unordered.add(i);
+		List<TspData> args = new ArrayList<TspData>();
+		args.add(new TspData(-8, ordered, unordered));
+		return new TspReadyTask(args, numOfCities, distance);
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * Embedded mode running a Universe, Spaces, Computers and a Server in one JVM
+ * with direct method calls instead of RMI, a launcher running them as
+ * separate JVMs on the loopback interface, and the workloads to drive both.
+ */
+package cluster;
@@ -0,0 +1,48 @@
+package codec;
+
+import java.io.IOException;
+
+/**
+ * Codec writes and reads values of one type in the compact wire format.
+ * 
+ * @param <T>
+ *            Type of the values.
+ */
+public interface Codec<T> {
+	/**
+	 * Get the ID of the type on the wire, the same on all the nodes.
+	 * 
+	 * @return Type ID, above CodecRegistry.JAVA.
+	 */
+	int getID();
+
+	/**
+	 * Get the type. Only values of exactly this class use the codec.
+	 * 
+	 * @return Type.
+	 */
+	Class<T> getType();
+
+	/**
+	 * Write a value.
+	 * 
+	 * @param value
+	 *            Value.
+	 * @param out
+	 *            Wire output.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	void write(T value, WireOutput out) throws IOException;
+
+	/**
+	 * Read a value.
+	 * 
+	 * @param in
+	 *            Wire input.
+	 * @return Value.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	T read(WireInput in) throws IOException;
+}
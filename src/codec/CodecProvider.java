@@ -0,0 +1,15 @@
+package codec;
+
+/**
+ * Codec Provider registers the codecs of a package of tasks. The providers
+ * are found by the Codec Registry through the ServiceLoader, listed in
+ * META-INF/services/codec.CodecProvider, so the codec package does not
+ * depend on the tasks. All the nodes must run with the same providers, as
+ * they agree on the type IDs.
+ */
+public interface CodecProvider {
+	/**
+	 * Register the codecs. Call from Codec Registry.
+	 */
+	void register();
+}
@@ -0,0 +1,135 @@
+package codec;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codec Registry keeps the codecs by type and by type ID. Type IDs are fixed
+ * by the codecs instead of being negotiated per connection: all the nodes run
+ * the same classes, so they agree on them, and a message carries one small
+ * integer per value instead of a class descriptor.
+ * <p>
+ * Type IDs: 0 null, 1 default serialization, 2-9 Java types, 10-19 Results,
+ * 20-29 Fibonacci, 30-39 TSP, 40-49 synthetic tasks.
+ * </p>
+ * <p>
+ * The codecs of the tasks are registered by their {@link CodecProvider}. A
+ * type without a codec falls back to the default serialization.
+ * </p>
+ */
+public final class CodecRegistry {
+	/**
+	 * Type ID of null.
+	 */
+	public static final int NULL = 0;
+
+	/**
+	 * Type ID of a value with the default serialization.
+	 */
+	public static final int JAVA = 1;
+
+	/**
+	 * Codecs by type.
+	 */
+	private static final Map<Class<?>, Codec<?>> TYPES = new ConcurrentHashMap<>();
+
+	/**
+	 * Codecs by type ID.
+	 */
+	private static final Map<Integer, Codec<?>> IDS = new ConcurrentHashMap<>();
+
+	static {
+		JavaCodecs.register();
+		ResultCodecs.register();
+		for (CodecProvider provider : ServiceLoader.load(CodecProvider.class,
+				CodecRegistry.class.getClassLoader())) {
+			provider.register();
+		}
+	}
+
+	private CodecRegistry() {
+	}
+
+	/**
+	 * Register a codec.
+	 * 
+	 * @param codec
+	 *            Codec.
+	 * @throws IllegalArgumentException
+	 *             The type ID is reserved or taken by another type.
+	 */
+	public static synchronized void register(Codec<?> codec) {
+		Codec<?> other = IDS.get(codec.getID());
+		if (codec.getID() <= JAVA || other != null
+				&& other.getType() != codec.getType()) {
+			throw new IllegalArgumentException("Type ID " + codec.getID()
+					+ " of " + codec.getType().getName() + " is taken.");
+		}
+		IDS.put(codec.getID(), codec);
+		TYPES.put(codec.getType(), codec);
+	}
+
+	/**
+	 * Get the codec of a type.
+	 * 
+	 * @param type
+	 *            Type.
+	 * @return Codec, or null if the type has none.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Codec<T> get(Class<?> type) {
+		return (Codec<T>) TYPES.get(type);
+	}
+
+	/**
+	 * Get the codec of a type ID.
+	 * 
+	 * @param id
+	 *            Type ID.
+	 * @return Codec, or null if the type ID is unknown.
+	 */
+	public static Codec<?> get(int id) {
+		return IDS.get(id);
+	}
+
+	/**
+	 * Replace a value about to be serialized by an Envelope writing it with
+	 * its codec. Call from writeReplace of Task and Result.
+	 * 
+	 * @param value
+	 *            Value.
+	 * @return Envelope, or the value itself if its type has no codec.
+	 */
+	public static Object replace(Object value) {
+		return TYPES.containsKey(value.getClass()) ? new Envelope(value)
+				: value;
+	}
+
+	/**
+	 * Encode a value into a byte array.
+	 * 
+	 * @param value
+	 *            Value.
+	 * @return Bytes of the value.
+	 * @throws IOException
+	 *             Failed to encode.
+	 */
+	public static byte[] encode(Object value) throws IOException {
+		return Envelope.encode(value);
+	}
+
+	/**
+	 * Decode a value from a byte array.
+	 * 
+	 * @param bytes
+	 *            Bytes of the value.
+	 * @return Value.
+	 * @throws IOException
+	 *             Failed to decode.
+	 */
+	public static Object decode(byte[] bytes) throws IOException {
+		return Envelope.decode(bytes);
+	}
+}
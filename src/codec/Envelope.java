@@ -0,0 +1,83 @@
+package codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+
+/**
+ * Envelope carries a Task or a Result through the default serialization,
+ * which only sees the class descriptor of Envelope; the value itself is
+ * written by the codecs.
+ */
+public class Envelope implements Externalizable {
+	private static final long serialVersionUID = 3541781237683902781L;
+
+	/**
+	 * Value.
+	 */
+	private Object value;
+
+	/**
+	 * Constructor of Envelope, for the default serialization.
+	 */
+	public Envelope() {
+	}
+
+	/**
+	 * Constructor of Envelope.
+	 * 
+	 * @param value
+	 *            Value.
+	 */
+	Envelope(Object value) {
+		this.value = value;
+	}
+
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		new WireOutput(out).writeValue(value);
+	}
+
+	@Override
+	public void readExternal(ObjectInput in) throws IOException {
+		value = new WireInput(in).readValue();
+	}
+
+	/**
+	 * Replace the Envelope by its value when it is deserialized.
+	 * 
+	 * @return Value.
+	 * @throws ObjectStreamException
+	 *             Never thrown.
+	 */
+	private Object readResolve() throws ObjectStreamException {
+		return value;
+	}
+
+	/**
+	 * Encode a value into a byte array.
+	 */
+	static byte[] encode(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			new WireOutput(out).writeValue(value);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decode a value from a byte array.
+	 */
+	static Object decode(byte[] bytes) throws IOException {
+		try (ObjectInputStream in = new ObjectInputStream(
+				new ByteArrayInputStream(bytes))) {
+			return new WireInput(in).readValue();
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package codec;
+
+import java.io.IOException;
+
+/**
+ * Codecs of the Java types used as task arguments and values.
+ */
+final class JavaCodecs {
+
+	private JavaCodecs() {
+	}
+
+	/**
+	 * Register the codecs.
+	 */
+	static void register() {
+		CodecRegistry.register(new Codec<Integer>() {
+			@Override
+			public int getID() {
+				return 2;
+			}
+
+			@Override
+			public Class<Integer> getType() {
+				return Integer.class;
+			}
+
+			@Override
+			public void write(Integer value, WireOutput out) throws IOException {
+				out.writeInt(value);
+			}
+
+			@Override
+			public Integer read(WireInput in) throws IOException {
+				return in.readInt();
+			}
+		});
+		CodecRegistry.register(new Codec<Long>() {
+			@Override
+			public int getID() {
+				return 3;
+			}
+
+			@Override
+			public Class<Long> getType() {
+				return Long.class;
+			}
+
+			@Override
+			public void write(Long value, WireOutput out) throws IOException {
+				out.writeLong(value);
+			}
+
+			@Override
+			public Long read(WireInput in) throws IOException {
+				return in.readLong();
+			}
+		});
+		CodecRegistry.register(new Codec<Double>() {
+			@Override
+			public int getID() {
+				return 4;
+			}
+
+			@Override
+			public Class<Double> getType() {
+				return Double.class;
+			}
+
+			@Override
+			public void write(Double value, WireOutput out) throws IOException {
+				out.writeDouble(value);
+			}
+
+			@Override
+			public Double read(WireInput in) throws IOException {
+				return in.readDouble();
+			}
+		});
+		CodecRegistry.register(new Codec<String>() {
+			@Override
+			public int getID() {
+				return 5;
+			}
+
+			@Override
+			public Class<String> getType() {
+				return String.class;
+			}
+
+			@Override
+			public void write(String value, WireOutput out) throws IOException {
+				out.writeString(value);
+			}
+
+			@Override
+			public String read(WireInput in) throws IOException {
+				return in.readString();
+			}
+		});
+	}
+}
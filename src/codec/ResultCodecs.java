@@ -0,0 +1,139 @@
+package codec;
+
+import java.io.IOException;
+import java.util.List;
+
+import api.Result;
+import api.Task;
+import result.ErrorResult;
+import result.TaskResult;
+import result.ValueResult;
+
+/**
+ * Codecs of the Results. The subtasks of a Task Result are written with
+ * their own codecs, sharing the strings of the message: the Task ID prefix
+ * and the successor Task ID every ready subtask targets are written once.
+ */
+final class ResultCodecs {
+
+	private ResultCodecs() {
+	}
+
+	/**
+	 * Register the codecs.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	static void register() {
+		CodecRegistry.register(new Codec<ValueResult>() {
+			@Override
+			public int getID() {
+				return 10;
+			}
+
+			@Override
+			public Class<ValueResult> getType() {
+				return ValueResult.class;
+			}
+
+			@Override
+			public void write(ValueResult result, WireOutput out)
+					throws IOException {
+				writeResult(result, out);
+				out.writeValue(result.getResultValue());
+				out.writeString(result.getTargetTaskID());
+				out.writeInt(result.getTargetArgIndex());
+			}
+
+			@Override
+			public ValueResult read(WireInput in) throws IOException {
+				String ID = in.readString();
+				boolean coarse = in.readBoolean();
+				long start = in.readLong();
+				long end = start + in.readLong();
+				long[] hopWaits = in.readLongArray();
+				ValueResult result = new ValueResult(ID, in.readValue(),
+						in.readString(), in.readInt(), coarse, start, end);
+				result.setHopWaits(hopWaits);
+				return result;
+			}
+		});
+		CodecRegistry.register(new Codec<TaskResult>() {
+			@Override
+			public int getID() {
+				return 11;
+			}
+
+			@Override
+			public Class<TaskResult> getType() {
+				return TaskResult.class;
+			}
+
+			@Override
+			public void write(TaskResult result, WireOutput out)
+					throws IOException {
+				writeResult(result, out);
+				out.writeList(result.getSubTasks());
+				out.writeList(result.getRunningTasks());
+			}
+
+			@Override
+			public TaskResult read(WireInput in) throws IOException {
+				String ID = in.readString();
+				boolean coarse = in.readBoolean();
+				long start = in.readLong();
+				long end = start + in.readLong();
+				long[] hopWaits = in.readLongArray();
+				List<Task> subTasks = in.readList();
+				List<Task> runningTasks = in.readList();
+				TaskResult result = new TaskResult(ID, subTasks, runningTasks,
+						coarse, start, end);
+				result.setHopWaits(hopWaits);
+				return result;
+			}
+		});
+		CodecRegistry.register(new Codec<ErrorResult>() {
+			@Override
+			public int getID() {
+				return 12;
+			}
+
+			@Override
+			public Class<ErrorResult> getType() {
+				return ErrorResult.class;
+			}
+
+			@Override
+			public void write(ErrorResult result, WireOutput out)
+					throws IOException {
+				writeResult(result, out);
+				out.writeValue(result.getTask());
+				out.writeString(result.getError());
+			}
+
+			@Override
+			public ErrorResult read(WireInput in) throws IOException {
+				String ID = in.readString();
+				in.readBoolean();
+				long start = in.readLong();
+				long end = start + in.readLong();
+				long[] hopWaits = in.readLongArray();
+				ErrorResult result = new ErrorResult(ID, (Task<?>) in
+						.readValue(), in.readString(), start, end);
+				result.setHopWaits(hopWaits);
+				return result;
+			}
+		});
+	}
+
+	/**
+	 * Write the fields common to all the Results.
+	 */
+	private static void writeResult(Result result, WireOutput out)
+			throws IOException {
+		out.writeString(result.getID());
+		out.writeBoolean(result.isCoarse());
+		out.writeLong(result.getTaskStartTime());
+		out.writeLong(result.getTaskRuntime());
+		out.writeLongArray(result.getHopWaits());
+	}
+}
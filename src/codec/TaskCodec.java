@@ -0,0 +1,96 @@
+package codec;
+
+import java.io.IOException;
+
+import api.Task;
+
+/**
+ * Task Codec writes the fields common to all the Tasks, and leaves the
+ * argument and the fields of the type to the subclass.
+ * 
+ * @param <T>
+ *            Task type.
+ */
+public abstract class TaskCodec<T extends Task<?>> implements Codec<T> {
+	/**
+	 * Type ID.
+	 */
+	private final int id;
+
+	/**
+	 * Task type.
+	 */
+	private final Class<T> type;
+
+	/**
+	 * Constructor of Task Codec.
+	 * 
+	 * @param id
+	 *            Type ID.
+	 * @param type
+	 *            Task type.
+	 */
+	protected TaskCodec(int id, Class<T> type) {
+		this.id = id;
+		this.type = type;
+	}
+
+	@Override
+	public int getID() {
+		return id;
+	}
+
+	@Override
+	public Class<T> getType() {
+		return type;
+	}
+
+	@Override
+	public void write(T task, WireOutput out) throws IOException {
+		writeFields(task, out);
+		out.writeString(task.getID());
+		out.writeString(task.getTargetID());
+		out.writeInt(task.getLayer());
+		out.writeBoolean(task.isSpaceRunnable());
+		out.writeLong(task.getDeadline());
+		out.writeLongArray(task.getHopTimes());
+		out.writeLongArray(task.getTraceLinks());
+	}
+
+	@Override
+	public T read(WireInput in) throws IOException {
+		T task = readFields(in);
+		task.setID(in.readString());
+		task.setTargetID(in.readString());
+		task.setLayer(in.readInt());
+		task.setSpaceRunnable(in.readBoolean());
+		task.setDeadline(in.readLong());
+		task.setHopTimes(in.readLongArray());
+		task.setTraceLinks(in.readLongArray());
+		return task;
+	}
+
+	/**
+	 * Write the argument and the fields of the type.
+	 * 
+	 * @param task
+	 *            Task.
+	 * @param out
+	 *            Wire output.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	protected abstract void writeFields(T task, WireOutput out)
+			throws IOException;
+
+	/**
+	 * Read the argument and the fields of the type, and make the Task.
+	 * 
+	 * @param in
+	 *            Wire input.
+	 * @return Task without the common fields.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	protected abstract T readFields(WireInput in) throws IOException;
+}
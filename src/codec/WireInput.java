@@ -0,0 +1,290 @@
+package codec;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire Input reads the compact wire format of one message written by
+ * {@link WireOutput}.
+ */
+public class WireInput {
+	/**
+	 * Underlying input.
+	 */
+	private final ObjectInput in;
+
+	/**
+	 * Strings read in this message, by reference number.
+	 */
+	private final List<String> strings;
+
+	/**
+	 * Last new string read.
+	 */
+	private String lastString;
+
+	/**
+	 * Matrices read in this message, by reference number.
+	 */
+	private final List<double[][]> matrices;
+
+	/**
+	 * Constructor of Wire Input.
+	 * 
+	 * @param in
+	 *            Underlying input.
+	 */
+	public WireInput(ObjectInput in) {
+		this.in = in;
+		this.strings = new ArrayList<>();
+		this.lastString = "";
+		this.matrices = new ArrayList<>();
+	}
+
+	/**
+	 * Read an int.
+	 * 
+	 * @return Value.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	public int readInt() throws IOException {
+		return (int) readLong();
+	}
+
+	/**
+	 * Read a long.
+	 * 
+	 * @return Value.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	public long readLong() throws IOException {
+		long value = readUnsigned();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Read 7 bits at a time until the high bit is clear.
+	 */
+	private long readUnsigned() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new StreamCorruptedException("Variable-length integer too long.");
+	}
+
+	/**
+	 * Read a length written with one added, -1 for null.
+	 */
+	private int readLength() throws IOException {
+		return (int) readUnsigned() - 1;
+	}
+
+	/**
+	 * Read a boolean.
+	 * 
+	 * @return Value.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	public boolean readBoolean() throws IOException {
+		return in.readBoolean();
+	}
+
+	/**
+	 * Read a double.
+	 * 
+	 * @return Value.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	public double readDouble() throws IOException {
+		return in.readDouble();
+	}
+
+	/**
+	 * Read a string.
+	 * 
+	 * @return String, or null.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	public String readString() throws IOException {
+		int tag = (int) readUnsigned();
+		if (tag == 0) {
+			return null;
+		}
+		if (tag > 1) {
+			if (tag - 2 >= strings.size()) {
+				throw new StreamCorruptedException("Bad string reference.");
+			}
+			return strings.get(tag - 2);
+		}
+		int prefix = (int) readUnsigned();
+		byte[] suffix = new byte[(int) readUnsigned()];
+		in.readFully(suffix);
+		if (prefix > lastString.length()) {
+			throw new StreamCorruptedException("Bad string prefix.");
+		}
+		String value = lastString.substring(0, prefix)
+				+ new String(suffix, StandardCharsets.UTF_8);
+		strings.add(value);
+		lastString = value;
+		return value;
+	}
+
+	/**
+	 * Read an array of bytes.
+	 * 
+	 * @return Array, or null.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	public byte[] readByteArray() throws IOException {
+		int length = readLength();
+		if (length < 0) {
+			return null;
+		}
+		byte[] values = new byte[length];
+		in.readFully(values);
+		return values;
+	}
+
+	/**
+	 * Read an array of longs.
+	 * 
+	 * @return Array, or null.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	public long[] readLongArray() throws IOException {
+		int length = readLength();
+		if (length < 0) {
+			return null;
+		}
+		long[] values = new long[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = readLong();
+		}
+		return values;
+	}
+
+	/**
+	 * Read an array of doubles.
+	 * 
+	 * @return Array, or null.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	public double[] readDoubleArray() throws IOException {
+		int length = readLength();
+		if (length < 0) {
+			return null;
+		}
+		double[] values = new double[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = in.readDouble();
+		}
+		return values;
+	}
+
+	/**
+	 * Read a matrix of doubles. A matrix read again is shared, so the reader
+	 * must not change it.
+	 * 
+	 * @return Matrix, or null.
+	 * @throws IOException
+	 *             Failed to read, or unknown reference.
+	 */
+	public double[][] readDoubleMatrix() throws IOException {
+		int tag = (int) readUnsigned();
+		if (tag == 0) {
+			return null;
+		}
+		if (tag > 1) {
+			if (tag - 2 >= matrices.size()) {
+				throw new StreamCorruptedException("Unknown matrix " + tag);
+			}
+			return matrices.get(tag - 2);
+		}
+		int length = (int) readUnsigned();
+		double[][] values = new double[length][];
+		for (int i = 0; i < length; i++) {
+			values[i] = readDoubleArray();
+		}
+		matrices.add(values);
+		return values;
+	}
+
+	/**
+	 * Read a list of ints.
+	 * 
+	 * @return List.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	public ArrayList<Integer> readIntList() throws IOException {
+		int size = (int) readUnsigned();
+		ArrayList<Integer> values = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			values.add(readInt());
+		}
+		return values;
+	}
+
+	/**
+	 * Read a value of any type.
+	 * 
+	 * @return Value, or null.
+	 * @throws IOException
+	 *             Failed to read, or unknown type.
+	 */
+	public Object readValue() throws IOException {
+		int id = (int) readUnsigned();
+		if (id == CodecRegistry.NULL) {
+			return null;
+		}
+		if (id == CodecRegistry.JAVA) {
+			try {
+				return in.readObject();
+			} catch (ClassNotFoundException e) {
+				throw new IOException(e);
+			}
+		}
+		Codec<?> codec = CodecRegistry.get(id);
+		if (codec == null) {
+			throw new StreamCorruptedException("Unknown codec " + id);
+		}
+		return codec.read(this);
+	}
+
+	/**
+	 * Read a list of values of any type.
+	 * 
+	 * @return List, or null.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> ArrayList<T> readList() throws IOException {
+		int size = readLength();
+		if (size < 0) {
+			return null;
+		}
+		ArrayList<T> values = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			values.add((T) readValue());
+		}
+		return values;
+	}
+}
@@ -0,0 +1,288 @@
+package codec;
+
+import java.io.IOException;
+import java.io.ObjectOutput;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wire Output writes the compact wire format of one message: variable-length
+ * integers, primitive arrays, and strings and matrices written once per
+ * message, each new string sharing its prefix with the one before.
+ */
+public class WireOutput {
+	/**
+	 * Underlying output.
+	 */
+	private final ObjectOutput out;
+
+	/**
+	 * Strings written in this message, by reference number.
+	 */
+	private final Map<String, Integer> strings;
+
+	/**
+	 * Last new string written.
+	 */
+	private String lastString;
+
+	/**
+	 * Matrices written in this message, by reference number.
+	 */
+	private final List<double[][]> matrices;
+
+	/**
+	 * Constructor of Wire Output.
+	 * 
+	 * @param out
+	 *            Underlying output.
+	 */
+	public WireOutput(ObjectOutput out) {
+		this.out = out;
+		this.strings = new HashMap<>();
+		this.lastString = "";
+		this.matrices = new ArrayList<>();
+	}
+
+	/**
+	 * Write an int, small absolute values in fewer bytes.
+	 * 
+	 * @param value
+	 *            Value.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	public void writeInt(int value) throws IOException {
+		writeLong(value);
+	}
+
+	/**
+	 * Write a long, small absolute values in fewer bytes.
+	 * 
+	 * @param value
+	 *            Value.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	public void writeLong(long value) throws IOException {
+		writeUnsigned((value << 1) ^ (value >> 63));
+	}
+
+	/**
+	 * Write 7 bits at a time, the high bit telling if more follow.
+	 */
+	private void writeUnsigned(long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	/**
+	 * Write a boolean.
+	 * 
+	 * @param value
+	 *            Value.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	public void writeBoolean(boolean value) throws IOException {
+		out.writeBoolean(value);
+	}
+
+	/**
+	 * Write a double.
+	 * 
+	 * @param value
+	 *            Value.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	public void writeDouble(double value) throws IOException {
+		out.writeDouble(value);
+	}
+
+	/**
+	 * Write a string, or a reference to it if it is already in the message.
+	 * 
+	 * @param value
+	 *            String, or null.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	public void writeString(String value) throws IOException {
+		if (value == null) {
+			writeUnsigned(0);
+			return;
+		}
+		Integer reference = strings.get(value);
+		if (reference != null) {
+			writeUnsigned(reference + 2);
+			return;
+		}
+		strings.put(value, strings.size());
+		writeUnsigned(1);
+		int prefix = 0;
+		int max = Math.min(value.length(), lastString.length());
+		while (prefix < max
+				&& value.charAt(prefix) == lastString.charAt(prefix)) {
+			prefix++;
+		}
+		if (prefix > 0 && Character.isHighSurrogate(value.charAt(prefix - 1))) {
+			prefix--;
+		}
+		byte[] suffix = value.substring(prefix).getBytes(
+				StandardCharsets.UTF_8);
+		writeUnsigned(prefix);
+		writeUnsigned(suffix.length);
+		out.write(suffix);
+		lastString = value;
+	}
+
+	/**
+	 * Write an array of bytes.
+	 * 
+	 * @param values
+	 *            Array, or null.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	public void writeByteArray(byte[] values) throws IOException {
+		if (values == null) {
+			writeUnsigned(0);
+			return;
+		}
+		writeUnsigned(values.length + 1);
+		out.write(values);
+	}
+
+	/**
+	 * Write an array of longs.
+	 * 
+	 * @param values
+	 *            Array, or null.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	public void writeLongArray(long[] values) throws IOException {
+		if (values == null) {
+			writeUnsigned(0);
+			return;
+		}
+		writeUnsigned(values.length + 1);
+		for (long value : values) {
+			writeLong(value);
+		}
+	}
+
+	/**
+	 * Write an array of doubles.
+	 * 
+	 * @param values
+	 *            Array, or null.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	public void writeDoubleArray(double[] values) throws IOException {
+		if (values == null) {
+			writeUnsigned(0);
+			return;
+		}
+		writeUnsigned(values.length + 1);
+		for (double value : values) {
+			out.writeDouble(value);
+		}
+	}
+
+	/**
+	 * Write a matrix of doubles, or a reference to an equal one already in the
+	 * message. The subtasks of a Task Result often carry copies of the same
+	 * matrix.
+	 * 
+	 * @param values
+	 *            Matrix, or null.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	public void writeDoubleMatrix(double[][] values) throws IOException {
+		if (values == null) {
+			writeUnsigned(0);
+			return;
+		}
+		for (int i = 0; i < matrices.size(); i++) {
+			if (Arrays.deepEquals(matrices.get(i), values)) {
+				writeUnsigned(i + 2);
+				return;
+			}
+		}
+		matrices.add(values);
+		writeUnsigned(1);
+		writeUnsigned(values.length);
+		for (double[] row : values) {
+			writeDoubleArray(row);
+		}
+	}
+
+	/**
+	 * Write a list of ints.
+	 * 
+	 * @param values
+	 *            List without null.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	public void writeIntList(List<Integer> values) throws IOException {
+		writeUnsigned(values.size());
+		for (int value : values) {
+			writeInt(value);
+		}
+	}
+
+	/**
+	 * Write a value of any type with its codec, or with the default
+	 * serialization if its type has none.
+	 * 
+	 * @param value
+	 *            Value, or null.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	public void writeValue(Object value) throws IOException {
+		if (value == null) {
+			writeUnsigned(CodecRegistry.NULL);
+			return;
+		}
+		Codec<Object> codec = CodecRegistry.get(value.getClass());
+		if (codec == null) {
+			writeUnsigned(CodecRegistry.JAVA);
+			out.writeObject(value);
+			return;
+		}
+		writeUnsigned(codec.getID());
+		codec.write(value, this);
+	}
+
+	/**
+	 * Write a list of values of any type.
+	 * 
+	 * @param values
+	 *            List, or null.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	public void writeList(List<?> values) throws IOException {
+		if (values == null) {
+			writeUnsigned(0);
+			return;
+		}
+		writeUnsigned(values.size() + 1);
+		for (Object value : values) {
+			writeValue(value);
+		}
+	}
+}
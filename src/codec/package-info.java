@@ -0,0 +1,5 @@
+/**
+ * Compact binary codecs of Tasks, Results and their values, replacing the
+ * default serialization on every RMI channel.
+ */
+package codec;
@@ -1,6 +1,5 @@
 package computer;
 
-import java.rmi.Naming;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.List;
@@ -16,8 +15,17 @@ import api.Computer;
 import api.Result;
 import api.Space;
 import api.Task;
+import result.ErrorResult;
 import result.TaskResult;
+import rmi.SocketOptions;
+import rmi.StubCache;
+import task.CancelledJobs;
+import trace.JobTracer;
+import trace.Tracer;
 import config.Config;
+import events.TaskExecuteEvent;
+import metrics.NodeMetrics;
+import transport.ComputerTransport;
 
 /**
  * Implementation of Computer, generating Task Proxies to execute the tasks in
@@ -33,6 +41,11 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 	 */
 	private int ID;
 
+	/**
+	 * Name of the Computer in the events, Computer and its ID.
+	 */
+	private volatile String nodeName = "Computer";
+
 	/**
 	 * Task ID.
 	 */
@@ -48,6 +61,11 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 	 */
 	private final BlockingQueue<Result> resultQueue;
 
+	/**
+	 * Cancelled Jobs. Tasks of these jobs are skipped.
+	 */
+	private final CancelledJobs cancelledJobs;
+
 	/**
 	 * Number of Workers
 	 */
@@ -59,30 +77,55 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 	private final Worker[] workers;
 
 	/**
-	 * Space
+	 * Metrics of the Computer.
 	 */
-	private static Space space;
+	private final NodeMetrics metrics;
 
 	/**
-	 * Constructor of Computer Implementation. Generate and stat Task Proxies.
+	 * Constructor of Computer Implementation. Generate and stat Task Proxies,
+	 * one for each available processor if Computer uses multithread.
 	 * 
 	 * @throws RemoteException
 	 *             Failed to connect to computer.
 	 */
 	public ComputerImpl() throws RemoteException {
+		// Get available processors in JVM
+		this(Config.ComputerMultithreadFlag ? Runtime.getRuntime()
+				.availableProcessors() : 1);
+	}
+
+	/**
+	 * Constructor of Computer Implementation. Generate and stat Task Proxies.
+	 * 
+	 * @param workerNum
+	 *            Number of Workers.
+	 * @throws RemoteException
+	 *             Failed to connect to computer.
+	 */
+	public ComputerImpl(int workerNum) throws RemoteException {
+		super(0, SocketOptions.clientFactory(), SocketOptions.serverFactory());
 		resultQueue = new LinkedBlockingQueue<>();
 		readyTaskQueue = new LinkedBlockingQueue<>();
-		if (Config.ComputerMultithreadFlag) {
-			// Get available processors in JVM
-			workerNum = Runtime.getRuntime().availableProcessors();
-		} else {
-			workerNum = 1;
-		}
+		cancelledJobs = new CancelledJobs();
+		this.workerNum = workerNum;
 		workers = new Worker[workerNum];
 		for (int i = 0; i < workerNum; i++) {
 			workers[i] = new Worker();
 			workers[i].start();
 		}
+		new Supervisor().start();
+		metrics = new NodeMetrics("Computer");
+		metrics.addGauge("ReadyTaskQueueSize", readyTaskQueue::size);
+		metrics.addGauge("ResultQueueSize", resultQueue::size);
+		metrics.addGauge("WorkerNum", () -> {
+			int alive = 0;
+			for (Worker worker : workers) {
+				if (worker.isAlive()) {
+					alive++;
+				}
+			}
+			return alive;
+		});
 		Logger.getLogger(ComputerImpl.class.getName()).log(Level.INFO,
 				"Computer: started with " + workerNum + " workers.");
 	}
@@ -92,9 +135,18 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 		final String domainName = args.length == 0 ? "localhost" : args[0];
 		final String url = "rmi://" + domainName + ":" + Space.PORT + "/"
 				+ Space.SERVICE_NAME;
-		space = (Space) Naming.lookup(url);
-		ComputerImpl computer = new ComputerImpl();
-		space.register(computer);
+		Integer workerNum = Integer.getInteger("computer.workers");
+		ComputerImpl computer = workerNum == null ? new ComputerImpl()
+				: new ComputerImpl(workerNum);
+		if (Space.TRANSPORT.equals("nio")) {
+			new ComputerTransport(computer, domainName, Space.TRANSPORT_PORT)
+					.start();
+		} else {
+			StubCache.call(url, (Space space) -> {
+				space.register(computer);
+				return null;
+			});
+		}
 		// Main thread waiting for Key Enter to terminate.
 		try {
 			System.in.read();
@@ -117,6 +169,8 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 	@Override
 	public void setID(int computerID) throws RemoteException {
 		this.ID = computerID;
+		this.nodeName = "Computer" + computerID;
+		metrics.register(computerID);
 	}
 
 	/**
@@ -156,6 +210,7 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 	 */
 	@Override
 	public void addTask(Task<?> task) throws RemoteException {
+		task.enqueued(Task.COMPUTER_HOP);
 		try {
 			readyTaskQueue.put(task);
 		} catch (InterruptedException e) {
@@ -177,6 +232,56 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 		return result;
 	}
 
+	/**
+	 * Wait for a Result from Result Queue. Call from Computer Transport.
+	 * 
+	 * @return The execution Result.
+	 * @throws InterruptedException
+	 *             Interrupted while waiting.
+	 */
+	public Result takeResult() throws InterruptedException {
+		return resultQueue.take();
+	}
+
+	/**
+	 * Cancel a job. Tasks of the job in Ready Task Queue are skipped and
+	 * Results of the job in Result Queue are discarded. Call from Computer
+	 * Proxy in Space.
+	 * 
+	 * @param jobID
+	 *            Job ID to be cancelled.
+	 * @throws RemoteException
+	 *             Failed to connect to Computer.
+	 */
+	@Override
+	public void cancel(String jobID) throws RemoteException {
+		cancelledJobs.add(jobID);
+		for (Task<?> task : readyTaskQueue) {
+			if (jobID.equals(task.getJobID())) {
+				readyTaskQueue.remove(task);
+			}
+		}
+		for (Result result : resultQueue) {
+			if (jobID.equals(result.getJobID())) {
+				resultQueue.remove(result);
+			}
+		}
+		if (Config.DEBUG) {
+			System.out.println("Computer: Job " + jobID + " is cancelled!");
+		}
+	}
+
+	/**
+	 * Check if the job of the Task is cancelled.
+	 * 
+	 * @param task
+	 *            Task
+	 * @return True if the job is cancelled. False otherwise.
+	 */
+	private boolean isCancelled(Task<?> task) {
+		return cancelledJobs.contains(task.getJobID());
+	}
+
 	/**
 	 * Get a Task from the Ready Task Queue.
 	 * 
@@ -184,13 +289,28 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 	 */
 	private Task<?> getReadyTask() {
 		try {
-			return readyTaskQueue.take();
+			Task<?> task = readyTaskQueue.take();
+			recordWait(task);
+			return task;
 		} catch (InterruptedException e) {
 			e.printStackTrace();
 		}
 		return null;
 	}
 
+	/**
+	 * Record the wait time of a Task taken from the Ready Task Queue.
+	 * 
+	 * @param task
+	 *            Task taken from the Ready Task Queue.
+	 */
+	private void recordWait(Task<?> task) {
+		long wait = task.dequeued(Task.COMPUTER_HOP);
+		if (wait >= 0) {
+			metrics.histogram("QueueWait").record(wait);
+		}
+	}
+
 	/**
 	 * Add a Result to Result Queue.
 	 * 
@@ -215,11 +335,10 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 		List<Task<T>> runningtasks = result.getRunningTasks();
 		for (int i = 0; i < runningtasks.size(); i++) {
 			try {
+				runningtasks.get(i).enqueued(Task.COMPUTER_HOP);
 				readyTaskQueue.put(runningtasks.get(i));
-				if (Config.DEBUG) {
-					System.out
-							.println("	Cache: " + runningtasks.get(i).getID());
-				}
+				Tracer.record(Tracer.WORKER_CACHE, runningtasks.get(i).getID(),
+						runningtasks.get(i).getLayer());
 			} catch (InterruptedException e) {
 				e.printStackTrace();
 			}
@@ -255,11 +374,26 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 	 * @return List of Task ID
 	 */
 	private String[] makeTaskIDList(String oldID, int num) {
+		return makeTaskIDList(oldID, num, this.ID);
+	}
+
+	/**
+	 * Generate a list of Task ID for the Computer with the ID.
+	 * 
+	 * @param oldID
+	 *            Old ID
+	 * @param num
+	 *            Number of new Tasks
+	 * @param computerID
+	 *            Computer ID
+	 * @return List of Task ID
+	 */
+	static String[] makeTaskIDList(String oldID, int num, int computerID) {
 		String[] IDs = new String[num];
 		String taskids[] = oldID.split(":");
-		taskids[7] = Integer.toString(this.ID);
+		taskids[7] = Integer.toString(computerID);
 		for (int i = 0; i < num; i++) {
-			taskids[9] = "W" + makeTaskID();
+			taskids[9] = "W" + TaskID.incrementAndGet();
 			String taskid = Stream.of(taskids).collect(Collectors.joining(":"));
 			IDs[i] = taskid;
 		}
@@ -284,15 +418,42 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 				 */
 
 				Task<?> task = getReadyTask();
+				if (isCancelled(task)) {
+					continue;
+				}
 				if (!task.getID().contains(":W")) {
 					task.setID(task.getID() + ":W" + makeTaskID());
 				}
-				if (Config.DEBUG) {
-					System.out.println("Worker: Task " + task.getID() + "-"
-							+ task.getLayer() + "-" + task.isCoarse()
-							+ " is running!");
+				Tracer.record(Tracer.WORKER_TAKE, task.getID(), task.getLayer());
+				Result result;
+				long taskStartTime = System.nanoTime();
+				TaskExecuteEvent event = new TaskExecuteEvent();
+				event.begin();
+				try {
+					result = execute(task);
+				} catch (Throwable e) {
+					// Report the failure to Space and keep on working.
+					Logger.getLogger(ComputerImpl.class.getName()).log(
+							Level.WARNING, "Worker: Task {0} failed: {1}",
+							new Object[] { task.getID(), e });
+					addResult(new ErrorResult(task.getID(), task, e
+							.toString(), taskStartTime, System.nanoTime()));
+					metrics.counter("Failures").increment();
+					// The JVM may be broken. Let the Supervisor replace the
+					// Worker. The stack has unwound from a Stack Overflow.
+					if (e instanceof VirtualMachineError
+							&& !(e instanceof StackOverflowError)) {
+						throw (VirtualMachineError) e;
+					}
+					continue;
 				}
-				Result result = execute(task);
+				event.commit(nodeName, task);
+				result.setHopWaits(task.getHopWaits());
+				JobTracer.record(task, result, JobTracer.COMPUTER_TIER,
+						nodeName);
+				metrics.counter("Tasks").increment();
+				metrics.histogram("ExecutionTime", task.getClass(),
+						task.getLayer()).record(result.getTaskRuntime());
 				if (!result.isCoarse()) {
 					if (Config.AmeliorationFlag
 							&& result.getType() == Result.TASKRESULT) {
@@ -301,27 +462,11 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 					}
 				}
 				addResult(result);
-				if (Config.DEBUG) {
-					System.out.println("Worker: Result " + result.getID() + "-"
-							+ result.isCoarse()
-							+ " is added to Computer ResultQueue!");
-				}
+				Tracer.record(Tracer.WORKER_RESULT, result.getID(),
+						task.getLayer());
 				if (!result.isCoarse()) {
 					if (Config.AmeliorationFlag
 							&& result.getType() == Result.TASKRESULT) {
-						if (Config.DEBUG) {
-							List<?> runningTasks = ((TaskResult<?>) result)
-									.getRunningTasks();
-							System.out.println("	Running task setted "
-									+ ((Task<?>) runningTasks.get(0)).getID()
-									+ "-"
-									+ ((Task<?>) runningTasks.get(0))
-											.getLayer()
-									+ "-"
-									+ ((Task<?>) runningTasks.get(0))
-											.isCoarse() + "-"
-									+ ((Task<?>) runningTasks.get(0)).getArg());
-						}
 						cacheTasks((TaskResult<?>) result);
 					}
 				}
@@ -333,6 +478,34 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 		}
 	}
 
+	/**
+	 * 
+	 * A Supervisor is a thread to check Workers periodically and replace those
+	 * that died, so that the Computer keeps the capacity it advertises.
+	 *
+	 */
+	private class Supervisor extends Thread {
+		@Override
+		public void run() {
+			while (true) {
+				try {
+					Thread.sleep(Config.WorkerSuperviseInterval);
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < workerNum; i++) {
+					if (!workers[i].isAlive()) {
+						workers[i] = new Worker();
+						workers[i].start();
+						Logger.getLogger(ComputerImpl.class.getName()).log(
+								Level.WARNING, "Computer: Worker {0} restarted.",
+								i);
+					}
+				}
+			}
+		}
+	}
+
 	/*
 	 * Execute the task and generate the result. Assign every subtask with an
 	 * task ID.
@@ -362,22 +535,18 @@ public class ComputerImpl extends UnicastRemoteObject implements Computer {
 			// Assign Successor Task with an Task ID
 			Task<?> successor = subtasks.get(0);
 			successor.setID(taskIDs[0]);
-			if (Config.DEBUG) {
-				System.out.println("	Successor: " + successor.getID() + "-"
-						+ successor.getLayer() + "-" + successor.isCoarse());
-			}
+			Tracer.record(Tracer.COMPUTER_SUCCESSOR, successor.getID(),
+					successor.getLayer());
 
 			// Assign other Ready Task with Task IDs
 			for (int i = 1; i < subtasks.size(); i++) {
 				Task<?> subtask = subtasks.get(i);
 				subtask.setID(taskIDs[i]);
 				subtask.setTargetID(taskIDs[0]);
-				if (Config.DEBUG) {
-					System.out.println("	Subtask: " + subtask.getID() + "-"
-							+ subtask.getLayer() + "-" + subtask.isCoarse()
-							+ "-" + subtask.getArg().get(0));
-				}
+				Tracer.record(Tracer.COMPUTER_SUBTASK, subtask.getID(),
+						subtask.getLayer());
 			}
+			JobTracer.link(task, subtasks);
 			return result;
 		}
 	}
@@ -29,7 +29,62 @@ public abstract class Config {
 	/**
 	 * Flag of debug Output
 	 */
-	public static final boolean DEBUG = true;
+	public static final boolean DEBUG = false;
+
+	/**
+	 * Flag of tracing task events into per-thread ring buffers.
+	 */
+	public static final boolean TRACE = false;
+
+	/**
+	 * Flag of timing the wait of tasks in the Ready Task Queue of every hop.
+	 * A Space records the waits of all the tasks executed in it or its
+	 * Computers, the Universe of those whose Results come up from the Spaces.
+	 */
+	public static final boolean HOPTIMING = false;
+
+	/**
+	 * Number of events kept in the ring buffer of each thread.
+	 */
+	public static final int TraceBufferSize = 1 << 16;
+
+	/**
+	 * Number of characters of the Task ID kept with each traced event, at
+	 * most 255.
+	 */
+	public static final int TraceIDSize = 64;
+
+	/**
+	 * Prefix of the trace file written when the JVM exits.
+	 */
+	public static final String TraceFile = "trace";
+
+	/**
+	 * Flag of recording every executed task with its parent, successor and
+	 * timing for critical-path analysis.
+	 */
+	public static final boolean JOBTRACE = false;
+
+	/**
+	 * Max number of tasks recorded by the job trace of each node.
+	 */
+	public static final int JobTraceSize = 1 << 20;
+
+	/**
+	 * Prefix of the job trace file written when the JVM exits.
+	 */
+	public static final String JobTraceFile = "jobtrace";
+
+	/**
+	 * Flag of serializing Tasks and Results with the compact codecs of their
+	 * types instead of the default serialization.
+	 */
+	public static final boolean COMPACTWIRE = true;
+
+	/**
+	 * Window of the rates of the metrics counters in milliseconds.
+	 */
+	public static final int MetricsRateWindow = 10000;
 
 	/**
 	 * Max Time of a Client
@@ -41,6 +96,39 @@ public abstract class Config {
 	 */
 	public static final int ClientTimeDefault = 65;
 
+	/**
+	 * Max number of Results taken by an Async Client in one call.
+	 */
+	public static final int ClientResultBatch = 256;
+
+	/**
+	 * Max number of tasks submitted by an Async Client in one call.
+	 */
+	public static final int ClientSubmitBatch = 256;
+
+	/**
+	 * Time an Async Client waits in the Server for a Result in milliseconds.
+	 */
+	public static final int ClientPollTimeout = 1000;
+
+	/**
+	 * Number of times an Async Client retries a failed poll for Results in a
+	 * row before it gives up the Server.
+	 */
+	public static final int ClientPollRetries = 3;
+
+	/**
+	 * Time an Async Client waits before retrying a failed poll in
+	 * milliseconds, doubled on every retry in a row.
+	 */
+	public static final int ClientRetryDelay = 500;
+
+	/**
+	 * Max number of Tasks or Results sent in one call between a Server and
+	 * the Universe.
+	 */
+	public static final int ServerBatchSize = 256;
+
 	/**
 	 * Number of Takes to be cached. Start from 0.
 	 */
@@ -51,4 +139,114 @@ public abstract class Config {
 	 */
 	public static final int ComputerWorkload = 4;
 
+	/**
+	 * Interval of sweeping Successor Tasks in milliseconds. One epoch.
+	 */
+	public static final int SuccessorSweepInterval = 10000;
+
+	/**
+	 * Number of idle epochs after which the Successor Tasks of a job without
+	 * any running task are reclaimed.
+	 */
+	public static final int SuccessorIdleEpochs = 6;
+
+	/**
+	 * Time a Space waits for a task in an empty Ready Task Queue before
+	 * looking again in milliseconds, so that the Successor Sweeper can look
+	 * at the queue in between.
+	 */
+	public static final int ReadyTaskPollTimeout = 100;
+
+	/**
+	 * Time a cancelled job is remembered in milliseconds, so that its tasks
+	 * and results still in flight are discarded.
+	 */
+	public static final int CancelledJobExpiry = 600000;
+
+	/**
+	 * Interval of checking the deadlines of the jobs in milliseconds.
+	 */
+	public static final int DeadlineCheckInterval = 50;
+
+	/**
+	 * Time before the deadline of a job in milliseconds from which the Spaces
+	 * complete its successor tasks taking the best of their arguments with
+	 * the arguments they have. The Universe does from half of it, and fails
+	 * the job with an Error Result if it has no value at the deadline. The
+	 * clocks of all the hosts must be in sync well within this margin.
+	 */
+	public static final int DeadlineMargin = 500;
+
+	/**
+	 * Number of failed executions after which a task is quarantined instead
+	 * of being dispatched again.
+	 */
+	public static final int TaskFailureLimit = 3;
+
+	/**
+	 * Interval of Computer Supervisor checking Workers in milliseconds.
+	 */
+	public static final int WorkerSuperviseInterval = 1000;
+
+	/**
+	 * Number of I/O threads of the Space serving the Computers connected
+	 * through the transport.
+	 */
+	public static final int TransportIOThreads = 2;
+
+	/**
+	 * Time limit of a call to a Computer through the transport in
+	 * milliseconds.
+	 */
+	public static final int TransportCallTimeout = 30000;
+
+	/**
+	 * Connect the Computers on the host of their Space through a Unix domain
+	 * socket instead of TCP.
+	 */
+	public static final boolean TransportUnixSocket = true;
+
+	/**
+	 * Switch the Computers connected through a Unix domain socket to
+	 * shared-memory rings.
+	 */
+	public static final boolean TransportSharedMemory = true;
+
+	/**
+	 * Capacity of a shared-memory ring in bytes, a power of 2.
+	 */
+	public static final int TransportRingSize = 1 << 22;
+
+	/**
+	 * Time a thread waiting on an idle shared-memory ring parks for in
+	 * microseconds.
+	 */
+	public static final int TransportRingPark = 50;
+
+	/**
+	 * Disable Nagle's algorithm on the RMI sockets.
+	 */
+	public static final boolean RMITcpNoDelay = true;
+
+	/**
+	 * Send TCP keep-alive probes on the RMI sockets.
+	 */
+	public static final boolean RMIKeepAlive = true;
+
+	/**
+	 * Send buffer size of the RMI sockets in bytes, 0 for the system default.
+	 */
+	public static final int RMISendBuffer = 0;
+
+	/**
+	 * Receive buffer size of the RMI sockets in bytes, 0 for the system
+	 * default.
+	 */
+	public static final int RMIReceiveBuffer = 0;
+
+	/**
+	 * Smallest RMI message compressed in bytes, -1 for no compression.
+	 */
+	public static final int RMICompressThreshold = -1;
+
 }
@@ -0,0 +1,30 @@
+package events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Proxy takes a task or a result from its Server, Space or Computer over RMI, including the wait for one.
+ */
+@Name("spacenetwork.RemoteReceive")
+@Label("Remote Receive")
+@Description("Proxy takes a task or a result from its Server, Space or Computer over RMI, including the wait for one.")
+public class RemoteReceiveEvent extends TaskEvent {
+
+	@Label("Peer")
+	@Description("Node at the other end of the call")
+	String peer;
+
+	/**
+	 * Set the node at the other end of the call.
+	 *
+	 * @param peer
+	 *            Peer node name.
+	 * @return This event.
+	 */
+	public RemoteReceiveEvent peer(String peer) {
+		this.peer = peer;
+		return this;
+	}
+}
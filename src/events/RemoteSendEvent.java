@@ -0,0 +1,30 @@
+package events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Node sends results up to the node above it over RMI.
+ */
+@Name("spacenetwork.RemoteSend")
+@Label("Remote Send")
+@Description("Node sends results up to the node above it over RMI.")
+public class RemoteSendEvent extends TaskEvent {
+
+	@Label("Peer")
+	@Description("Node at the other end of the call")
+	String peer;
+
+	/**
+	 * Set the node at the other end of the call.
+	 *
+	 * @param peer
+	 *            Peer node name.
+	 * @return This event.
+	 */
+	public RemoteSendEvent peer(String peer) {
+		this.peer = peer;
+		return this;
+	}
+}
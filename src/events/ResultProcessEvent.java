@@ -0,0 +1,14 @@
+package events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Space, Universe or Server processes a result.
+ */
+@Name("spacenetwork.ResultProcess")
+@Label("Result Process")
+@Description("Space, Universe or Server processes a result.")
+public class ResultProcessEvent extends TaskEvent {
+}
@@ -0,0 +1,14 @@
+package events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Value Result fills an argument of its successor task.
+ */
+@Name("spacenetwork.SuccessorFill")
+@Label("Successor Fill")
+@Description("Value Result fills an argument of its successor task.")
+public class SuccessorFillEvent extends TaskEvent {
+}
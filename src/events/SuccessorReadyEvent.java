@@ -0,0 +1,14 @@
+package events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Successor task gets all its arguments and moves to the Ready Task Queue.
+ */
+@Name("spacenetwork.SuccessorReady")
+@Label("Successor Ready")
+@Description("Successor task gets all its arguments and moves to the Ready Task Queue.")
+public class SuccessorReadyEvent extends TaskEvent {
+}
@@ -0,0 +1,30 @@
+package events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Proxy sends a task to its Space or Computer over RMI.
+ */
+@Name("spacenetwork.TaskDispatch")
+@Label("Task Dispatch")
+@Description("Proxy sends a task to its Space or Computer over RMI.")
+public class TaskDispatchEvent extends TaskEvent {
+
+	@Label("Peer")
+	@Description("Node at the other end of the call")
+	String peer;
+
+	/**
+	 * Set the node at the other end of the call.
+	 *
+	 * @param peer
+	 *            Peer node name.
+	 * @return This event.
+	 */
+	public TaskDispatchEvent peer(String peer) {
+		this.peer = peer;
+		return this;
+	}
+}
@@ -0,0 +1,80 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+import api.Result;
+import api.Task;
+
+/**
+ * Task Event is the base of the Flight Recorder events of the task
+ * lifecycle. It carries the node, the job, the task and its type and layer.
+ * <p>
+ * Fields are filled only if the event is going to be committed, so a
+ * disabled event costs a flag check.
+ * </p>
+ */
+@Category("Space Network")
+public abstract class TaskEvent extends Event {
+	@Label("Node")
+	@Description("Universe, Server, Space or Computer with its ID")
+	String node;
+
+	@Label("Job ID")
+	String jobID;
+
+	@Label("Task ID")
+	String taskID;
+
+	@Label("Task Type")
+	String taskType;
+
+	@Label("Layer")
+	int layer;
+
+	/**
+	 * Commit the event of a task.
+	 *
+	 * @param node
+	 *            Node name.
+	 * @param task
+	 *            Task.
+	 */
+	public void commit(String node, Task<?> task) {
+		if (!shouldCommit()) {
+			return;
+		}
+		this.node = node;
+		this.jobID = task.getJobID();
+		this.taskID = task.getID();
+		this.taskType = task.getClass().getSimpleName();
+		this.layer = task.getLayer();
+		commit();
+	}
+
+	/**
+	 * Commit the event of a result. Task type and layer are taken from the
+	 * associated task if it is known.
+	 *
+	 * @param node
+	 *            Node name.
+	 * @param result
+	 *            Result.
+	 * @param task
+	 *            Associated task. Null if unknown.
+	 */
+	public void commit(String node, Result result, Task<?> task) {
+		if (!shouldCommit()) {
+			return;
+		}
+		this.node = node;
+		this.jobID = result.getJobID();
+		this.taskID = result.getID();
+		this.taskType = task == null ? result.getClass().getSimpleName()
+				: task.getClass().getSimpleName();
+		this.layer = task == null ? -1 : task.getLayer();
+		commit();
+	}
+}
@@ -0,0 +1,14 @@
+package events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Worker in Computer or Space Direct Execution executes a task.
+ */
+@Name("spacenetwork.TaskExecute")
+@Label("Task Execute")
+@Description("Worker in Computer or Space Direct Execution executes a task.")
+public class TaskExecuteEvent extends TaskEvent {
+}
@@ -0,0 +1,14 @@
+package events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Server puts a task submitted by a Client into its Ready Task Queue.
+ */
+@Name("spacenetwork.TaskSubmit")
+@Label("Task Submit")
+@Description("Server puts a task submitted by a Client into its Ready Task Queue.")
+public class TaskSubmitEvent extends TaskEvent {
+}
@@ -0,0 +1,9 @@
+/**
+ * JDK Flight Recorder events of the task lifecycle, to correlate GC,
+ * safepoints and lock contention with task activity of every job.
+ * <p>
+ * Start a node with -XX:StartFlightRecording=filename=node.jfr and filter the
+ * recording by the spacenetwork.* events and their Job ID.
+ * </p>
+ */
+package events;
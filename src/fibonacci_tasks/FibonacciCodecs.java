@@ -0,0 +1,59 @@
+package fibonacci_tasks;
+
+import java.io.IOException;
+import java.util.List;
+
+import codec.CodecProvider;
+import codec.CodecRegistry;
+import codec.TaskCodec;
+import codec.WireInput;
+import codec.WireOutput;
+
+/**
+ * Codecs of the Fibonacci tasks.
+ */
+public final class FibonacciCodecs implements CodecProvider {
+
+	/**
+	 * Constructor of Fibonacci Codecs. Call from ServiceLoader.
+	 */
+	public FibonacciCodecs() {
+	}
+
+	@Override
+	public void register() {
+		CodecRegistry.register(new TaskCodec<FibonacciReadyTask>(20,
+				FibonacciReadyTask.class) {
+			@Override
+			protected void writeFields(FibonacciReadyTask task, WireOutput out)
+					throws IOException {
+				out.writeIntList(task.getArg());
+				out.writeInt(task.getTargetSuccessorTaskArgIndex());
+			}
+
+			@Override
+			protected FibonacciReadyTask readFields(WireInput in)
+					throws IOException {
+				return new FibonacciReadyTask(in.readIntList(), in.readInt());
+			}
+		});
+		CodecRegistry.register(new TaskCodec<FibonacciSuccessorTask>(21,
+				FibonacciSuccessorTask.class) {
+			@Override
+			protected void writeFields(FibonacciSuccessorTask task,
+					WireOutput out) throws IOException {
+				out.writeList(task.getArg());
+				out.writeInt(task.getMissingArgNum());
+				out.writeInt(task.getTargetSuccessorTaskArgIndex());
+			}
+
+			@Override
+			protected FibonacciSuccessorTask readFields(WireInput in)
+					throws IOException {
+				List<Integer> arg = in.readList();
+				return new FibonacciSuccessorTask(arg, in.readInt(), null,
+						in.readInt());
+			}
+		});
+	}
+}
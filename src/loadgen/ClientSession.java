@@ -0,0 +1,262 @@
+package loadgen;
+
+import java.rmi.RemoteException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import api.Result;
+import api.Server;
+import cluster.Workloads;
+import config.Config;
+import metrics.LatencyHistogram;
+
+/**
+ * Client Session is one Client of the load generator. Its sender submits jobs
+ * at their intended times whatever the Server does, and its receiver takes
+ * the Results. The latency of a job runs from its intended submit time, not
+ * from the time the submit call went out, so a stalled Server is charged for
+ * the jobs it delayed.
+ */
+class ClientSession {
+	/**
+	 * Client Name.
+	 */
+	private final String name;
+
+	/**
+	 * Server.
+	 */
+	private final Server server;
+
+	/**
+	 * Intended submit time and submit call time in ns of the outstanding
+	 * jobs, by Job ID.
+	 */
+	private final Map<String, long[]> outstanding;
+
+	/**
+	 * Arrival time in ns of the Results of the jobs not outstanding, by Job
+	 * ID. A Result may arrive before the submit call of its job returns.
+	 */
+	private final Map<String, Long> early;
+
+	/**
+	 * Latency from the intended submit time to the Result.
+	 */
+	private volatile LatencyHistogram latency;
+
+	/**
+	 * Latency from the submit call to the Result.
+	 */
+	private volatile LatencyHistogram serviceTime;
+
+	/**
+	 * Number of the jobs submitted.
+	 */
+	final AtomicLong submitted;
+
+	/**
+	 * Number of the Results received.
+	 */
+	final AtomicLong completed;
+
+	/**
+	 * Number of the failed submit calls.
+	 */
+	final AtomicLong failures;
+
+	/**
+	 * Constructor of Client Session. Register the Client in the Server and
+	 * start taking Results.
+	 * 
+	 * @param name
+	 *            Client Name.
+	 * @param server
+	 *            Server.
+	 * @throws RemoteException
+	 *             Cannot connect with Server.
+	 */
+	ClientSession(String name, Server server) throws RemoteException {
+		this.name = name;
+		this.server = server;
+		this.outstanding = new HashMap<>();
+		this.early = new HashMap<>();
+		this.submitted = new AtomicLong();
+		this.completed = new AtomicLong();
+		this.failures = new AtomicLong();
+		if (!server.register(name, null)) {
+			throw new RemoteException("Cannot register Client " + name);
+		}
+		Receiver receiver = new Receiver();
+		receiver.setDaemon(true);
+		receiver.start();
+	}
+
+	/**
+	 * Set the histograms of the next step.
+	 * 
+	 * @param latency
+	 *            Latency from the intended submit time.
+	 * @param serviceTime
+	 *            Latency from the submit call.
+	 */
+	void reset(LatencyHistogram latency, LatencyHistogram serviceTime) {
+		this.latency = latency;
+		this.serviceTime = serviceTime;
+	}
+
+	/**
+	 * Submit jobs at the rate until the end time. The intended times are
+	 * fixed in advance; a late submit does not push back the next ones.
+	 * 
+	 * @param job
+	 *            Job, as made by Workloads.
+	 * @param rate
+	 *            Jobs per second of this Client.
+	 * @param poisson
+	 *            True for exponential gaps between jobs, false for fixed
+	 *            ones.
+	 * @param end
+	 *            End time in ns.
+	 * @param random
+	 *            Random numbers of this Client.
+	 */
+	void send(String job, double rate, boolean poisson, long end,
+			Random random) {
+		double gap = 1e9 / rate;
+		long intended = System.nanoTime()
+				+ (long) (gap * random.nextDouble());
+		while (intended < end) {
+			long wait = intended - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			long submitTime = System.nanoTime();
+			String jobID;
+			try {
+				jobID = server.submit(Workloads.makeTask(job), name);
+			} catch (RemoteException e) {
+				jobID = null;
+			}
+			if (jobID == null) {
+				failures.incrementAndGet();
+			} else {
+				submitted.incrementAndGet();
+				long[] times = new long[] { intended, submitTime };
+				Long arrival;
+				synchronized (outstanding) {
+					arrival = early.remove(jobID);
+					if (arrival == null) {
+						outstanding.put(jobID, times);
+					}
+				}
+				if (arrival != null) {
+					complete(times, arrival);
+				}
+			}
+			intended += (long) (poisson ? -Math.log(1 - random.nextDouble())
+					* gap : gap);
+		}
+	}
+
+	/**
+	 * Record the latency of a completed job.
+	 * 
+	 * @param times
+	 *            Intended submit time and submit call time in ns.
+	 * @param arrival
+	 *            Arrival time of the Result in ns.
+	 */
+	private void complete(long[] times, long arrival) {
+		latency.record(arrival - times[0]);
+		serviceTime.record(arrival - times[1]);
+		completed.incrementAndGet();
+	}
+
+	/**
+	 * Get the number of the outstanding jobs.
+	 * 
+	 * @return Number of outstanding jobs.
+	 */
+	int getOutstanding() {
+		synchronized (outstanding) {
+			return outstanding.size();
+		}
+	}
+
+	/**
+	 * Give up the outstanding jobs, recording their latency so far, and
+	 * cancel them so they do not load the next step.
+	 * 
+	 * @return Number of the jobs given up.
+	 */
+	int abandon() {
+		long now = System.nanoTime();
+		Map<String, long[]> abandoned;
+		synchronized (outstanding) {
+			abandoned = new HashMap<>(outstanding);
+			outstanding.clear();
+			early.clear();
+		}
+		for (Map.Entry<String, long[]> job : abandoned.entrySet()) {
+			latency.record(now - job.getValue()[0]);
+			try {
+				server.cancel(name, job.getKey());
+			} catch (RemoteException e) {
+				System.out.println("Cannot cancel job " + job.getKey() + "!");
+			}
+		}
+		return abandoned.size();
+	}
+
+	/**
+	 * Unregister the Client.
+	 */
+	void close() {
+		try {
+			server.unregister(name);
+		} catch (RemoteException e) {
+			System.out.println("Cannot unregister Client " + name + "!");
+		}
+	}
+
+	/**
+	 * Receiver is a thread taking the Results of the Client in batches and
+	 * recording the latency of their jobs. Results of abandoned jobs are
+	 * dropped at the end of the step.
+	 */
+	private class Receiver extends Thread {
+		@Override
+		public void run() {
+			while (true) {
+				List<Result> results;
+				try {
+					results = server.getResults(name, Config.ClientResultBatch,
+							Config.ClientPollTimeout);
+				} catch (RemoteException e) {
+					return;
+				}
+				if (results == null) {
+					return;
+				}
+				long now = System.nanoTime();
+				for (Result result : results) {
+					long[] times;
+					synchronized (outstanding) {
+						times = outstanding.remove(result.getJobID());
+						if (times == null) {
+							early.put(result.getJobID(), now);
+						}
+					}
+					if (times != null) {
+						complete(times, now);
+					}
+				}
+			}
+		}
+	}
+}
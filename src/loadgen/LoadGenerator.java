@@ -0,0 +1,251 @@
+package loadgen;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import api.Server;
+import cluster.EmbeddedCluster;
+import metrics.LatencyHistogram;
+import metrics.NodeMetrics;
+import rmi.StubCache;
+
+/**
+ * Load Generator opens many Client sessions on a Server and submits jobs to
+ * them at fixed offered rates, open loop: a job is submitted at its intended
+ * time even if earlier jobs are still running. For every rate it reports the
+ * achieved throughput, the job latency percentiles measured from the intended
+ * submit times, and the Ready Task Queue of the Server, and it marks the
+ * first rate the Server cannot keep up with.
+ * <p>
+ * Usage: LoadGenerator [name=value]...
+ * </p>
+ * <ul>
+ * <li>target: embedded:spaceNum,computerNum,workerNum for an Embedded
+ * Cluster, or host[:port] of a Server. embedded:1,2,2 by default.</li>
+ * <li>jmx: host:port of the JMX agent of a remote Server, to read its
+ * metrics.</li>
+ * <li>clients: number of Clients, 10 by default.</li>
+ * <li>rates: offered rates in jobs per second, 10,20,40 by default.</li>
+ * <li>duration: seconds of every rate, 10 by default.</li>
+ * <li>drain: max seconds to wait for the outstanding jobs after every rate,
+ * 10 by default.</li>
+ * <li>job: job, as made by cluster.Workloads, fib:10 by default.</li>
+ * <li>arrival: poisson or uniform, poisson by default.</li>
+ * <li>seed: seed of the random numbers, 1 by default.</li>
+ * </ul>
+ */
+public class LoadGenerator {
+	/**
+	 * Fraction of the submitted jobs finished in time below which the Server
+	 * is saturated.
+	 */
+	private static final double SATURATION = 0.95;
+
+	/**
+	 * Interval of sampling the Server metrics in milliseconds.
+	 */
+	private static final int SAMPLE_INTERVAL = 100;
+
+	public static void main(String[] args) throws Exception {
+		String target = "embedded:1,2,2";
+		String jmx = null;
+		int clientNum = 10;
+		String rates = "10,20,40";
+		int duration = 10;
+		int drain = 10;
+		String job = "fib:10";
+		boolean poisson = true;
+		long seed = 1;
+		for (String arg : args) {
+			int equal = arg.indexOf('=');
+			String name = equal < 0 ? arg : arg.substring(0, equal);
+			String value = arg.substring(equal + 1);
+			switch (name) {
+			case "target":
+				target = value;
+				break;
+			case "jmx":
+				jmx = value;
+				break;
+			case "clients":
+				clientNum = Integer.parseInt(value);
+				break;
+			case "rates":
+				rates = value;
+				break;
+			case "duration":
+				duration = Integer.parseInt(value);
+				break;
+			case "drain":
+				drain = Integer.parseInt(value);
+				break;
+			case "job":
+				job = value;
+				break;
+			case "arrival":
+				poisson = value.equals("poisson");
+				break;
+			case "seed":
+				seed = Long.parseLong(value);
+				break;
+			default:
+				System.out.println("Unknown argument: " + arg);
+				System.out.println("Usage: LoadGenerator [name=value]...");
+				return;
+			}
+		}
+
+		// Connect to the Server.
+		Server server;
+		MBeanServerConnection mbeans = null;
+		if (target.startsWith("embedded:")) {
+			String[] sizes = target.substring(9).split(",");
+			server = new EmbeddedCluster(Integer.parseInt(sizes[0]),
+					Integer.parseInt(sizes[1]), Integer.parseInt(sizes[2]))
+					.getServer();
+			mbeans = ManagementFactory.getPlatformMBeanServer();
+		} else {
+			String host = target.contains(":") ? target : target + ":"
+					+ Server.PORT;
+			server = (Server) StubCache.lookup("rmi://" + host + "/"
+					+ Server.SERVICE_NAME);
+			if (jmx != null) {
+				mbeans = JMXConnectorFactory.connect(
+						new JMXServiceURL("service:jmx:rmi:///jndi/rmi://"
+								+ jmx + "/jmxrmi")).getMBeanServerConnection();
+			}
+		}
+		ObjectName serverMetrics = null;
+		if (mbeans != null) {
+			Set<ObjectName> names = mbeans.queryNames(new ObjectName(
+					NodeMetrics.DOMAIN + ":type=Server,*"), null);
+			if (!names.isEmpty()) {
+				serverMetrics = names.iterator().next();
+			}
+		}
+
+		// Open the Client sessions.
+		long registerStart = System.nanoTime();
+		List<ClientSession> sessions = new ArrayList<>();
+		for (int i = 0; i < clientNum; i++) {
+			sessions.add(new ClientSession("LoadGen" + i, server));
+		}
+		System.out.printf("Registered %d Clients in %.3f ms%n", clientNum,
+				(System.nanoTime() - registerStart) / 1e6);
+
+		System.out
+				.println("rate,achieved,submitted,completed,abandoned,failed,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,service_p99_ms,queue_max,queue_end");
+		Random random = new Random(seed);
+		String saturation = null;
+		for (String rateValue : rates.split(",")) {
+			double rate = Double.parseDouble(rateValue);
+			LatencyHistogram latency = new LatencyHistogram();
+			LatencyHistogram serviceTime = new LatencyHistogram();
+			long submittedBefore = 0;
+			long completedBefore = 0;
+			long failuresBefore = 0;
+			for (ClientSession session : sessions) {
+				session.reset(latency, serviceTime);
+				submittedBefore += session.submitted.get();
+				completedBefore += session.completed.get();
+				failuresBefore += session.failures.get();
+			}
+
+			// Submit open loop from every Client.
+			long start = System.nanoTime();
+			long end = start + duration * 1000000000L;
+			final String stepJob = job;
+			final boolean stepPoisson = poisson;
+			List<Thread> senders = new ArrayList<>();
+			for (ClientSession session : sessions) {
+				Random sessionRandom = new Random(random.nextLong());
+				Thread sender = new Thread(() -> session.send(stepJob, rate
+						/ sessions.size(), stepPoisson, end, sessionRandom));
+				sender.start();
+				senders.add(sender);
+			}
+			long queueMax = 0;
+			long drainEnd = end + drain * 1000000000L;
+			while (true) {
+				queueMax = Math.max(queueMax, readQueue(mbeans, serverMetrics));
+				long now = System.nanoTime();
+				if (now >= end && outstanding(sessions) == 0 || now >= drainEnd) {
+					break;
+				}
+				Thread.sleep(SAMPLE_INTERVAL);
+			}
+			for (Thread sender : senders) {
+				sender.join();
+			}
+			// The jobs completed in the drain count, so does its time.
+			long finish = System.nanoTime();
+			long queueEnd = readQueue(mbeans, serverMetrics);
+			int abandoned = 0;
+			long submitted = -submittedBefore;
+			long completed = -completedBefore;
+			long failures = -failuresBefore;
+			for (ClientSession session : sessions) {
+				abandoned += session.abandon();
+				submitted += session.submitted.get();
+				completed += session.completed.get();
+				failures += session.failures.get();
+			}
+
+			double achieved = completed / ((finish - start) / 1e9);
+			System.out.printf(
+					"%.1f,%.1f,%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d%n",
+					rate, achieved, submitted, completed, abandoned, failures,
+					latency.getPercentile(50) / 1e6,
+					latency.getPercentile(90) / 1e6,
+					latency.getPercentile(99) / 1e6,
+					latency.getPercentile(99.9) / 1e6,
+					latency.getMax() / 1e6,
+					serviceTime.getPercentile(99) / 1e6, queueMax, queueEnd);
+			if (saturation == null
+					&& (completed < SATURATION * submitted || failures > 0)) {
+				saturation = rateValue;
+			}
+		}
+		System.out.println(saturation == null ? "Saturation not reached."
+				: "Saturated at " + saturation + " jobs/s.");
+		for (ClientSession session : sessions) {
+			session.close();
+		}
+		System.exit(0);
+	}
+
+	/**
+	 * Get the number of outstanding jobs of all the sessions.
+	 */
+	private static int outstanding(List<ClientSession> sessions) {
+		int outstanding = 0;
+		for (ClientSession session : sessions) {
+			outstanding += session.getOutstanding();
+		}
+		return outstanding;
+	}
+
+	/**
+	 * Read the Ready Task Queue size of the Server. -1 if unknown.
+	 */
+	private static long readQueue(MBeanServerConnection mbeans,
+			ObjectName serverMetrics) {
+		if (serverMetrics == null) {
+			return -1;
+		}
+		try {
+			return ((Number) mbeans.getAttribute(serverMetrics,
+					"ReadyTaskQueueSize")).longValue();
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+}
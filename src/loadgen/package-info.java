@@ -0,0 +1,4 @@
+/**
+ * Open-loop load generator driving a Server with many concurrent Clients.
+ */
+package loadgen;
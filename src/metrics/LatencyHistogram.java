@@ -0,0 +1,170 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency Histogram is a lock-free histogram of non-negative values, normally
+ * nanoseconds. Values are counted in log-linear buckets: every power of two is
+ * split into 8 buckets, so a reported percentile is within 12.5% of the
+ * recorded value.
+ */
+public class LatencyHistogram {
+	/**
+	 * Number of bits of linear sub-buckets in every power of two.
+	 */
+	private static final int SUB_BITS = 3;
+
+	/**
+	 * Number of linear sub-buckets in every power of two.
+	 */
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+	/**
+	 * Number of buckets, enough for any positive long.
+	 */
+	private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+	/**
+	 * Count of each bucket.
+	 */
+	private final AtomicLongArray counts;
+
+	/**
+	 * Total count.
+	 */
+	private final AtomicLong count;
+
+	/**
+	 * Sum of all the values.
+	 */
+	private final AtomicLong sum;
+
+	/**
+	 * Max value.
+	 */
+	private final AtomicLong max;
+
+	/**
+	 * Constructor of Latency Histogram.
+	 */
+	public LatencyHistogram() {
+		counts = new AtomicLongArray(BUCKETS);
+		count = new AtomicLong();
+		sum = new AtomicLong();
+		max = new AtomicLong();
+	}
+
+	/**
+	 * Record a value. Negative values are recorded as 0.
+	 *
+	 * @param value
+	 *            Value to be recorded.
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		counts.incrementAndGet(bucketOf(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		long currentMax;
+		while (value > (currentMax = max.get())) {
+			if (max.compareAndSet(currentMax, value)) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Get the number of recorded values.
+	 *
+	 * @return Count.
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Get the mean of recorded values.
+	 *
+	 * @return Mean. 0 if nothing is recorded.
+	 */
+	public double getMean() {
+		long n = count.get();
+		return n == 0 ? 0 : (double) sum.get() / n;
+	}
+
+	/**
+	 * Get the max recorded value.
+	 *
+	 * @return Max.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Get the value at a percentile, the upper bound of the bucket containing
+	 * it.
+	 *
+	 * @param percentile
+	 *            Percentile between 0 and 100.
+	 * @return Value at the percentile. 0 if nothing is recorded.
+	 */
+	public long getPercentile(double percentile) {
+		long n = count.get();
+		if (n == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(percentile / 100 * n);
+		if (rank < 1) {
+			rank = 1;
+		}
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(upperBoundOf(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Clear all the recorded values. Not atomic with concurrent recording.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		count.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+	/**
+	 * Get the bucket index of a value.
+	 */
+	private static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int msb = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (msb - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (msb - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Get the largest value of a bucket.
+	 */
+	private static long upperBoundOf(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int msb = bucket / SUB_BUCKETS + SUB_BITS - 1;
+		long sub = bucket % SUB_BUCKETS;
+		long lower = (1L << msb) | (sub << (msb - SUB_BITS));
+		return lower + (1L << (msb - SUB_BITS)) - 1;
+	}
+}
@@ -0,0 +1,299 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Node Metrics is the MBean of a Universe, Space, Server or Computer. It
+ * exposes gauges of queue and map sizes, counters of events with their rate
+ * per second, and latency histograms, optionally broken down by task type and
+ * task layer.
+ * <p>
+ * The MBean is registered in the platform MBean server as
+ * SpaceNetwork:type=Type,id=ID.
+ * </p>
+ */
+public class NodeMetrics implements DynamicMBean {
+	/**
+	 * Domain of the MBean names.
+	 */
+	public static final String DOMAIN = "SpaceNetwork";
+
+	/**
+	 * Max layer tracked separately. Deeper layers are counted in this one.
+	 */
+	private static final int MAX_LAYER = 63;
+
+	/**
+	 * Node type, Universe, Space, Server or Computer.
+	 */
+	private final String type;
+
+	/**
+	 * Name the MBean is registered with.
+	 */
+	private ObjectName objectName;
+
+	/**
+	 * Gauges.
+	 */
+	private final Map<String, Supplier<Number>> gauges;
+
+	/**
+	 * Counters.
+	 */
+	private final Map<String, RateCounter> counters;
+
+	/**
+	 * Histograms.
+	 */
+	private final Map<String, LatencyHistogram> histograms;
+
+	/**
+	 * Histograms by task type and layer.
+	 */
+	private final Map<String, Map<Class<?>, LatencyHistogram[]>> histogramFamilies;
+
+	/**
+	 * Constructor of Node Metrics.
+	 *
+	 * @param type
+	 *            Node type.
+	 */
+	public NodeMetrics(String type) {
+		this.type = type;
+		gauges = new ConcurrentHashMap<>();
+		counters = new ConcurrentHashMap<>();
+		histograms = new ConcurrentHashMap<>();
+		histogramFamilies = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Register the MBean with the node ID, replacing the previous
+	 * registration.
+	 *
+	 * @param ID
+	 *            Node ID.
+	 */
+	public synchronized void register(int ID) {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			if (objectName != null && server.isRegistered(objectName)) {
+				server.unregisterMBean(objectName);
+			}
+			objectName = new ObjectName(DOMAIN + ":type=" + type + ",id="
+					+ ID);
+			if (server.isRegistered(objectName)) {
+				server.unregisterMBean(objectName);
+			}
+			server.registerMBean(this, objectName);
+		} catch (JMException e) {
+			Logger.getLogger(NodeMetrics.class.getName()).log(Level.WARNING,
+					"Cannot register metrics of {0} {1}: {2}",
+					new Object[] { type, ID, e });
+		}
+	}
+
+	/**
+	 * Add a gauge.
+	 *
+	 * @param name
+	 *            Gauge name.
+	 * @param gauge
+	 *            Supplier of the gauge value.
+	 */
+	public void addGauge(String name, Supplier<Number> gauge) {
+		gauges.put(name, gauge);
+	}
+
+	/**
+	 * Remove a gauge.
+	 *
+	 * @param name
+	 *            Gauge name.
+	 */
+	public void removeGauge(String name) {
+		gauges.remove(name);
+	}
+
+	/**
+	 * Get a counter, creating it if needed.
+	 *
+	 * @param name
+	 *            Counter name.
+	 * @return Counter.
+	 */
+	public RateCounter counter(String name) {
+		return counters.computeIfAbsent(name, k -> new RateCounter());
+	}
+
+	/**
+	 * Get a histogram, creating it if needed.
+	 *
+	 * @param name
+	 *            Histogram name.
+	 * @return Histogram.
+	 */
+	public LatencyHistogram histogram(String name) {
+		return histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+	}
+
+	/**
+	 * Get the histogram of a task type and layer, creating it if needed. No
+	 * name is built on this path.
+	 *
+	 * @param name
+	 *            Histogram family name.
+	 * @param taskType
+	 *            Task class.
+	 * @param layer
+	 *            Task layer.
+	 * @return Histogram.
+	 */
+	public LatencyHistogram histogram(String name, Class<?> taskType, int layer) {
+		Map<Class<?>, LatencyHistogram[]> family = histogramFamilies.get(name);
+		if (family == null) {
+			family = histogramFamilies.computeIfAbsent(name,
+					k -> new ConcurrentHashMap<>());
+		}
+		LatencyHistogram[] layers = family.get(taskType);
+		if (layers == null) {
+			layers = family.computeIfAbsent(taskType,
+					k -> new LatencyHistogram[MAX_LAYER + 1]);
+		}
+		int index = Math.max(0, Math.min(layer, MAX_LAYER));
+		LatencyHistogram histogram = layers[index];
+		if (histogram == null) {
+			synchronized (layers) {
+				histogram = layers[index];
+				if (histogram == null) {
+					histogram = new LatencyHistogram();
+					layers[index] = histogram;
+				}
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * Get all the attributes with their readers, sorted by name.
+	 *
+	 * @return Attribute name to reader.
+	 */
+	private Map<String, Supplier<Object>> attributes() {
+		Map<String, Supplier<Object>> attributes = new TreeMap<>();
+		for (Map.Entry<String, Supplier<Number>> gauge : gauges.entrySet()) {
+			Supplier<Number> supplier = gauge.getValue();
+			attributes.put(gauge.getKey(), () -> supplier.get().longValue());
+		}
+		for (Map.Entry<String, RateCounter> counter : counters.entrySet()) {
+			RateCounter rateCounter = counter.getValue();
+			attributes.put(counter.getKey() + "Count", rateCounter::getCount);
+			attributes.put(counter.getKey() + "Rate", rateCounter::getRate);
+		}
+		for (Map.Entry<String, LatencyHistogram> histogram : histograms
+				.entrySet()) {
+			addHistogram(attributes, histogram.getKey(), histogram.getValue());
+		}
+		for (Map.Entry<String, Map<Class<?>, LatencyHistogram[]>> family : histogramFamilies
+				.entrySet()) {
+			for (Map.Entry<Class<?>, LatencyHistogram[]> layers : family
+					.getValue().entrySet()) {
+				LatencyHistogram[] histogramLayers = layers.getValue();
+				for (int i = 0; i < histogramLayers.length; i++) {
+					if (histogramLayers[i] != null) {
+						addHistogram(attributes, family.getKey() + "."
+								+ layers.getKey().getSimpleName() + ".L" + i,
+								histogramLayers[i]);
+					}
+				}
+			}
+		}
+		return attributes;
+	}
+
+	/**
+	 * Add the attributes of a histogram.
+	 */
+	private static void addHistogram(Map<String, Supplier<Object>> attributes,
+			String name, LatencyHistogram histogram) {
+		attributes.put(name + ".Count", histogram::getCount);
+		attributes.put(name + ".Mean", histogram::getMean);
+		attributes.put(name + ".P50", () -> histogram.getPercentile(50));
+		attributes.put(name + ".P90", () -> histogram.getPercentile(90));
+		attributes.put(name + ".P99", () -> histogram.getPercentile(99));
+		attributes.put(name + ".Max", histogram::getMax);
+	}
+
+	@Override
+	public Object getAttribute(String attribute)
+			throws AttributeNotFoundException {
+		Supplier<Object> reader = attributes().get(attribute);
+		if (reader == null) {
+			throw new AttributeNotFoundException(attribute);
+		}
+		return reader.get();
+	}
+
+	@Override
+	public AttributeList getAttributes(String[] names) {
+		Map<String, Supplier<Object>> attributes = attributes();
+		AttributeList list = new AttributeList();
+		for (String name : names) {
+			Supplier<Object> reader = attributes.get(name);
+			if (reader != null) {
+				list.add(new Attribute(name, reader.get()));
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public void setAttribute(Attribute attribute)
+			throws AttributeNotFoundException {
+		throw new AttributeNotFoundException("Metrics are read only.");
+	}
+
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) {
+		return null;
+	}
+
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		Map<String, Supplier<Object>> attributes = attributes();
+		List<MBeanAttributeInfo> infos = new ArrayList<>();
+		for (String name : attributes.keySet()) {
+			String valueType = name.endsWith("Rate") || name.endsWith(".Mean") ? "double"
+					: "long";
+			infos.add(new MBeanAttributeInfo(name, valueType, name, true,
+					false, false));
+		}
+		return new MBeanInfo(getClass().getName(), type + " metrics",
+				infos.toArray(new MBeanAttributeInfo[0]), null,
+				new MBeanOperationInfo[0], null);
+	}
+}
@@ -0,0 +1,110 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import config.Config;
+
+/**
+ * Rate Counter counts events and reports their rate per second. The count
+ * only grows. It is sampled once every Config.MetricsRateWindow
+ * milliseconds, and the rate is taken from the sample starting the previous
+ * window, so every reader gets the same rate however often it reads.
+ */
+public class RateCounter {
+	/**
+	 * Number of events.
+	 */
+	private final LongAdder count;
+
+	/**
+	 * Sample starting the current window.
+	 */
+	private Sample current;
+
+	/**
+	 * Sample starting the previous window, the rate is taken from.
+	 */
+	private Sample previous;
+
+	/**
+	 * Constructor of Rate Counter.
+	 */
+	public RateCounter() {
+		count = new LongAdder();
+		current = new Sample(System.nanoTime(), 0);
+		previous = current;
+	}
+
+	/**
+	 * Count an event.
+	 */
+	public void increment() {
+		count.increment();
+	}
+
+	/**
+	 * Count a number of events.
+	 *
+	 * @param n
+	 *            Number of events.
+	 */
+	public void add(long n) {
+		count.add(n);
+	}
+
+	/**
+	 * Get the number of events.
+	 *
+	 * @return Count.
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Get the number of events per second over the previous and the current
+	 * window.
+	 *
+	 * @return Rate per second.
+	 */
+	public double getRate() {
+		long now = System.nanoTime();
+		long num = count.sum();
+		Sample from = sample(now, num);
+		return now == from.time ? 0 : (num - from.count) * 1e9
+				/ (now - from.time);
+	}
+
+	/**
+	 * Start a new window if the current one is over.
+	 *
+	 * @return Sample starting the previous window.
+	 */
+	private synchronized Sample sample(long now, long num) {
+		if (now - current.time >= Config.MetricsRateWindow * 1000000L) {
+			previous = current;
+			current = new Sample(now, num);
+		}
+		return previous;
+	}
+
+	/**
+	 * Count at a point in time.
+	 */
+	private static class Sample {
+		/**
+		 * Time in nanoseconds.
+		 */
+		private final long time;
+
+		/**
+		 * Count.
+		 */
+		private final long count;
+
+		Sample(long time, long count) {
+			this.time = time;
+			this.count = count;
+		}
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * Metrics of the nodes, exposed as MBeans.
+ */
+package metrics;
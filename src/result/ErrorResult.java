@@ -0,0 +1,152 @@
+package result;
+
+import java.rmi.RemoteException;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import api.Result;
+import api.Task;
+import space.SpaceImpl;
+import universe.UniverseImpl;
+
+/**
+ *
+ * Error Result is to report a task execution that threw an exception. From a
+ * Computer it carries the failed task back, so that the Space can dispatch it
+ * again or quarantine it. From a Space it reports a quarantined task, and the
+ * Universe fails the job of the task with it. The Universe also fails a job
+ * with it when the deadline of the job passes without a value.
+ *
+ */
+public class ErrorResult extends Result {
+	private static final long serialVersionUID = 2209616281839553347L;
+
+	/**
+	 * The failed task.
+	 */
+	private final Task<?> task;
+
+	/**
+	 * Description of the failure.
+	 */
+	private final String error;
+
+	/**
+	 * Constructor of error result.
+	 *
+	 * @param resultId
+	 *            Result Id, same as its associated task Id.
+	 * @param task
+	 *            The failed task.
+	 * @param error
+	 *            Description of the failure.
+	 * @param taskStartTime
+	 *            Task start time.
+	 * @param taskEndTime
+	 *            Task end time.
+	 */
+	public ErrorResult(String resultId, Task<?> task, String error,
+			long taskStartTime, long taskEndTime) {
+		super(resultId, ERRORRESULT, false, taskStartTime, taskEndTime);
+		this.task = task;
+		this.error = error;
+	}
+
+	/**
+	 * Make the Error Result of a job whose task is quarantined, to be sent to
+	 * the Client as the Result of the job.
+	 *
+	 * @param task
+	 *            The quarantined task.
+	 * @param error
+	 *            Description of the failure.
+	 * @return Error Result of the job.
+	 */
+	public static ErrorResult quarantined(Task<?> task, String error) {
+		long now = System.nanoTime();
+		return new ErrorResult(task.getJobID(), null, "Task " + task.getID()
+				+ " is quarantined: " + error, now, now);
+	}
+
+	/**
+	 * Make the Error Result of a job without a final value at its deadline,
+	 * to be sent to the Client as the Result of the job.
+	 *
+	 * @param jobID
+	 *            Job ID.
+	 * @return Error Result of the job.
+	 */
+	public static ErrorResult expired(String jobID) {
+		long now = System.nanoTime();
+		return new ErrorResult(jobID, null, "Deadline expired without a value",
+				now, now);
+	}
+
+	/**
+	 * Get the failed task.
+	 *
+	 * @return the task. Null for a quarantined task reported by a Space or
+	 *         an expired job.
+	 */
+	public Task<?> getTask() {
+		return this.task;
+	}
+
+	/**
+	 * Get the description of the failure.
+	 *
+	 * @return the error
+	 */
+	public String getError() {
+		return this.error;
+	}
+
+	/**
+	 * Process the result. Call from Computer Proxy in Space. The Space decides
+	 * whether to dispatch the failed task again or to quarantine it.
+	 *
+	 * @param space
+	 *            The Space implemetation in which the result is to be
+	 *            processed.
+	 * @param runningTaskMap
+	 *            The Running Task Map in the Computer Proxy, where the
+	 *            associated task is stored.
+	 * @param intermediateResultQueue
+	 *            Intermediate Result Queue of the Computer Proxy.
+	 * @return True. An Error Result is always processed in Space.
+	 */
+	@Override
+	public boolean process(SpaceImpl space,
+			Map<String, Task<?>> runningTaskMap,
+			BlockingQueue<Result> intermediateResultQueue) {
+		space.failTask(task, error);
+		return true;
+	}
+
+	/**
+	 * Process the result. Call from Space Proxy and Deadline Watcher in
+	 * Universe. The job of a quarantined task or an expired job cannot
+	 * complete: cancel what is left of it and send the Error Result to its
+	 * Client.
+	 *
+	 * @param universe
+	 *            Universe
+	 * @param runningTaskMap
+	 *            The running Task Map in the Space Proxy.
+	 */
+	@Override
+	public void process(UniverseImpl universe,
+			Map<String, Task<?>> runningTaskMap) {
+		Logger.getLogger(ErrorResult.class.getName()).log(Level.SEVERE,
+				"Job {0} failed: {1}", new Object[] { getJobID(), error });
+		try {
+			universe.cancel(getJobID());
+		} catch (RemoteException e) {
+			e.printStackTrace();
+		}
+		universe.dispatchResult(this);
+	}
+
+}
@@ -7,8 +7,8 @@ import java.util.concurrent.BlockingQueue;
 
 import api.Result;
 import api.Task;
-import config.Config;
 import space.SpaceImpl;
+import trace.Tracer;
 import universe.UniverseImpl;
 
 /**
@@ -96,6 +96,23 @@ public class TaskResult<T> extends Result {
 		}
 	}
 
+	/**
+	 * Copy the Task Result. The Running Tasks are copied too, since the
+	 * Computer keeps them in its Ready Task Queue.
+	 * 
+	 * @return Copy of the Task Result.
+	 */
+	@Override
+	public TaskResult<T> copy() {
+		@SuppressWarnings("unchecked")
+		TaskResult<T> result = (TaskResult<T>) super.copy();
+		result.runningTasks = new ArrayList<Task<T>>(runningTasks.size());
+		for (Task<T> task : runningTasks) {
+			result.runningTasks.add(task.copy());
+		}
+		return result;
+	}
+
 	/**
 	 * Process the result. Call from Space. Put Successor Task in the Successor
 	 * Task Map, put Ready Task into the Ready Task Queue.
@@ -114,35 +131,19 @@ public class TaskResult<T> extends Result {
 	public boolean process(final SpaceImpl space,
 			final Map<String, Task<?>> runningTaskMap,
 			final BlockingQueue<Result> intermediateResultQueue) {
-		if (Config.DEBUG) {
-			if (runningTasks.size() == 0) {
-				System.out.println("	Result: RuningTask is empty!");
-			}
-		}
 		for (int i = 0; i < runningTasks.size(); i++) {
-			if (Config.DEBUG) {
-				System.out.println("	Result: RunningTask "
-						+ runningTasks.get(i).getID() + "-"
-						+ runningTasks.get(0).getLayer() + "-"
-						+ runningTasks.get(i).isCoarse());
-			}
+			Tracer.record(Tracer.RESULT_RUNNING, runningTasks.get(i).getID(),
+					runningTasks.get(i).getLayer());
 			runningTaskMap
 					.put(runningTasks.get(i).getID(), runningTasks.get(i));
 		}
-		if (Config.DEBUG) {
-			System.out.println("	Result: Successor " + subTasks.get(0).getID()
-					+ "-" + subTasks.get(0).getLayer() + "-"
-					+ subTasks.get(0).isCoarse());
-		}
+		Tracer.record(Tracer.RESULT_SUCCESSOR, subTasks.get(0).getID(),
+				subTasks.get(0).getLayer());
 		space.addSuccessorTask(subTasks.get(0));
 		for (int i = 1; i < subTasks.size(); i++) {
 			space.addReadyTask(subTasks.get(i));
-			if (Config.DEBUG) {
-				System.out.println("	Result: Subtask "
-						+ subTasks.get(i).getID() + "-"
-						+ subTasks.get(i).getLayer() + "-"
-						+ subTasks.get(i).isCoarse());
-			}
+			Tracer.record(Tracer.RESULT_SUBTASK, subTasks.get(i).getID(),
+					subTasks.get(i).getLayer());
 		}
 		return true;
 	}
@@ -161,20 +162,13 @@ public class TaskResult<T> extends Result {
 	@Override
 	public void process(UniverseImpl universe,
 			Map<String, Task<?>> runningTaskMap) {
-		if (Config.DEBUG) {
-			System.out.println("	Result: Successor " + subTasks.get(0).getID()
-					+ "-" + subTasks.get(0).getLayer() + "-"
-					+ subTasks.get(0).isCoarse());
-		}
+		Tracer.record(Tracer.RESULT_SUCCESSOR, subTasks.get(0).getID(),
+				subTasks.get(0).getLayer());
 		universe.addSuccessorTask(subTasks.get(0));
 		for (int i = 1; i < subTasks.size(); i++) {
 			universe.addReadyTask(subTasks.get(i));
-			if (Config.DEBUG) {
-				System.out.println("	Result: Subtask "
-						+ subTasks.get(i).getID() + "-"
-						+ subTasks.get(0).getLayer() +"-"
-						+ subTasks.get(i).isCoarse());
-			}
+			Tracer.record(Tracer.RESULT_SUBTASK, subTasks.get(i).getID(),
+					subTasks.get(i).getLayer());
 		}
 
 	}
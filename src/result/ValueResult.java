@@ -6,8 +6,11 @@ import java.util.concurrent.BlockingQueue;
 import api.Result;
 import api.Task;
 import config.Config;
+import events.SuccessorFillEvent;
+import events.SuccessorReadyEvent;
 import space.SpaceImpl;
 import task.SuccessorTask;
+import trace.Tracer;
 import universe.UniverseImpl;
 
 /**
@@ -20,6 +23,11 @@ import universe.UniverseImpl;
 public class ValueResult<ValueType> extends Result {
 	private static final long serialVersionUID = -4600193385843282656L;
 
+	/**
+	 * First character of the target of a partial value.
+	 */
+	private static final char PARTIAL = '%';
+
 	/*
 	 * Target Successor Task Id of this value result.
 	 */
@@ -62,6 +70,23 @@ public class ValueResult<ValueType> extends Result {
 		this.targetArgIndex = targetArgIndex;
 	}
 
+	/**
+	 * Make a partial value of a job: the best answer so far, given to the
+	 * Client before the final Result.
+	 * 
+	 * @param jobID
+	 *            Job ID.
+	 * @param value
+	 *            Best value so far.
+	 * @return Partial value.
+	 */
+	public static <ValueType> ValueResult<ValueType> partial(String jobID,
+			ValueType value) {
+		long now = System.nanoTime();
+		return new ValueResult<ValueType>(jobID, value, PARTIAL + ":" + jobID,
+				-1, true, now, now);
+	}
+
 	/**
 	 * Get the target successor task ID.
 	 * 
@@ -103,6 +128,16 @@ public class ValueResult<ValueType> extends Result {
 		}
 	}
 
+	/**
+	 * Check if the value result is a partial value of its job.
+	 * 
+	 * @return True if it is a partial value. False otherwise.
+	 */
+	@Override
+	public boolean isPartial() {
+		return targetTaskId.charAt(0) == PARTIAL;
+	}
+
 	/**
 	 * Process the result. Call from Space.
 	 * 
@@ -128,15 +163,15 @@ public class ValueResult<ValueType> extends Result {
 		SuccessorTask<ValueType> successortask = (SuccessorTask<ValueType>) space
 				.getSuccessorTask(targetTaskId);
 		if (successortask == null) {
-			if (Config.DEBUG) {
-				System.out.println("	Result: Successor " + targetTaskId
-						+ " is not in Space!");
-			}
+			Tracer.record(Tracer.VALUE_MISSING, targetTaskId, -1);
 			return false;
 		}
 
 		// Set the argument in the target successor task at the target index.
 		successortask.setArgAt(targetArgIndex, this.value);
+		Tracer.record(Tracer.VALUE_FILL, successortask.getID(),
+				successortask.getLayer());
+		new SuccessorFillEvent().commit(space.getNodeName(), successortask);
 
 		// Check if the successor task has all needed arguments and ready to
 		// run.
@@ -150,12 +185,10 @@ public class ValueResult<ValueType> extends Result {
 			} else {
 				// The successor task is moved from Successor Task Queue to
 				// Ready Task Queue.
-				if (Config.DEBUG) {
-					System.out.println("	Result: " + successortask.getID()
-							+ "-" + successortask.getLayer() + "-"
-							+ successortask.isCoarse()
-							+ " is added to Space Ready Task Queue!");
-				}
+				Tracer.record(Tracer.VALUE_READY, successortask.getID(),
+						successortask.getLayer());
+				new SuccessorReadyEvent().commit(space.getNodeName(),
+						successortask);
 				space.successorToReady(successortask);
 			}
 		}
@@ -187,28 +220,22 @@ public class ValueResult<ValueType> extends Result {
 		// Proxy.
 		SuccessorTask<ValueType> successortask = (SuccessorTask<ValueType>) universe
 				.getSuccessorTask(targetTaskId);
-		if (Config.DEBUG) {
-			if (successortask == null)
-				System.out.println("	Result:Successor " + targetTaskId
-						+ " is not in universe!");
+		if (successortask == null) {
+			Tracer.record(Tracer.VALUE_MISSING, targetTaskId, -1);
+			return;
 		}
+		universe.offerPartial(this, successortask);
 		// Set the argument in the target successor task at the target index.
 		successortask.setArgAt(targetArgIndex, this.value);
-		if (Config.DEBUG) {
-			System.out.println("	Result: " + successortask.getID() + "-"
-					+ successortask.getLayer() + "-"
-					+ successortask.isCoarse()
-					+ " value filled!");
-		}
+		Tracer.record(Tracer.VALUE_FILL, successortask.getID(),
+				successortask.getLayer());
+		new SuccessorFillEvent().commit("Universe", successortask);
 		if (successortask.isRunnable()) {
 			// The successor task is moved from Successor Task Queue to
 			// Ready Task Queue.
-			if (Config.DEBUG) {
-				System.out.println("	Result: " + successortask.getID() + "-"
-						+ successortask.getLayer() + "-"
-						+ successortask.isCoarse()
-						+ " is added to Universe Ready Task Queue!");
-			}
+			Tracer.record(Tracer.VALUE_READY, successortask.getID(),
+					successortask.getLayer());
+			new SuccessorReadyEvent().commit("Universe", successortask);
 			universe.successorToReady(successortask);
 		}
 
@@ -0,0 +1,274 @@
+package rmi;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed Socket sends what is written between two flushes as one block,
+ * deflated when it is at least the compression threshold and gets smaller.
+ * RMI flushes at the end of every call and every return, so a block is
+ * usually one message, and the small messages are sent as they are.
+ * <p>
+ * Block: an int with the compressed flag in the highest bit and the length on
+ * the wire in the others, the raw length as an int if compressed, then the
+ * bytes.
+ * </p>
+ */
+class CompressedSocket extends Socket {
+	/**
+	 * Compressed flag of a block.
+	 */
+	private static final int COMPRESSED = 0x80000000;
+
+	/**
+	 * Largest block in bytes. A longer message is split.
+	 */
+	private static final int MAX_BLOCK = 1 << 20;
+
+	/**
+	 * Smallest block compressed in bytes.
+	 */
+	private final int threshold;
+
+	/**
+	 * Input stream, made at first use.
+	 */
+	private InputStream in;
+
+	/**
+	 * Output stream, made at first use.
+	 */
+	private OutputStream out;
+
+	/**
+	 * Constructor of Compressed Socket, unconnected.
+	 * 
+	 * @param threshold
+	 *            Smallest block compressed in bytes.
+	 */
+	CompressedSocket(int threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public synchronized InputStream getInputStream() throws IOException {
+		if (in == null) {
+			in = new BlockInputStream(super.getInputStream());
+		}
+		return in;
+	}
+
+	@Override
+	public synchronized OutputStream getOutputStream() throws IOException {
+		if (out == null) {
+			out = new BlockOutputStream(super.getOutputStream());
+		}
+		return out;
+	}
+
+	/**
+	 * Block Output Stream collects the bytes until a flush and writes them as
+	 * a block.
+	 */
+	private class BlockOutputStream extends FilterOutputStream {
+		private final DataOutputStream data;
+		private final Deflater deflater;
+		private byte[] buffer;
+		private byte[] deflated;
+		private int count;
+
+		BlockOutputStream(OutputStream out) {
+			super(out);
+			data = new DataOutputStream(out);
+			deflater = new Deflater(Deflater.BEST_SPEED);
+			buffer = new byte[8192];
+			deflated = new byte[0];
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			ensure(1);
+			buffer[count++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				int n = Math.min(len, MAX_BLOCK - count);
+				ensure(n);
+				System.arraycopy(b, off, buffer, count, n);
+				count += n;
+				off += n;
+				len -= n;
+				if (count == MAX_BLOCK) {
+					writeBlock();
+				}
+			}
+		}
+
+		/**
+		 * Make room for n more bytes.
+		 */
+		private void ensure(int n) throws IOException {
+			if (count + n > MAX_BLOCK) {
+				writeBlock();
+			}
+			if (count + n > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.min(MAX_BLOCK,
+						Math.max(count + n, buffer.length * 2)));
+			}
+		}
+
+		/**
+		 * Write the collected bytes as a block.
+		 */
+		private void writeBlock() throws IOException {
+			if (count == 0) {
+				return;
+			}
+			if (count >= threshold) {
+				if (deflated.length < count) {
+					deflated = new byte[count];
+				}
+				deflater.reset();
+				deflater.setInput(buffer, 0, count);
+				deflater.finish();
+				int n = deflater.deflate(deflated, 0, count);
+				if (deflater.finished() && n < count) {
+					data.writeInt(COMPRESSED | n);
+					data.writeInt(count);
+					data.write(deflated, 0, n);
+					count = 0;
+					return;
+				}
+			}
+			data.writeInt(count);
+			data.write(buffer, 0, count);
+			count = 0;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			writeBlock();
+			data.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				flush();
+			} finally {
+				deflater.end();
+				super.close();
+			}
+		}
+	}
+
+	/**
+	 * Block Input Stream reads the blocks and gives back their bytes.
+	 */
+	private static class BlockInputStream extends InputStream {
+		private final DataInputStream data;
+		private final Inflater inflater;
+		private byte[] buffer;
+		private byte[] deflated;
+		private int position;
+		private int count;
+
+		BlockInputStream(InputStream in) {
+			data = new DataInputStream(in);
+			inflater = new Inflater();
+			buffer = new byte[8192];
+			deflated = new byte[0];
+		}
+
+		/**
+		 * Read the next block.
+		 * 
+		 * @return False at the end of the stream.
+		 */
+		private boolean readBlock() throws IOException {
+			int header;
+			try {
+				header = data.readInt();
+			} catch (EOFException e) {
+				return false;
+			}
+			int length = header & ~COMPRESSED;
+			int raw = (header & COMPRESSED) != 0 ? data.readInt() : length;
+			if (length > MAX_BLOCK || raw > MAX_BLOCK || raw < 0) {
+				throw new IOException("Bad block length.");
+			}
+			if (buffer.length < raw) {
+				buffer = new byte[raw];
+			}
+			if ((header & COMPRESSED) == 0) {
+				data.readFully(buffer, 0, length);
+			} else {
+				if (deflated.length < length) {
+					deflated = new byte[length];
+				}
+				data.readFully(deflated, 0, length);
+				inflater.reset();
+				inflater.setInput(deflated, 0, length);
+				try {
+					if (inflater.inflate(buffer, 0, raw) != raw) {
+						throw new IOException("Bad compressed block.");
+					}
+				} catch (DataFormatException e) {
+					throw new IOException(e);
+				}
+			}
+			position = 0;
+			count = raw;
+			return true;
+		}
+
+		@Override
+		public int read() throws IOException {
+			while (position == count) {
+				if (!readBlock()) {
+					return -1;
+				}
+			}
+			return buffer[position++] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			while (position == count) {
+				if (!readBlock()) {
+					return -1;
+				}
+			}
+			int n = Math.min(len, count - position);
+			System.arraycopy(buffer, position, b, off, n);
+			position += n;
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return count - position;
+		}
+
+		@Override
+		public void close() throws IOException {
+			inflater.end();
+			data.close();
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package rmi;
+
+import java.io.Serializable;
+import java.net.Socket;
+import java.net.SocketException;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.util.Objects;
+
+import config.Config;
+
+/**
+ * Socket Options are the TCP options and the compression of the RMI sockets
+ * of a node.
+ */
+public class SocketOptions implements Serializable {
+	private static final long serialVersionUID = -2409541473367325066L;
+
+	/**
+	 * Socket Options of Config.
+	 */
+	private static final SocketOptions CONFIG = new SocketOptions(
+			Config.RMITcpNoDelay, Config.RMIKeepAlive, Config.RMISendBuffer,
+			Config.RMIReceiveBuffer, Config.RMICompressThreshold);
+
+	/**
+	 * Disable Nagle's algorithm or not.
+	 */
+	private final boolean noDelay;
+
+	/**
+	 * Send TCP keep-alive probes or not.
+	 */
+	private final boolean keepAlive;
+
+	/**
+	 * Send buffer size in bytes, 0 for the system default.
+	 */
+	private final int sendBuffer;
+
+	/**
+	 * Receive buffer size in bytes, 0 for the system default.
+	 */
+	private final int receiveBuffer;
+
+	/**
+	 * Smallest message compressed in bytes, negative for no compression.
+	 */
+	private final int compressThreshold;
+
+	/**
+	 * Constructor of Socket Options.
+	 * 
+	 * @param noDelay
+	 *            Disable Nagle's algorithm or not.
+	 * @param keepAlive
+	 *            Send TCP keep-alive probes or not.
+	 * @param sendBuffer
+	 *            Send buffer size in bytes, 0 for the system default.
+	 * @param receiveBuffer
+	 *            Receive buffer size in bytes, 0 for the system default.
+	 * @param compressThreshold
+	 *            Smallest message compressed in bytes, negative for no
+	 *            compression.
+	 */
+	public SocketOptions(boolean noDelay, boolean keepAlive, int sendBuffer,
+			int receiveBuffer, int compressThreshold) {
+		this.noDelay = noDelay;
+		this.keepAlive = keepAlive;
+		this.sendBuffer = sendBuffer;
+		this.receiveBuffer = receiveBuffer;
+		this.compressThreshold = compressThreshold;
+	}
+
+	/**
+	 * Get the client socket factory of Config, to export a node with.
+	 * 
+	 * @return Client socket factory.
+	 */
+	public static RMIClientSocketFactory clientFactory() {
+		return new TunedClientSocketFactory(CONFIG);
+	}
+
+	/**
+	 * Get the server socket factory of Config, to export a node with.
+	 * 
+	 * @return Server socket factory.
+	 */
+	public static RMIServerSocketFactory serverFactory() {
+		return new TunedServerSocketFactory(CONFIG);
+	}
+
+	/**
+	 * Set the options on a socket before it connects.
+	 * 
+	 * @param socket
+	 *            Socket.
+	 * @throws SocketException
+	 *             Failed to set an option.
+	 */
+	void apply(Socket socket) throws SocketException {
+		socket.setTcpNoDelay(noDelay);
+		socket.setKeepAlive(keepAlive);
+		if (sendBuffer > 0) {
+			socket.setSendBufferSize(sendBuffer);
+		}
+		if (receiveBuffer > 0) {
+			socket.setReceiveBufferSize(receiveBuffer);
+		}
+	}
+
+	/**
+	 * Get the receive buffer size.
+	 * 
+	 * @return Receive buffer size in bytes, 0 for the system default.
+	 */
+	int getReceiveBuffer() {
+		return receiveBuffer;
+	}
+
+	/**
+	 * Check if the messages are compressed.
+	 * 
+	 * @return True if compressed.
+	 */
+	boolean isCompressed() {
+		return compressThreshold >= 0;
+	}
+
+	/**
+	 * Get the smallest message compressed.
+	 * 
+	 * @return Threshold in bytes.
+	 */
+	int getCompressThreshold() {
+		return compressThreshold;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (!(other instanceof SocketOptions)) {
+			return false;
+		}
+		SocketOptions options = (SocketOptions) other;
+		return noDelay == options.noDelay && keepAlive == options.keepAlive
+				&& sendBuffer == options.sendBuffer
+				&& receiveBuffer == options.receiveBuffer
+				&& compressThreshold == options.compressThreshold;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(noDelay, keepAlive, sendBuffer,
+				receiveBuffer, compressThreshold);
+	}
+
+	@Override
+	public String toString() {
+		return "noDelay " + noDelay + ", keepAlive " + keepAlive
+				+ ", sendBuffer " + sendBuffer + ", receiveBuffer "
+				+ receiveBuffer + ", compressThreshold " + compressThreshold;
+	}
+}
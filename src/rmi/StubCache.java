@@ -0,0 +1,103 @@
+package rmi;
+
+import java.net.MalformedURLException;
+import java.rmi.ConnectException;
+import java.rmi.Naming;
+import java.rmi.NoSuchObjectException;
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stub Cache keeps the stubs looked up in the registries by URL, so a node
+ * connecting again to the same service skips the registry. A cached stub is
+ * dead once its service has restarted; {@link #call(String, Call)} then looks
+ * it up again.
+ */
+public final class StubCache {
+	/**
+	 * Stubs by URL.
+	 */
+	private static final Map<String, Remote> STUBS = new ConcurrentHashMap<>();
+
+	private StubCache() {
+	}
+
+	/**
+	 * Remote call on a stub.
+	 * 
+	 * @param <S>
+	 *            Stub type.
+	 * @param <R>
+	 *            Return type.
+	 */
+	public interface Call<S extends Remote, R> {
+		/**
+		 * Call the stub.
+		 * 
+		 * @param stub
+		 *            Stub.
+		 * @return Return value.
+		 * @throws RemoteException
+		 *             Failed to call.
+		 */
+		R call(S stub) throws RemoteException;
+	}
+
+	/**
+	 * Get the stub of a URL, looking it up in the registry the first time.
+	 * 
+	 * @param url
+	 *            URL of the service.
+	 * @return Stub.
+	 * @throws MalformedURLException
+	 *             Bad URL.
+	 * @throws RemoteException
+	 *             Failed to contact the registry.
+	 * @throws NotBoundException
+	 *             No service at the URL.
+	 */
+	public static Remote lookup(String url) throws MalformedURLException,
+			RemoteException, NotBoundException {
+		Remote stub = STUBS.get(url);
+		if (stub == null) {
+			stub = Naming.lookup(url);
+			STUBS.put(url, stub);
+		}
+		return stub;
+	}
+
+	/**
+	 * Call the stub of a URL. If a cached stub cannot connect or its object is
+	 * gone, it is invalidated, looked up again and called once more.
+	 * 
+	 * @param url
+	 *            URL of the service.
+	 * @param call
+	 *            Call.
+	 * @return Return value of the call.
+	 * @throws MalformedURLException
+	 *             Bad URL.
+	 * @throws RemoteException
+	 *             Failed to contact the registry, or the call failed.
+	 * @throws NotBoundException
+	 *             No service at the URL.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S extends Remote, R> R call(String url, Call<S, R> call)
+			throws MalformedURLException, RemoteException, NotBoundException {
+		Remote cached = STUBS.get(url);
+		S stub = (S) (cached != null ? cached : lookup(url));
+		try {
+			return call.call(stub);
+		} catch (ConnectException | NoSuchObjectException e) {
+			if (cached == null) {
+				throw e;
+			}
+			STUBS.remove(url, cached);
+			return call.call((S) lookup(url));
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package rmi;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.rmi.server.RMIClientSocketFactory;
+import java.util.Objects;
+
+/**
+ * Tuned Client Socket Factory makes the sockets of the stubs of a node. It
+ * travels inside the stubs, so the callers of a node use the options the node
+ * was exported with. Equal factories share the connections of an endpoint,
+ * so the options are compared by value.
+ */
+public class TunedClientSocketFactory implements RMIClientSocketFactory,
+		Serializable {
+	private static final long serialVersionUID = 6203312858744376561L;
+
+	/**
+	 * Socket options.
+	 */
+	private final SocketOptions options;
+
+	/**
+	 * Constructor of Tuned Client Socket Factory.
+	 * 
+	 * @param options
+	 *            Socket options.
+	 */
+	public TunedClientSocketFactory(SocketOptions options) {
+		this.options = options;
+	}
+
+	@Override
+	public Socket createSocket(String host, int port) throws IOException {
+		Socket socket = options.isCompressed() ? new CompressedSocket(
+				options.getCompressThreshold()) : new Socket();
+		options.apply(socket);
+		socket.connect(new InetSocketAddress(host, port));
+		return socket;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof TunedClientSocketFactory
+				&& options.equals(((TunedClientSocketFactory) other).options);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(getClass(), options);
+	}
+}
@@ -0,0 +1,62 @@
+package rmi;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.server.RMIServerSocketFactory;
+import java.util.Objects;
+
+/**
+ * Tuned Server Socket Factory makes the listening sockets of a node, giving
+ * every accepted socket the options of its {@link TunedClientSocketFactory}.
+ * Equal factories share a listening port, so the options are compared by
+ * value.
+ */
+public class TunedServerSocketFactory implements RMIServerSocketFactory {
+	/**
+	 * Socket options.
+	 */
+	private final SocketOptions options;
+
+	/**
+	 * Constructor of Tuned Server Socket Factory.
+	 * 
+	 * @param options
+	 *            Socket options.
+	 */
+	public TunedServerSocketFactory(SocketOptions options) {
+		this.options = options;
+	}
+
+	@Override
+	public ServerSocket createServerSocket(int port) throws IOException {
+		ServerSocket serverSocket = new ServerSocket() {
+			@Override
+			public Socket accept() throws IOException {
+				Socket socket = options.isCompressed() ? new CompressedSocket(
+						options.getCompressThreshold()) : new Socket();
+				implAccept(socket);
+				options.apply(socket);
+				return socket;
+			}
+		};
+		if (options.getReceiveBuffer() > 0) {
+			// Set before binding to take effect on the accepted sockets.
+			serverSocket.setReceiveBufferSize(options.getReceiveBuffer());
+		}
+		serverSocket.bind(new InetSocketAddress(port));
+		return serverSocket;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof TunedServerSocketFactory
+				&& options.equals(((TunedServerSocketFactory) other).options);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(getClass(), options);
+	}
+}
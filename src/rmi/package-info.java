@@ -0,0 +1,5 @@
+/**
+ * Socket factories applied to every exported node, and a cache of the stubs
+ * looked up in the registries.
+ */
+package rmi;
@@ -1,16 +1,18 @@
 package server;
 
 import java.net.MalformedURLException;
-import java.rmi.Naming;
 import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -20,12 +22,18 @@ import api.Server;
 import api.Task;
 import api.Universe;
 import config.Config;
+import events.ResultProcessEvent;
+import events.TaskSubmitEvent;
+import metrics.NodeMetrics;
+import rmi.SocketOptions;
+import rmi.StubCache;
+import task.SuccessorTask;
 
 public class ServerImpl extends UnicastRemoteObject implements Server {
 	private static final long serialVersionUID = -7458792337176706359L;
 
 	/**
-	 * Server itslef. One Server in this JVM.
+	 * Server itself, when it runs as a process.
 	 */
 	private static ServerImpl server;
 
@@ -34,6 +42,11 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 	 */
 	private int ID;
 
+	/**
+	 * Name of the Server in the events, Server and its ID.
+	 */
+	private volatile String nodeName = "Server";
+
 	/**
 	 * Task ID. Assigned from Server.
 	 */
@@ -49,6 +62,16 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 	 */
 	private final Map<String, ClientProxy> clientProxies;
 
+	/**
+	 * Universe the Server registered in.
+	 */
+	private final Universe universe;
+
+	/**
+	 * Metrics of the Server.
+	 */
+	private final NodeMetrics metrics;
+
 	/**
 	 * Constructor of Server Implementation. Register to the Universe.
 	 * 
@@ -63,14 +86,28 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 	 */
 	public ServerImpl(final String universeDomainName)
 			throws NotBoundException, MalformedURLException, RemoteException {
+		this((Universe) StubCache.lookup("rmi://" + universeDomainName + ":"
+				+ Universe.PORT + "/" + Universe.SERVICE_NAME));
+	}
+
+	/**
+	 * Constructor of Server Implementation. Register to the Universe.
+	 * 
+	 * @param universe
+	 *            Universe
+	 * @throws RemoteException
+	 *             Cannot connect to the Universe.
+	 */
+	public ServerImpl(final Universe universe) throws RemoteException {
+		super(0, SocketOptions.clientFactory(), SocketOptions.serverFactory());
 		readyTaskQueue = new LinkedBlockingQueue<>();
 		clientProxies = Collections.synchronizedMap(new HashMap<>());
+		metrics = new NodeMetrics("Server");
+		metrics.addGauge("ReadyTaskQueueSize", readyTaskQueue::size);
+		metrics.addGauge("ClientNum", clientProxies::size);
 		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
 				"Server started.");
-		String url = "rmi://" + universeDomainName + ":" + Universe.PORT + "/"
-				+ Universe.SERVICE_NAME;
-		Universe universe;
-		universe = (Universe) Naming.lookup(url);
+		this.universe = universe;
 		universe.register(this);
 	}
 
@@ -119,6 +156,8 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 	@Override
 	public void setID(int serverID) throws RemoteException {
 		this.ID = serverID;
+		this.nodeName = "Server" + serverID;
+		metrics.register(serverID);
 	}
 
 	/**
@@ -137,6 +176,7 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 	 *            Task to be added.
 	 */
 	private void addTask(Task<?> task) {
+		task.enqueued(Task.SERVER_HOP);
 		try {
 			readyTaskQueue.put(task);
 		} catch (InterruptedException e) {
@@ -154,13 +194,56 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 	@Override
 	public Task<?> getTask() throws RemoteException {
 		try {
-			return readyTaskQueue.take();
+			Task<?> task = readyTaskQueue.take();
+			recordWait(task);
+			return task;
 		} catch (InterruptedException e) {
 			e.printStackTrace();
 		}
 		return null;
 	}
 
+	/**
+	 * Get Tasks from Ready Task Queue, waiting for the first one. Call from
+	 * Server Proxy in Universe.
+	 * 
+	 * @param max
+	 *            Max number of Tasks.
+	 * @return Tasks in submit order. Empty if max is below 1.
+	 * @throws RemoteException
+	 *             Cannot connect with Server.
+	 */
+	@Override
+	public List<Task<?>> getTasks(int max) throws RemoteException {
+		List<Task<?>> tasks = new ArrayList<>();
+		if (max < 1) {
+			return tasks;
+		}
+		try {
+			tasks.add(readyTaskQueue.take());
+			readyTaskQueue.drainTo(tasks, max - 1);
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		for (Task<?> task : tasks) {
+			recordWait(task);
+		}
+		return tasks;
+	}
+
+	/**
+	 * Record the wait time of a Task taken from the Ready Task Queue.
+	 * 
+	 * @param task
+	 *            Task taken from the Ready Task Queue.
+	 */
+	private void recordWait(Task<?> task) {
+		long wait = task.dequeued(Task.SERVER_HOP);
+		if (wait >= 0) {
+			metrics.histogram("QueueWait").record(wait);
+		}
+	}
+
 	/**
 	 * Dispatch the Result to corresponding Client Proxy. Call from Server Proxy
 	 * in Universe. If the Client is down, discard the result.
@@ -172,10 +255,44 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 	 */
 	@Override
 	public void dispatchResult(final Result result) throws RemoteException {
-		String resultID[] = result.getID().split(":");
-		String clientID = resultID[0];
-		if (clientProxies.containsKey(clientID)) {
-			clientProxies.get(clientID).addResult(result);
+		ResultProcessEvent event = new ResultProcessEvent();
+		event.begin();
+		// The Result of a coarse job keeps the Task prefix of its ID.
+		String jobID = result.getJobID();
+		String clientID = jobID.substring(0, jobID.indexOf(':'));
+		ClientProxy clientProxy = clientProxies.get(clientID);
+		if (clientProxy != null && result.isPartial()) {
+			// A partial value after the final Result is dropped.
+			if (clientProxy.jobs.containsKey(jobID)) {
+				clientProxy.addResult(result);
+				metrics.counter("PartialResults").increment();
+			}
+		} else if (clientProxy != null) {
+			Long submitTime = clientProxy.jobs.remove(jobID);
+			if (submitTime != null) {
+				metrics.histogram("JobLatency").record(
+						System.nanoTime() - submitTime);
+			}
+			clientProxy.addResult(result);
+			metrics.counter("Results").increment();
+		}
+		event.commit(nodeName, result, null);
+	}
+
+	/**
+	 * Dispatch Results to their Client Proxies. Call from Server Proxy in
+	 * Universe.
+	 * 
+	 * @param results
+	 *            Results to be dispatched.
+	 * @throws RemoteException
+	 *             Cannot connect with Server.
+	 */
+	@Override
+	public void dispatchResults(final List<Result> results)
+			throws RemoteException {
+		for (Result result : results) {
+			dispatchResult(result);
 		}
 	}
 
@@ -214,6 +331,8 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 		final ClientProxy clientProxy = new ClientProxy(clientName, timelimit);
 		clientProxies.put(clientName, clientProxy);
 		clientProxy.start();
+		metrics.addGauge("ResultQueueSize." + clientName,
+				clientProxy.resultQueue::size);
 		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
 				"Client {0} starts!", clientName);
 		return true;
@@ -228,6 +347,7 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 	 */
 	private void unregister(ClientProxy clientProxy) {
 		clientProxies.remove(clientProxy.name);
+		metrics.removeGauge("ResultQueueSize." + clientProxy.name);
 		synchronized (readyTaskQueue) {
 			for (Task<?> task : readyTaskQueue) {
 				String taskID[] = task.getID().split(":");
@@ -236,6 +356,14 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 				}
 			}
 		}
+		String[] jobIDs;
+		synchronized (clientProxy.jobs) {
+			jobIDs = clientProxy.jobs.keySet().toArray(new String[0]);
+			clientProxy.jobs.clear();
+		}
+		for (String jobID : jobIDs) {
+			cancelJob(jobID);
+		}
 		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
 				"Client {0} is down!", clientProxy.name);
 	}
@@ -251,6 +379,86 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 		return true;
 	}
 
+	/**
+	 * Cancel a submitted Task. All the Tasks and Results of the job are
+	 * discarded in Server, Universe, Spaces and Computers. Call from Client.
+	 * 
+	 * @param clientname
+	 *            Client Name
+	 * @param taskID
+	 *            Task ID returned by submit.
+	 * @return True if the Task is cancelled. False otherwise.
+	 * @throws RemoteException
+	 *             Cannot connect with Server
+	 */
+	@Override
+	public boolean cancel(String clientname, String taskID)
+			throws RemoteException {
+		if (clientname == null || !clientProxies.containsKey(clientname)) {
+			System.out.println("Client is not registered in the Server");
+			return false;
+		}
+		if (taskID == null
+				|| clientProxies.get(clientname).jobs.remove(taskID) == null) {
+			System.out.println("Task is not running in the Server");
+			return false;
+		}
+		cancelJob(taskID);
+		return true;
+	}
+
+	/**
+	 * Subscribe to the partial values of a submitted Task. Call from Client.
+	 * 
+	 * @param clientname
+	 *            Client Name
+	 * @param taskID
+	 *            Task ID returned by submit.
+	 * @return True if the Task is subscribed. False otherwise.
+	 * @throws RemoteException
+	 *             Cannot connect with Server
+	 */
+	@Override
+	public boolean subscribe(String clientname, String taskID)
+			throws RemoteException {
+		ClientProxy clientProxy = clientname == null ? null : clientProxies
+				.get(clientname);
+		if (clientProxy == null) {
+			System.out.println("Client is not registered in the Server");
+			return false;
+		}
+		if (taskID == null || !clientProxy.jobs.containsKey(taskID)) {
+			System.out.println("Task is not running in the Server");
+			return false;
+		}
+		universe.subscribe(taskID);
+		return true;
+	}
+
+	/**
+	 * Cancel a job. Remove its Task in the Ready Task Queue and propagate the
+	 * cancellation to the Universe.
+	 * 
+	 * @param jobID
+	 *            Job ID to be cancelled.
+	 */
+	private void cancelJob(String jobID) {
+		synchronized (readyTaskQueue) {
+			for (Task<?> task : readyTaskQueue) {
+				if (jobID.equals(task.getJobID())) {
+					readyTaskQueue.remove(task);
+				}
+			}
+		}
+		try {
+			universe.cancel(jobID);
+		} catch (RemoteException e) {
+			System.out.println("Cannot connect with Universe!");
+		}
+		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
+				"Job {0} is cancelled.", jobID);
+	}
+
 	@Override
 	public String submit(Task<?> task, String clientname)
 			throws RemoteException {
@@ -262,7 +470,19 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 			System.out.println("Client is not registered in the Server");
 			return null;
 		}
-		return clientProxies.get(clientname).submitTask(task).substring(2);
+		return clientProxies.get(clientname).submitTask(task);
+	}
+
+	@Override
+	public List<String> submitAll(List<? extends Task<?>> tasks,
+			String clientname) throws RemoteException {
+		ClientProxy clientProxy = clientname == null ? null : clientProxies
+				.get(clientname);
+		if (tasks == null || clientProxy == null) {
+			System.out.println("Client is not registered in the Server");
+			return null;
+		}
+		return clientProxy.submitTasks(tasks);
 	}
 
 	@Override
@@ -274,6 +494,21 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 		return clientProxies.get(clientname).getResult();
 	}
 
+	@Override
+	public List<Result> getResults(String clientname, int max, long timeout)
+			throws RemoteException {
+		ClientProxy clientProxy = clientname == null ? null : clientProxies
+				.get(clientname);
+		if (clientProxy == null) {
+			System.out.println("Client is not registered in the Server");
+			return null;
+		}
+		if (max < 1) {
+			return new ArrayList<>();
+		}
+		return clientProxy.getResults(max, timeout);
+	}
+
 	/**
 	 * 
 	 * A Client Proxy is to manage its associated Client. It takes Tasks from
@@ -296,6 +531,12 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 		 */
 		private final LinkedBlockingQueue<Result> resultQueue;
 
+		/**
+		 * Submit time in nanoseconds of the submitted Tasks whose Results are
+		 * not dispatched, by Job ID.
+		 */
+		private final Map<String, Long> jobs;
+
 		/**
 		 * Max run time.
 		 */
@@ -323,6 +564,7 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 			this.name = clientName;
 			this.timeLimit = timeLimit;
 			this.timer = new Timer();
+			this.jobs = Collections.synchronizedMap(new HashMap<>());
 			resultQueue = new LinkedBlockingQueue<Result>();
 		}
 
@@ -386,25 +628,90 @@ public class ServerImpl extends UnicastRemoteObject implements Server {
 			return null;
 		}
 
+		/**
+		 * Get the Results from Result Queue, waiting for the first one.
+		 * 
+		 * @param max
+		 *            Max number of Results.
+		 * @param timeout
+		 *            Max time to wait for the first Result in milliseconds.
+		 * @return Results, empty if none arrived in time.
+		 */
+		private List<Result> getResults(int max, long timeout) {
+			List<Result> results = new ArrayList<>();
+			try {
+				Result result = resultQueue.poll(timeout, TimeUnit.MILLISECONDS);
+				if (result != null) {
+					results.add(result);
+					resultQueue.drainTo(results, max - 1);
+				}
+			} catch (InterruptedException e) {
+			}
+			return results;
+		}
+
 		/**
 		 * Assign Task ID and Target ID to the task to be added into Server's
 		 * Ready Task Queue. TaskID is ServerID:ClientID:TaskID
 		 * 
 		 * @param task
 		 *            Task to be submitted.
-		 * @return Task ID
+		 * @return Task ID without the Task prefix. Taken before the task is
+		 *         added, as the Universe may change the ID of the task.
 		 */
 		private String submitTask(Task<?> task) {
-			String taskID = this.name + ":" + makeTaskID() + ":S" + server.ID
-					+ ":" + server.makeTaskID();
+			String taskID = this.name + ":" + makeTaskID() + ":S" + ID + ":"
+					+ ServerImpl.this.makeTaskID();
 			task.setID("!:" + taskID);
 			task.setTargetID("$:" + taskID);
-			server.addTask(task);
+			limitDeadline(task);
+			jobs.put(taskID, System.nanoTime());
+			metrics.counter("Tasks").increment();
+			addTask(task);
+			new TaskSubmitEvent().commit(nodeName, task);
 			if (Config.DEBUG) {
-				System.out.println("Server-Client Proxy: Task " + task.getID()
+				System.out.println("Server-Client Proxy: Task " + taskID
 						+ " is added to Server ReadyTaskQueue.");
 			}
-			return task.getID();
+			return taskID;
+		}
+
+		/**
+		 * Submit the tasks one after another with submitTask, in one call
+		 * from the Client.
+		 * 
+		 * @param tasks
+		 *            Tasks to be submitted.
+		 * @return Task IDs without the Task prefix, null for a null Task.
+		 */
+		private List<String> submitTasks(List<? extends Task<?>> tasks) {
+			List<String> taskIDs = new ArrayList<>(tasks.size());
+			for (Task<?> task : tasks) {
+				taskIDs.add(task == null ? null : submitTask(task));
+			}
+			return taskIDs;
+		}
+
+		/**
+		 * Keep the deadline of a task within the time limit of the Client,
+		 * after which its Result would be lost, so the best answer found is
+		 * returned in time. Only a task whose Client set a deadline, or one
+		 * taking the best of its arguments, is given one. Any other job runs
+		 * to its exact value, as a job expiring without a value fails.
+		 * 
+		 * @param task
+		 *            Task submitted.
+		 */
+		private void limitDeadline(Task<?> task) {
+			if (task.getDeadline() == 0
+					&& !(task instanceof SuccessorTask && ((SuccessorTask<?>) task)
+							.isBestOf())) {
+				return;
+			}
+			long end = startTime + timeLimit * 60 * 1000L;
+			if (task.getDeadline() == 0 || task.getDeadline() > end) {
+				task.setDeadline(end);
+			}
 		}
 
 		private class Timer extends Thread {
@@ -0,0 +1,37 @@
+package simulator;
+
+import api.Result;
+import api.Task;
+
+/**
+ * Execution is a task run by the simulator: its Result, whether the Result
+ * goes to the Universe, and its execution time on the simulated node.
+ */
+class Execution {
+	/**
+	 * Executed task.
+	 */
+	final Task<?> task;
+
+	/**
+	 * Result of the task.
+	 */
+	final Result result;
+
+	/**
+	 * True if the Result is processed in the Universe.
+	 */
+	final boolean coarse;
+
+	/**
+	 * Execution time in ns.
+	 */
+	final long cost;
+
+	Execution(Task<?> task, Result result, boolean coarse, long cost) {
+		this.task = task;
+		this.result = result;
+		this.coarse = coarse;
+		this.cost = cost;
+	}
+}
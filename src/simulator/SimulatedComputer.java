@@ -0,0 +1,124 @@
+package simulator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import api.Result;
+import api.Task;
+import result.TaskResult;
+import trace.JobTracer;
+
+/**
+ * Simulated Computer runs tasks on its Workers at its speed, and keeps
+ * subtasks of the fine tasks it decomposes as ComputerImpl does with
+ * Amelioration.
+ */
+class SimulatedComputer {
+	/**
+	 * Simulator.
+	 */
+	private final Simulator simulator;
+
+	/**
+	 * Space of the Computer.
+	 */
+	private final SimulatedSpace space;
+
+	/**
+	 * Speed relative to the machine running the simulator.
+	 */
+	private final double speed;
+
+	/**
+	 * Number of Workers.
+	 */
+	private final int workerNum;
+
+	/**
+	 * Number of idle Workers.
+	 */
+	private int idleWorkerNum;
+
+	/**
+	 * Ready Task Queue.
+	 */
+	private final Deque<Task<?>> readyTaskQueue;
+
+	/**
+	 * Link to Space.
+	 */
+	private final Simulator.Link link;
+
+	/**
+	 * Time the Workers spent running tasks in ns.
+	 */
+	long busyTime;
+
+	SimulatedComputer(Simulator simulator, SimulatedSpace space,
+			int workerNum, double speed) {
+		this.simulator = simulator;
+		this.space = space;
+		this.workerNum = workerNum;
+		this.idleWorkerNum = workerNum;
+		this.speed = speed;
+		this.readyTaskQueue = new ArrayDeque<>();
+		this.link = new Simulator.Link();
+	}
+
+	/**
+	 * Check if the Computer is busy, as ComputerImpl.isBusy.
+	 * 
+	 * @return True if Computer is busy. False otherwise.
+	 */
+	boolean isBusy() {
+		return readyTaskQueue.size() > simulator.config.computerWorkload
+				* workerNum;
+	}
+
+	/**
+	 * Add a task to Ready Task Queue. Call when the task arrives from Space.
+	 * 
+	 * @param task
+	 *            The Task to be added.
+	 */
+	void addTask(Task<?> task) {
+		readyTaskQueue.add(task);
+		dispatch();
+	}
+
+	/**
+	 * Start tasks on the idle Workers.
+	 */
+	private void dispatch() {
+		while (idleWorkerNum > 0 && !readyTaskQueue.isEmpty()) {
+			Task<?> task = readyTaskQueue.poll();
+			idleWorkerNum--;
+			Execution execution = simulator.execute(task, speed,
+					JobTracer.COMPUTER_TIER);
+			busyTime += execution.cost;
+			simulator.schedule(execution.cost, () -> finish(execution));
+		}
+	}
+
+	/**
+	 * Finish a task: keep the cached subtasks and send the Result to Space.
+	 */
+	private void finish(Execution execution) {
+		idleWorkerNum++;
+		Result result = execution.result;
+		List<? extends Task<?>> cachedTasks = null;
+		if (!execution.coarse && simulator.config.cacheTaskNum > 0
+				&& result.getType() == Result.TASKRESULT) {
+			TaskResult<?> taskResult = (TaskResult<?>) result;
+			taskResult.setRunningTasks(simulator.config.cacheTaskNum);
+			cachedTasks = taskResult.getRunningTasks();
+		}
+		simulator.schedule(simulator.send(link, result),
+				() -> space.receive(execution));
+		if (cachedTasks != null) {
+			readyTaskQueue.addAll(cachedTasks);
+		}
+		dispatch();
+	}
+}
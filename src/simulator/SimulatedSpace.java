@@ -0,0 +1,229 @@
+package simulator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import api.Result;
+import api.Task;
+import result.TaskResult;
+import result.ValueResult;
+import task.SuccessorTask;
+import trace.JobTracer;
+
+/**
+ * Simulated Space dispatches its Ready Tasks to its Computers, one Computer
+ * Proxy each, and processes their fine Results, as SpaceImpl does. Coarse
+ * Results and values for successor tasks kept in the Universe are forwarded
+ * to the Universe.
+ */
+class SimulatedSpace {
+	/**
+	 * Simulator.
+	 */
+	private final Simulator simulator;
+
+	/**
+	 * Universe of the Space.
+	 */
+	private final SimulatedUniverse universe;
+
+	/**
+	 * Ready Task Queue.
+	 */
+	private final Deque<Task<?>> readyTaskQueue;
+
+	/**
+	 * Successor Task Map.
+	 */
+	private final Map<String, SuccessorTask<?>> successorTaskMap;
+
+	/**
+	 * Computer Proxies waiting for a Ready Task.
+	 */
+	private final Deque<ComputerProxy> waitingProxies;
+
+	/**
+	 * Space Runnable tasks waiting for a Space Worker.
+	 */
+	private final Deque<SuccessorTask<?>> spaceTaskQueue;
+
+	/**
+	 * Number of Space Runnable tasks the Space runs at once.
+	 */
+	private final int spaceWorkerNum;
+
+	/**
+	 * Number of Space Runnable tasks running.
+	 */
+	private int runningSpaceTaskNum;
+
+	/**
+	 * Link to Universe.
+	 */
+	private final Simulator.Link link;
+
+	SimulatedSpace(Simulator simulator, SimulatedUniverse universe) {
+		this.simulator = simulator;
+		this.universe = universe;
+		this.readyTaskQueue = new ArrayDeque<>();
+		this.successorTaskMap = new HashMap<>();
+		this.waitingProxies = new ArrayDeque<>();
+		this.spaceTaskQueue = new ArrayDeque<>();
+		this.spaceWorkerNum = simulator.config.spaceWorkers > 0 ?
+				simulator.config.spaceWorkers : simulator.config.computers;
+		this.link = new Simulator.Link();
+	}
+
+	/**
+	 * Register a Computer and start its Computer Proxy.
+	 * 
+	 * @param computer
+	 *            Computer.
+	 */
+	void register(SimulatedComputer computer) {
+		new ComputerProxy(computer).send();
+	}
+
+	/**
+	 * Add a task to Ready Task Queue, waking up a waiting Computer Proxy.
+	 * Call when the task arrives from Universe, and from inside.
+	 * 
+	 * @param task
+	 *            Task.
+	 */
+	void addReadyTask(Task<?> task) {
+		readyTaskQueue.add(task);
+		ComputerProxy proxy = waitingProxies.poll();
+		if (proxy != null) {
+			simulator.schedule(0, proxy::send);
+		}
+	}
+
+	/**
+	 * Receive a Result from a Computer.
+	 * 
+	 * @param execution
+	 *            Execution of the Result.
+	 */
+	void receive(Execution execution) {
+		if (execution.coarse) {
+			forward(execution);
+		} else {
+			process(execution);
+		}
+	}
+
+	/**
+	 * Forward a Result to Universe.
+	 */
+	private void forward(Execution execution) {
+		simulator.schedule(simulator.send(link, execution.result),
+				() -> universe.receive(execution));
+	}
+
+	/**
+	 * Process a fine Result, as TaskResult.process and ValueResult.process
+	 * with Space.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void process(Execution execution) {
+		Result result = execution.result;
+		if (result.getType() == Result.TASKRESULT) {
+			TaskResult<?> taskResult = (TaskResult<?>) result;
+			Task<?> successor = taskResult.getSubTasks().get(0);
+			successorTaskMap.put(successor.getID(),
+					(SuccessorTask<?>) successor);
+			for (int i = 1; i < taskResult.getSubTasks().size(); i++) {
+				addReadyTask(taskResult.getSubTasks().get(i));
+			}
+			return;
+		}
+		ValueResult<?> valueResult = (ValueResult<?>) result;
+		SuccessorTask successor = successorTaskMap.get(valueResult
+				.getTargetTaskID());
+		if (successor == null) {
+			forward(execution);
+			return;
+		}
+		successor.setArgAt(valueResult.getTargetArgIndex(),
+				valueResult.getResultValue());
+		if (!successor.isRunnable()) {
+			return;
+		}
+		successorTaskMap.remove(successor.getID());
+		if (successor.isSpaceRunnable()
+				&& simulator.random.nextDouble() < simulator.config.spaceExecute) {
+			// Space Direct Execution.
+			spaceExecute(successor);
+		} else {
+			addReadyTask(successor);
+		}
+	}
+
+	/**
+	 * Run a Space Runnable task on a free Space Worker, or queue it until one
+	 * is free.
+	 */
+	private void spaceExecute(SuccessorTask<?> successor) {
+		if (runningSpaceTaskNum >= spaceWorkerNum) {
+			spaceTaskQueue.add(successor);
+			return;
+		}
+		runningSpaceTaskNum++;
+		Execution spaceExecution = simulator.execute(successor, 1,
+				JobTracer.SPACE_TIER);
+		simulator.schedule(spaceExecution.cost, () -> {
+			runningSpaceTaskNum--;
+			SuccessorTask<?> next = spaceTaskQueue.poll();
+			if (next != null) {
+				spaceExecute(next);
+			}
+			receive(spaceExecution);
+		});
+	}
+
+	/**
+	 * Computer Proxy sends the Ready Tasks to its Computer one at a time,
+	 * retrying after the batching window while the Computer is busy, as the
+	 * Send Service of SpaceImpl.
+	 */
+	private class ComputerProxy {
+		/**
+		 * Computer associated with this Computer Proxy.
+		 */
+		private final SimulatedComputer computer;
+
+		/**
+		 * Link to the Computer.
+		 */
+		private final Simulator.Link link;
+
+		ComputerProxy(SimulatedComputer computer) {
+			this.computer = computer;
+			this.link = new Simulator.Link();
+		}
+
+		/**
+		 * Send a Ready Task to the Computer, or wait.
+		 */
+		private void send() {
+			if (computer.isBusy()) {
+				simulator.schedule(simulator.config.batchWindow * 1000,
+						this::send);
+				return;
+			}
+			Task<?> task = readyTaskQueue.poll();
+			if (task == null) {
+				waitingProxies.add(this);
+				return;
+			}
+			long delay = simulator.send(link, task);
+			simulator.schedule(delay, () -> computer.addTask(task));
+			// The remote call returns after the round trip.
+			simulator.schedule(delay + simulator.config.latency * 1000,
+					this::send);
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package simulator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import api.Result;
+import api.Task;
+import result.TaskResult;
+import result.ValueResult;
+import task.SuccessorTask;
+
+/**
+ * Simulated Universe dispatches its Ready Tasks to the Spaces, one Space
+ * Proxy each taking a task every batching window, and processes the coarse
+ * Results, as UniverseImpl does.
+ */
+class SimulatedUniverse {
+	/**
+	 * Simulator.
+	 */
+	private final Simulator simulator;
+
+	/**
+	 * Ready Task Queue.
+	 */
+	private final Deque<Task<?>> readyTaskQueue;
+
+	/**
+	 * Successor Task Map.
+	 */
+	private final Map<String, SuccessorTask<?>> successorTaskMap;
+
+	/**
+	 * Space Proxies waiting for a Ready Task.
+	 */
+	private final Deque<SpaceProxy> waitingProxies;
+
+	SimulatedUniverse(Simulator simulator) {
+		this.simulator = simulator;
+		this.readyTaskQueue = new ArrayDeque<>();
+		this.successorTaskMap = new HashMap<>();
+		this.waitingProxies = new ArrayDeque<>();
+	}
+
+	/**
+	 * Register a Space and start its Space Proxy.
+	 * 
+	 * @param space
+	 *            Space.
+	 */
+	void register(SimulatedSpace space) {
+		waitingProxies.add(new SpaceProxy(space));
+	}
+
+	/**
+	 * Add a task to Ready Task Queue, waking up the waiting Space Proxies at
+	 * the end of their batching window. Call when a job is submitted, and
+	 * from inside.
+	 * 
+	 * @param task
+	 *            Task.
+	 */
+	void addReadyTask(Task<?> task) {
+		readyTaskQueue.add(task);
+		SpaceProxy proxy;
+		while ((proxy = waitingProxies.poll()) != null) {
+			simulator.schedule(simulator.config.batchWindow * 1000,
+					proxy::send);
+		}
+	}
+
+	/**
+	 * Receive a Result from a Space, as TaskResult.process and
+	 * ValueResult.process with Universe.
+	 * 
+	 * @param execution
+	 *            Execution of the Result.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	void receive(Execution execution) {
+		Result result = execution.result;
+		if (result.getType() == Result.TASKRESULT) {
+			TaskResult<?> taskResult = (TaskResult<?>) result;
+			Task<?> successor = taskResult.getSubTasks().get(0);
+			successorTaskMap.put(successor.getID(),
+					(SuccessorTask<?>) successor);
+			for (int i = 1; i < taskResult.getSubTasks().size(); i++) {
+				addReadyTask(taskResult.getSubTasks().get(i));
+			}
+			return;
+		}
+		ValueResult<?> valueResult = (ValueResult<?>) result;
+		if (valueResult.isFinal()) {
+			simulator.finish(valueResult);
+			return;
+		}
+		SuccessorTask successor = successorTaskMap.get(valueResult
+				.getTargetTaskID());
+		if (successor == null) {
+			simulator.lost(valueResult);
+			return;
+		}
+		successor.setArgAt(valueResult.getTargetArgIndex(),
+				valueResult.getResultValue());
+		if (successor.isRunnable()) {
+			successorTaskMap.remove(successor.getID());
+			addReadyTask(successor);
+		}
+	}
+
+	/**
+	 * Space Proxy sleeps for the batching window, then sends a Ready Task to
+	 * its Space, as the Send Service of UniverseImpl.
+	 */
+	private class SpaceProxy {
+		/**
+		 * Associated Space.
+		 */
+		private final SimulatedSpace space;
+
+		/**
+		 * Link to the Space.
+		 */
+		private final Simulator.Link link;
+
+		SpaceProxy(SimulatedSpace space) {
+			this.space = space;
+			this.link = new Simulator.Link();
+		}
+
+		/**
+		 * Send a Ready Task to the Space, or wait.
+		 */
+		private void send() {
+			Task<?> task = readyTaskQueue.poll();
+			if (task == null) {
+				waitingProxies.add(this);
+				return;
+			}
+			long delay = simulator.send(link, task);
+			simulator.schedule(delay, () -> space.addReadyTask(task));
+			// The remote call returns after the round trip.
+			simulator.schedule(delay + simulator.config.latency * 1000
+					+ simulator.config.batchWindow * 1000, this::send);
+		}
+	}
+}
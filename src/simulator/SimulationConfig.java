@@ -0,0 +1,203 @@
+package simulator;
+
+import config.Config;
+
+/**
+ * Simulation Config is the cluster, the network and the dispatch policy of a
+ * simulation. The policy defaults to the one in {@link Config}.
+ * <p>
+ * Every value can be set on the command line as name=value, for example
+ * computers=1000 latency=200 coarseLayer=5.
+ * </p>
+ */
+public class SimulationConfig {
+	/**
+	 * Job, as made by cluster.Workloads.
+	 */
+	String job = "fib:20";
+
+	/**
+	 * Number of jobs.
+	 */
+	int jobs = 1;
+
+	/**
+	 * Interval between two job submissions in microseconds.
+	 */
+	long interval = 0;
+
+	/**
+	 * Number of Spaces.
+	 */
+	int spaces = 1;
+
+	/**
+	 * Number of Computers of each Space.
+	 */
+	int computers = 4;
+
+	/**
+	 * Number of Workers of each Computer.
+	 */
+	int workers = 4;
+
+	/**
+	 * Spread of the Computer speeds. A Computer runs at a speed drawn from 1 -
+	 * speedSpread to 1 + speedSpread.
+	 */
+	double speedSpread = 0;
+
+	/**
+	 * One-way network latency in microseconds.
+	 */
+	long latency = 100;
+
+	/**
+	 * Network bandwidth in MB/s.
+	 */
+	double bandwidth = 100;
+
+	/**
+	 * Batching window in microseconds: the interval of the Universe sending
+	 * tasks to a Space, and of a Space retrying a busy Computer.
+	 */
+	long batchWindow = 5000;
+
+	/**
+	 * Last layer of coarse tasks, processed in the Universe. -1 keeps the
+	 * coarse layer of the tasks.
+	 */
+	int coarseLayer = -1;
+
+	/**
+	 * Number of subtasks a Computer keeps for itself after decomposing a fine
+	 * task. Config.CacheTaskNum by default, 0 without Amelioration.
+	 */
+	int cacheTaskNum = Config.AmeliorationFlag ? Config.CacheTaskNum : 0;
+
+	/**
+	 * Threshold of a busy Computer, in tasks per Worker.
+	 */
+	int computerWorkload = Config.ComputerWorkload;
+
+	/**
+	 * Probability of a Space running a ready Space Runnable successor task
+	 * itself.
+	 */
+	double spaceExecute = Config.SpaceExecutTaskFlag ? 0.5 : 0;
+
+	/**
+	 * Number of Space Runnable tasks a Space runs at once. 0 runs one per
+	 * Computer, as SpaceImpl runs them on the Receive Service of each
+	 * Computer Proxy.
+	 */
+	int spaceWorkers = 0;
+
+	/**
+	 * Execution time of every task in microseconds. 0 uses the time measured
+	 * when the simulator runs the task.
+	 */
+	long taskCost = 0;
+
+	/**
+	 * Seed of the random numbers.
+	 */
+	long seed = 1;
+
+	/**
+	 * Set a value by its name.
+	 * 
+	 * @param name
+	 *            Name of the value.
+	 * @param value
+	 *            Value.
+	 */
+	public void set(String name, String value) {
+		switch (name) {
+		case "job":
+			job = value;
+			break;
+		case "jobs":
+			jobs = Integer.parseInt(value);
+			break;
+		case "interval":
+			interval = Long.parseLong(value);
+			break;
+		case "spaces":
+			spaces = Integer.parseInt(value);
+			break;
+		case "computers":
+			computers = Integer.parseInt(value);
+			break;
+		case "workers":
+			workers = Integer.parseInt(value);
+			break;
+		case "speedSpread":
+			speedSpread = Double.parseDouble(value);
+			break;
+		case "latency":
+			latency = Long.parseLong(value);
+			break;
+		case "bandwidth":
+			bandwidth = Double.parseDouble(value);
+			break;
+		case "batchWindow":
+			batchWindow = Long.parseLong(value);
+			break;
+		case "coarseLayer":
+			coarseLayer = Integer.parseInt(value);
+			break;
+		case "cacheTaskNum":
+			cacheTaskNum = Integer.parseInt(value);
+			break;
+		case "computerWorkload":
+			computerWorkload = Integer.parseInt(value);
+			break;
+		case "spaceExecute":
+			spaceExecute = Double.parseDouble(value);
+			break;
+		case "spaceWorkers":
+			spaceWorkers = Integer.parseInt(value);
+			break;
+		case "taskCost":
+			taskCost = Long.parseLong(value);
+			break;
+		case "seed":
+			seed = Long.parseLong(value);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown value: " + name);
+		}
+	}
+
+	/**
+	 * Make a Simulation Config from name=value arguments.
+	 * 
+	 * @param args
+	 *            Arguments.
+	 * @return Simulation Config.
+	 */
+	public static SimulationConfig parse(String[] args) {
+		SimulationConfig config = new SimulationConfig();
+		for (String arg : args) {
+			int equal = arg.indexOf('=');
+			if (equal < 0) {
+				throw new IllegalArgumentException("Bad argument: " + arg);
+			}
+			config.set(arg.substring(0, equal), arg.substring(equal + 1));
+		}
+		return config;
+	}
+
+	@Override
+	public String toString() {
+		return "job=" + job + " jobs=" + jobs + " interval=" + interval
+				+ " spaces=" + spaces + " computers=" + computers + " workers="
+				+ workers + " speedSpread=" + speedSpread + " latency="
+				+ latency + " bandwidth=" + bandwidth + " batchWindow="
+				+ batchWindow + " coarseLayer=" + coarseLayer
+				+ " cacheTaskNum=" + cacheTaskNum + " computerWorkload="
+				+ computerWorkload + " spaceExecute=" + spaceExecute
+				+ " spaceWorkers=" + spaceWorkers + " taskCost=" + taskCost + " seed=" + seed;
+	}
+}
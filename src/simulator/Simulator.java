@@ -0,0 +1,360 @@
+package simulator;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import api.Result;
+import api.Task;
+import cluster.Workloads;
+import result.TaskResult;
+import result.ValueResult;
+import trace.JobTracer;
+
+/**
+ * Simulator runs jobs on a simulated Universe, Spaces and Computers. The
+ * tasks are the real ones: they are executed, and their Results decide the
+ * shape of the job. Everything else is simulated: the clock, the network,
+ * with its latency and bandwidth, and the speed of the Computers. The nodes
+ * make the same dispatch decisions as the real ones, so a dispatch policy can
+ * be tried on thousands of Computers in a single thread.
+ * <p>
+ * Usage: Simulator [name=value]... with the names of
+ * {@link SimulationConfig}.
+ * </p>
+ */
+public class Simulator {
+	/**
+	 * Simulation Config.
+	 */
+	final SimulationConfig config;
+
+	/**
+	 * Random numbers of the simulation.
+	 */
+	final Random random;
+
+	/**
+	 * Simulated time in ns.
+	 */
+	private long now;
+
+	/**
+	 * Number of events scheduled, which orders the events of the same time.
+	 */
+	private long sequence;
+
+	/**
+	 * Events to come.
+	 */
+	private final PriorityQueue<Event> events;
+
+	/**
+	 * Universe.
+	 */
+	private final SimulatedUniverse universe;
+
+	/**
+	 * Computers.
+	 */
+	private final List<SimulatedComputer> computers;
+
+	/**
+	 * Job ID to submit time.
+	 */
+	private final Map<String, Long> jobs;
+
+	/**
+	 * Latencies of the finished jobs in ns.
+	 */
+	private final List<Long> latencies;
+
+	/**
+	 * Number of tasks executed in each tier.
+	 */
+	private final long[] tierTasks;
+
+	/**
+	 * Number of messages sent.
+	 */
+	private long messages;
+
+	/**
+	 * Number of bytes sent.
+	 */
+	private long bytes;
+
+	/**
+	 * Number of values whose successor task was not found.
+	 */
+	private long lostResults;
+
+	/**
+	 * Task ID.
+	 */
+	private long taskID;
+
+	/**
+	 * Constructor of Simulator. Build the cluster.
+	 *
+	 * @param config
+	 *            Simulation Config.
+	 */
+	public Simulator(SimulationConfig config) {
+		this.config = config;
+		this.random = new Random(config.seed);
+		this.events = new PriorityQueue<>();
+		this.universe = new SimulatedUniverse(this);
+		this.computers = new ArrayList<>();
+		this.jobs = new HashMap<>();
+		this.latencies = new ArrayList<>();
+		this.tierTasks = new long[2];
+		for (int i = 0; i < config.spaces; i++) {
+			SimulatedSpace space = new SimulatedSpace(this, universe);
+			universe.register(space);
+			for (int j = 0; j < config.computers; j++) {
+				double speed = 1 + config.speedSpread
+						* (2 * random.nextDouble() - 1);
+				SimulatedComputer computer = new SimulatedComputer(this,
+						space, config.workers, Math.max(speed, 0.01));
+				computers.add(computer);
+				space.register(computer);
+			}
+		}
+	}
+
+	/**
+	 * Schedule an action.
+	 *
+	 * @param delay
+	 *            Delay from now in ns.
+	 * @param action
+	 *            Action.
+	 */
+	void schedule(long delay, Runnable action) {
+		events.add(new Event(now + delay, sequence++, action));
+	}
+
+	/**
+	 * Send a message over a link. A message is transmitted after the ones
+	 * sent before it on the link, at the bandwidth, and arrives after the
+	 * latency, so messages arrive in the order they are sent, as the calls of
+	 * a proxy thread.
+	 *
+	 * @param link
+	 *            Link.
+	 * @param message
+	 *            Task or Result.
+	 * @return Time for the message to arrive in ns.
+	 */
+	long send(Link link, Object message) {
+		long size = sizeOf(message);
+		messages++;
+		bytes += size;
+		long start = Math.max(now, link.busyUntil);
+		link.busyUntil = start + (long) (size * 1000 / config.bandwidth);
+		return link.busyUntil + config.latency * 1000 - now;
+	}
+
+	/**
+	 * Execute a task and give its subtasks their Task IDs, as
+	 * ComputerImpl.execute.
+	 *
+	 * @param task
+	 *            Task.
+	 * @param speed
+	 *            Speed of the executing node.
+	 * @param tier
+	 *            Tier of the executing node.
+	 * @return Execution.
+	 */
+	<T> Execution execute(Task<T> task, double speed, int tier) {
+		Result result = task.execute();
+		if (result.getType() == Result.TASKRESULT) {
+			@SuppressWarnings("unchecked")
+			List<Task<T>> subtasks = ((TaskResult<T>) result).getSubTasks();
+			Task<T> successor = subtasks.get(0);
+			successor.setID(task.getJobID() + ":" + (++taskID));
+			for (int i = 1; i < subtasks.size(); i++) {
+				subtasks.get(i).setID(task.getJobID() + ":" + (++taskID));
+				subtasks.get(i).setTargetID(successor.getID());
+			}
+		}
+		tierTasks[tier]++;
+		long cost = config.taskCost > 0 ? config.taskCost * 1000 : result
+				.getTaskRuntime();
+		boolean coarse = config.coarseLayer < 0 ? result.isCoarse() : task
+				.getLayer() <= config.coarseLayer;
+		return new Execution(task, result, coarse, (long) (cost / speed));
+	}
+
+	/**
+	 * Finish a job with its final value.
+	 *
+	 * @param result
+	 *            Final value.
+	 */
+	void finish(ValueResult<?> result) {
+		Long submitTime = jobs.remove(result.getJobID());
+		if (submitTime != null) {
+			latencies.add(now - submitTime);
+		}
+	}
+
+	/**
+	 * Count a value whose successor task was not found.
+	 *
+	 * @param result
+	 *            Value.
+	 */
+	void lost(ValueResult<?> result) {
+		lostResults++;
+	}
+
+	/**
+	 * Submit the jobs and run until no event is left.
+	 */
+	public void run() {
+		for (int i = 0; i < config.jobs; i++) {
+			Task<?> task = Workloads.makeTask(config.job);
+			task.setID("Sim:" + i + ":S0:0");
+			task.setTargetID("$:Sim:" + i);
+			schedule(i * config.interval * 1000, () -> {
+				jobs.put(task.getJobID(), now);
+				universe.addReadyTask(task);
+			});
+		}
+		Event event;
+		while ((event = events.poll()) != null) {
+			now = event.time;
+			event.action.run();
+		}
+	}
+
+	/**
+	 * Print the results of the simulation.
+	 */
+	public void report() {
+		long busyTime = 0;
+		for (SimulatedComputer computer : computers) {
+			busyTime += computer.busyTime;
+		}
+		int workerNum = computers.size() * config.workers;
+		Collections.sort(latencies);
+		System.out.println(config);
+		System.out.printf("Makespan:          %.3f ms%n", now / 1e6);
+		System.out.printf("Jobs finished:     %d of %d%n", latencies.size(),
+				config.jobs);
+		if (!latencies.isEmpty()) {
+			long sum = 0;
+			for (long latency : latencies) {
+				sum += latency;
+			}
+			System.out.printf(
+					"Job latency:       mean %.3f ms, p50 %.3f ms, max %.3f ms%n",
+					sum / 1e6 / latencies.size(),
+					latencies.get(latencies.size() / 2) / 1e6,
+					latencies.get(latencies.size() - 1) / 1e6);
+		}
+		System.out.printf("Tasks:             %d on Computers, %d on Spaces%n",
+				tierTasks[JobTracer.COMPUTER_TIER],
+				tierTasks[JobTracer.SPACE_TIER]);
+		System.out.printf("Messages:          %d, %.3f MB%n", messages,
+				bytes / 1e6);
+		System.out.printf("Worker utilization: %.1f%% of %d Workers%n",
+				now == 0 ? 0 : 100.0 * busyTime / now / workerNum, workerNum);
+		if (lostResults > 0) {
+			System.out.println("Lost values:       " + lostResults);
+		}
+	}
+
+	/**
+	 * Get the serialized size of a message in bytes.
+	 */
+	private static long sizeOf(Object message) {
+		CountingOutputStream counter = new CountingOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(counter)) {
+			oos.writeObject(message);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return counter.count;
+	}
+
+	public static void main(String[] args) {
+		SimulationConfig config;
+		try {
+			config = SimulationConfig.parse(args);
+		} catch (IllegalArgumentException e) {
+			System.out.println(e.getMessage());
+			System.out.println("Usage: Simulator [name=value]...");
+			return;
+		}
+		long start = System.nanoTime();
+		Simulator simulator = new Simulator(config);
+		simulator.run();
+		simulator.report();
+		System.out.printf("Simulated in %.3f s%n",
+				(System.nanoTime() - start) / 1e9);
+	}
+
+	/**
+	 * An action at a simulated time.
+	 */
+	private static class Event implements Comparable<Event> {
+		private final long time;
+		private final long sequence;
+		private final Runnable action;
+
+		Event(long time, long sequence, Runnable action) {
+			this.time = time;
+			this.sequence = sequence;
+			this.action = action;
+		}
+
+		@Override
+		public int compareTo(Event other) {
+			if (time != other.time) {
+				return Long.compare(time, other.time);
+			}
+			return Long.compare(sequence, other.sequence);
+		}
+	}
+
+	/**
+	 * One direction of the connection between two nodes.
+	 */
+	static class Link {
+		/**
+		 * Time in ns the last message sent is transmitted.
+		 */
+		private long busyUntil;
+	}
+
+	/**
+	 * Output Stream only counting the bytes written.
+	 */
+	private static class CountingOutputStream extends OutputStream {
+		/**
+		 * Number of bytes written.
+		 */
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * Discrete-event simulator of the Universe, Space and Computer hierarchy,
+ * running the real tasks on a simulated clock and network.
+ */
+package simulator;
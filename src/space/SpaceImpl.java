@@ -1,14 +1,19 @@
 package space;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
-import java.rmi.Naming;
 import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -21,8 +26,22 @@ import api.Space;
 import api.Task;
 import api.Universe;
 import config.Config;
+import events.RemoteReceiveEvent;
+import events.ResultProcessEvent;
+import events.TaskDispatchEvent;
+import events.TaskExecuteEvent;
+import metrics.NodeMetrics;
+import result.ErrorResult;
 import result.ValueResult;
+import rmi.SocketOptions;
+import rmi.StubCache;
+import task.CancelledJobs;
+import task.SuccessorSweeper;
 import task.SuccessorTask;
+import task.SuccessorTaskMap;
+import trace.JobTracer;
+import trace.Tracer;
+import transport.SpaceTransport;
 
 /**
  * 
@@ -33,14 +52,19 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 	private static final long serialVersionUID = 8482035337875894981L;
 
 	/**
-	 * Space itslef. One Space in this JVM.
+	 * Space itself, when it runs as a process.
 	 */
 	private static SpaceImpl space;
 
 	/**
 	 * Space ID.
 	 */
-	private static int ID;
+	private int ID;
+
+	/**
+	 * Name of the Space in the events, Space and its ID.
+	 */
+	private volatile String nodeName = "Space";
 
 	/**
 	 * Computer Id.
@@ -55,21 +79,57 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 	/**
 	 * Successor Task Map. Containing successor tasks waiting for arguments.
 	 */
-	private final Map<String, Task<?>> successorTaskMap;
+	private final SuccessorTaskMap successorTaskMap;
+
+	/**
+	 * Successor Sweeper. Tasks are taken from Ready Task Queue through it.
+	 */
+	private final SuccessorSweeper successorSweeper;
 
 	/**
 	 * Result Queue. Containing the final result of the coarse task.
 	 */
 	private final BlockingQueue<Result> resultQueue;
 
+	/**
+	 * Cancelled Jobs. Tasks and Results of these jobs are discarded.
+	 */
+	private final CancelledJobs cancelledJobs;
+
+	/**
+	 * Deadlines of the jobs having one, in milliseconds since the epoch, by
+	 * Job ID. Learnt from the Tasks of the Universe, forgotten past the
+	 * deadline or once no task of the job is left.
+	 */
+	private final Map<String, Long> deadlines;
+
+	/**
+	 * Number of failed executions of each task.
+	 */
+	private final Map<String, Integer> taskFailures;
+
+	/**
+	 * Quarantined Tasks. Tasks failed too many times, not to be dispatched
+	 * again.
+	 */
+	private final Map<String, Task<?>> quarantinedTasks;
+
 	/**
 	 * Computer Proxies Map.
 	 */
 	private final Map<Integer, ComputerProxy> computerProxies;
 
 	/**
-	 * Constructor of Space Implementation.
+	 * Metrics of the Space.
+	 */
+	private final NodeMetrics metrics;
+
+	/**
+	 * Constructor of Space Implementation. Register to the Universe found in
+	 * the RMI registry.
 	 * 
+	 * @param universeDomainName
+	 *            Universe Domain Name
 	 * @throws RemoteException
 	 *             Cannot connect to Space.
 	 * @throws NotBoundException
@@ -79,16 +139,39 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 	 */
 	public SpaceImpl(String universeDomainName) throws RemoteException,
 			MalformedURLException, NotBoundException {
+		this((Universe) StubCache.lookup("rmi://" + universeDomainName + ":"
+				+ Universe.PORT + "/" + Universe.SERVICE_NAME));
+	}
+
+	/**
+	 * Constructor of Space Implementation. Register to the Universe.
+	 * 
+	 * @param universe
+	 *            Universe
+	 * @throws RemoteException
+	 *             Cannot connect to the Universe.
+	 */
+	public SpaceImpl(Universe universe) throws RemoteException {
+		super(0, SocketOptions.clientFactory(), SocketOptions.serverFactory());
 		readyTaskQueue = new LinkedBlockingQueue<>();
-		successorTaskMap = Collections.synchronizedMap(new HashMap<>());
+		successorTaskMap = new SuccessorTaskMap();
 		resultQueue = new LinkedBlockingQueue<>();
 		computerProxies = Collections.synchronizedMap(new HashMap<>());
+		cancelledJobs = new CancelledJobs();
+		deadlines = Collections.synchronizedMap(new HashMap<>());
+		taskFailures = Collections.synchronizedMap(new HashMap<>());
+		quarantinedTasks = Collections.synchronizedMap(new HashMap<>());
+		successorSweeper = new Sweeper();
+		successorSweeper.start();
+		metrics = new NodeMetrics("Space");
+		new DeadlineWatcher().start();
+		metrics.addGauge("ReadyTaskQueueSize", readyTaskQueue::size);
+		metrics.addGauge("SuccessorTaskNum", successorTaskMap::size);
+		metrics.addGauge("ResultQueueSize", resultQueue::size);
+		metrics.addGauge("ComputerNum", computerProxies::size);
+		metrics.addGauge("QuarantinedTaskNum", quarantinedTasks::size);
 		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
 				"Space started.");
-		String url = "rmi://" + universeDomainName + ":" + Universe.PORT + "/"
-				+ Universe.SERVICE_NAME;
-		Universe universe;
-		universe = (Universe) Naming.lookup(url);
 		universe.register(this);
 	}
 
@@ -117,6 +200,16 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 			return;
 		}
 
+		if (Space.TRANSPORT.equals("nio")) {
+			try {
+				new SpaceTransport(space, Space.TRANSPORT_PORT).start();
+			} catch (IOException e) {
+				System.out.println("Fail to start Space Transport!");
+				e.printStackTrace();
+				return;
+			}
+		}
+
 		// Main thread waiting for Key Enter to terminate.
 		try {
 			System.in.read();
@@ -138,6 +231,17 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 	@Override
 	public void setID(int spaceID) throws RemoteException {
 		ID = spaceID;
+		nodeName = "Space" + spaceID;
+		metrics.register(spaceID);
+	}
+
+	/**
+	 * Get the name of the Space in the events. Call from Value Result.
+	 * 
+	 * @return Space and its ID.
+	 */
+	public String getNodeName() {
+		return nodeName;
 	}
 
 	/**
@@ -150,6 +254,10 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 	 */
 	@Override
 	public void addTask(final Task<?> task) throws RemoteException {
+		if (task.getDeadline() != 0) {
+			deadlines.putIfAbsent(task.getJobID(), task.getDeadline());
+		}
+		task.enqueued(Task.SPACE_HOP);
 		try {
 			readyTaskQueue.put(task);
 		} catch (InterruptedException e) {
@@ -164,6 +272,7 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 	 *            Task to be added.
 	 */
 	public void addReadyTask(Task<?> task) {
+		task.enqueued(Task.SPACE_HOP);
 		try {
 			readyTaskQueue.put(task);
 		} catch (InterruptedException e) {
@@ -178,13 +287,51 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 	 */
 	public Task<?> getReadyTask() {
 		try {
-			return readyTaskQueue.take();
+			while (true) {
+				Task<?> task = successorSweeper
+						.take(Config.ReadyTaskPollTimeout);
+				if (task != null) {
+					recordWait(task);
+					return task;
+				}
+			}
 		} catch (InterruptedException e) {
 			e.printStackTrace();
 		}
 		return null;
 	}
 
+	/**
+	 * Record the wait time of a Task taken from the Ready Task Queue.
+	 * 
+	 * @param task
+	 *            Task taken from the Ready Task Queue.
+	 */
+	private void recordWait(Task<?> task) {
+		long wait = task.dequeued(Task.SPACE_HOP);
+		if (wait >= 0) {
+			metrics.histogram("QueueWait").record(wait);
+		}
+	}
+
+	/**
+	 * Record the wait time of each hop of the task of a Result executed in
+	 * this Space or its Computers, whether the Result stays in the Space or
+	 * goes up.
+	 * 
+	 * @param result
+	 *            Result.
+	 */
+	private void recordHopWaits(Result result) {
+		long[] hopWaits = result.getHopWaits();
+		if (hopWaits != null) {
+			for (int i = 0; i < hopWaits.length; i++) {
+				metrics.histogram("HopWait." + Task.HOP_NAMES[i]).record(
+						hopWaits[i]);
+			}
+		}
+	}
+
 	/**
 	 * Add a Successor Task to Successor Task Map.
 	 * 
@@ -192,7 +339,7 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 	 *            Task to be added.
 	 */
 	public void addSuccessorTask(Task<?> task) {
-		successorTaskMap.put(task.getID(), task);
+		successorTaskMap.put(task);
 	}
 
 	/**
@@ -206,6 +353,24 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 		return successorTaskMap.get(TaskId);
 	}
 
+	/**
+	 * Get the number of Successor Tasks in Successor Task Map.
+	 * 
+	 * @return Number of Successor Tasks.
+	 */
+	public int getSuccessorTaskNum() {
+		return successorTaskMap.size();
+	}
+
+	/**
+	 * Get the number of Successor Tasks and their size in bytes of each job.
+	 * 
+	 * @return Job ID to {number of Successor Tasks, bytes}.
+	 */
+	public Map<String, long[]> getSuccessorTaskStatus() {
+		return successorTaskMap.getJobStatus();
+	}
+
 	/**
 	 * 
 	 * Remove a successor task from Successor Task Map and put it into Ready
@@ -217,6 +382,7 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 	 */
 	public void successorToReady(Task<?> successortask) {
 		if (successorTaskMap.remove(successortask.getID()) != null) {
+			successortask.enqueued(Task.SPACE_HOP);
 			try {
 				readyTaskQueue.put(successortask);
 			} catch (InterruptedException e) {
@@ -257,6 +423,54 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 		return result;
 	}
 
+	/**
+	 * Cancel a job. Discard all its Ready Tasks and Successor Tasks in Space
+	 * and propagate the cancellation to all the Computers. Call from Space
+	 * Proxy in Universe.
+	 * 
+	 * @param jobID
+	 *            Job ID to be cancelled.
+	 * @throws RemoteException
+	 *             Cannot connect with Space.
+	 */
+	@Override
+	public void cancel(final String jobID) throws RemoteException {
+		cancelledJobs.add(jobID);
+		deadlines.remove(jobID);
+		evict(jobID);
+		for (Task<?> task : readyTaskQueue) {
+			if (jobID.equals(task.getJobID())) {
+				readyTaskQueue.remove(task);
+			}
+		}
+		successorTaskMap.removeJob(jobID);
+		for (Result result : resultQueue) {
+			if (jobID.equals(result.getJobID())) {
+				resultQueue.remove(result);
+			}
+		}
+		ComputerProxy[] proxies;
+		synchronized (computerProxies) {
+			proxies = computerProxies.values().toArray(new ComputerProxy[0]);
+		}
+		for (ComputerProxy computerProxy : proxies) {
+			computerProxy.cancel(jobID);
+		}
+		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
+				"Job {0} is cancelled.", jobID);
+	}
+
+	/**
+	 * Check if a job is cancelled.
+	 * 
+	 * @param ID
+	 *            Task ID or Result ID.
+	 * @return True if the job is cancelled. False otherwise.
+	 */
+	private boolean isCancelled(String ID) {
+		return cancelledJobs.contains(Task.getJobID(ID));
+	}
+
 	/**
 	 * Register a Computer and associate it with a Computer Proxy into Space.
 	 * Start the Computer Proxy.
@@ -268,6 +482,10 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 		computer.setID(computerproxy.ID);
 		computerProxies.put(computerproxy.ID, computerproxy);
 		computerproxy.start();
+		metrics.addGauge("RunningTaskNum.Computer" + computerproxy.ID,
+				computerproxy.runningTaskMap::size);
+		metrics.addGauge("IntermediateResultQueueSize.Computer"
+				+ computerproxy.ID, computerproxy.intermediateResultQueue::size);
 		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
 				"Computer {0} started with {1} workers!",
 				new Object[] { computerproxy.ID, computer.getWorkerNum() });
@@ -282,9 +500,12 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 	 */
 	private void unregister(ComputerProxy computerProxy) {
 		computerProxies.remove(computerProxy.ID);
+		metrics.removeGauge("RunningTaskNum.Computer" + computerProxy.ID);
+		metrics.removeGauge("IntermediateResultQueueSize.Computer"
+				+ computerProxy.ID);
 		Result result = null;
 		while ((result = computerProxy.intermediateResultQueue.poll()) != null) {
-			result.process(space, computerProxy.runningTaskMap,
+			result.process(this, computerProxy.runningTaskMap,
 					computerProxy.intermediateResultQueue);
 			computerProxy.runningTaskMap.remove(result.getID());
 			if (Config.STATUSOUTPUT || Config.DEBUG) {
@@ -295,8 +516,9 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 		if (!computerProxy.runningTaskMap.isEmpty()) {
 			for (String taskId : computerProxy.runningTaskMap.keySet()) {
 				try {
-					readyTaskQueue
-							.put(computerProxy.runningTaskMap.get(taskId));
+					Task<?> task = computerProxy.runningTaskMap.get(taskId);
+					task.enqueued(Task.SPACE_HOP);
+					readyTaskQueue.put(task);
 					if (Config.STATUSOUTPUT || Config.DEBUG) {
 						System.out.println("Save Task:" + taskId);
 					}
@@ -309,6 +531,72 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 				"Computer {0} failed.", computerProxy.ID);
 	}
 
+	/**
+	 * Handle a task whose execution failed. Call from Error Result. The task
+	 * is put back into Ready Task Queue, unless it has failed
+	 * Config.TaskFailureLimit times, in which case it is quarantined and an
+	 * Error Result fails its job.
+	 * 
+	 * @param task
+	 *            The failed task.
+	 * @param error
+	 *            Description of the failure.
+	 */
+	public void failTask(Task<?> task, String error) {
+		int failures;
+		synchronized (taskFailures) {
+			Integer num = taskFailures.get(task.getID());
+			failures = num == null ? 1 : num + 1;
+			if (failures < Config.TaskFailureLimit) {
+				taskFailures.put(task.getID(), failures);
+			} else {
+				taskFailures.remove(task.getID());
+			}
+		}
+		if (failures < Config.TaskFailureLimit) {
+			Logger.getLogger(this.getClass().getName()).log(Level.WARNING,
+					"Task {0} failed {1} times: {2}",
+					new Object[] { task.getID(), failures, error });
+			addReadyTask(task);
+		} else {
+			quarantinedTasks.put(task.getID(), task);
+			Logger.getLogger(this.getClass().getName()).log(Level.SEVERE,
+					"Task {0} is quarantined after {1} failures: {2}",
+					new Object[] { task.getID(), failures, error });
+			// Its successor will never fill. Fail the job in the Client.
+			addResult(ErrorResult.quarantined(task, error));
+		}
+	}
+
+	/**
+	 * Forget the failures and the quarantined tasks of a job. Call when the
+	 * job is cancelled or reclaimed.
+	 * 
+	 * @param jobID
+	 *            Job ID.
+	 */
+	private void evict(final String jobID) {
+		synchronized (taskFailures) {
+			taskFailures.keySet().removeIf(
+					ID -> jobID.equals(Task.getJobID(ID)));
+		}
+		synchronized (quarantinedTasks) {
+			quarantinedTasks.values().removeIf(
+					task -> jobID.equals(task.getJobID()));
+		}
+	}
+
+	/**
+	 * Get the quarantined tasks.
+	 * 
+	 * @return Task ID to quarantined Task.
+	 */
+	public Map<String, Task<?>> getQuarantinedTasks() {
+		synchronized (quarantinedTasks) {
+			return new HashMap<>(quarantinedTasks);
+		}
+	}
+
 	/**
 	 * Space directly executes the task.
 	 * 
@@ -319,12 +607,43 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 	 * @param TempResultQueue
 	 *            The Temporary Result Queue in Computer Proxy to contain the
 	 *            execution result.
+	 * @return True if the task is taken. False if another thread took it from
+	 *         the Successor Task Map first.
+	 */
+	public <T> boolean spaceExecuteTask(SuccessorTask<T> successortask,
+			BlockingQueue<Result> intermediateResultQueue) {
+		if (successorTaskMap.remove(successortask.getID()) == null) {
+			return false;
+		}
+		executeTask(successortask, intermediateResultQueue);
+		return true;
+	}
+
+	/**
+	 * Execute a successor task taken from Space. If it fails, leave it to a
+	 * Computer.
+	 * 
+	 * @return True if the task is executed. False otherwise.
 	 */
 	@SuppressWarnings("unchecked")
-	public <T> void spaceExecuteTask(SuccessorTask<T> successortask,
+	private <T> boolean executeTask(SuccessorTask<T> successortask,
 			BlockingQueue<Result> intermediateResultQueue) {
-		successorTaskMap.remove(successortask.getID());
-		ValueResult<T> result = (ValueResult<T>) successortask.execute();
+		ValueResult<T> result;
+		TaskExecuteEvent event = new TaskExecuteEvent();
+		event.begin();
+		try {
+			result = (ValueResult<T>) successortask.execute();
+		} catch (RuntimeException e) {
+			// Leave it to a Computer, which reports the failure.
+			Logger.getLogger(this.getClass().getName()).log(Level.WARNING,
+					"Space Direct Execution of {0} failed: {1}",
+					new Object[] { successortask.getID(), e });
+			addReadyTask(successortask);
+			return false;
+		}
+		event.commit(nodeName, successortask);
+		result.setHopWaits(successortask.getHopWaits());
+		JobTracer.record(successortask, result, JobTracer.SPACE_TIER, nodeName);
 		try {
 			intermediateResultQueue.put(result);
 		} catch (InterruptedException e) {
@@ -333,6 +652,164 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 		if (Config.STATUSOUTPUT || Config.DEBUG) {
 			System.out.println("	Space Direct Execution: " + result.getID());
 		}
+		return true;
+	}
+
+	/**
+	 * Complete a job on its deadline. Execute in Space at once its successor
+	 * tasks ready to run, and those taking the best of their arguments with
+	 * the arguments they have, the ones no other successor task waits for
+	 * first, so the values go up the tree to the Universe. Arguments arriving
+	 * later are forwarded to the Universe, which discards them.
+	 * 
+	 * @param jobID
+	 *            Job ID.
+	 */
+	private void completeJob(String jobID) {
+		BlockingQueue<Result> results = new LinkedBlockingQueue<>();
+		boolean completed = true;
+		while (completed) {
+			completed = false;
+			for (Task<?> task : readyTaskQueue) {
+				if (task instanceof SuccessorTask
+						&& jobID.equals(task.getJobID())
+						&& successorSweeper.remove(task)) {
+					task.dequeued(Task.SPACE_HOP);
+					if (executeTask((SuccessorTask<?>) task, results)) {
+						metrics.counter("DeadlineTasks").increment();
+						completed = true;
+					}
+					successorSweeper.dispatched(task);
+				}
+			}
+			List<Task<?>> tasks = successorTaskMap.getJob(jobID);
+			Set<String> waiting = new HashSet<>();
+			for (Task<?> task : tasks) {
+				// A task without any argument holds nothing to wait for.
+				if (!(task instanceof SuccessorTask)
+						|| ((SuccessorTask<?>) task).hasArg()
+						|| !((SuccessorTask<?>) task).isBestOf()) {
+					waiting.add(task.getTargetID());
+				}
+			}
+			// So do the successor tasks running in the Computers.
+			ComputerProxy[] proxies;
+			synchronized (computerProxies) {
+				proxies = computerProxies.values().toArray(
+						new ComputerProxy[0]);
+			}
+			for (ComputerProxy computerProxy : proxies) {
+				synchronized (computerProxy.runningTaskMap) {
+					for (Task<?> task : computerProxy.runningTaskMap.values()) {
+						if (task instanceof SuccessorTask
+								&& jobID.equals(task.getJobID())) {
+							waiting.add(task.getTargetID());
+						}
+					}
+				}
+			}
+			for (Task<?> task : tasks) {
+				if (waiting.contains(task.getID())
+						|| !(task instanceof SuccessorTask)) {
+					continue;
+				}
+				SuccessorTask<?> successortask = (SuccessorTask<?>) task;
+				if (successortask.isBestOf() && successortask.hasArg()
+						&& spaceExecuteTask(successortask, results)) {
+					metrics.counter("DeadlineTasks").increment();
+					completed = true;
+				}
+			}
+			Result result;
+			while ((result = results.poll()) != null) {
+				if (result.isCoarse()
+						|| !result.process(this, null, results)) {
+					addResult(result);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sweeper reclaims the Successor Tasks of the idle jobs, which have no
+	 * task running in any Computer either. It also forgets the deadlines of
+	 * the jobs without any task left.
+	 */
+	private class Sweeper extends SuccessorSweeper {
+		Sweeper() {
+			super(successorTaskMap, readyTaskQueue);
+		}
+
+		@Override
+		protected void addRunningJobs(Set<String> runningJobs) {
+			ComputerProxy[] proxies;
+			synchronized (computerProxies) {
+				proxies = computerProxies.values().toArray(
+						new ComputerProxy[0]);
+			}
+			for (ComputerProxy computerProxy : proxies) {
+				synchronized (computerProxy.runningTaskMap) {
+					for (String taskID : computerProxy.runningTaskMap.keySet()) {
+						runningJobs.add(Task.getJobID(taskID));
+					}
+				}
+			}
+		}
+
+		@Override
+		protected void reclaimed(String jobID) {
+			evict(jobID);
+		}
+
+		@Override
+		protected void sweep() {
+			super.sweep();
+			if (!deadlines.isEmpty()) {
+				Set<String> runningJobs = getRunningJobs();
+				synchronized (deadlines) {
+					deadlines.keySet().removeIf(
+							jobID -> !runningJobs.contains(jobID)
+									&& !successorTaskMap.containsJob(jobID));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Deadline Watcher is a thread completing the jobs whose deadline is
+	 * closer than Config.DeadlineMargin, until the deadline passes.
+	 */
+	private class DeadlineWatcher extends Thread {
+		@Override
+		public void run() {
+			while (true) {
+				try {
+					Thread.sleep(Config.DeadlineCheckInterval);
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (deadlines.isEmpty()) {
+					continue;
+				}
+				long now = System.currentTimeMillis();
+				List<String> dueJobs = new ArrayList<>();
+				synchronized (deadlines) {
+					Iterator<Map.Entry<String, Long>> iterator = deadlines
+							.entrySet().iterator();
+					while (iterator.hasNext()) {
+						Map.Entry<String, Long> entry = iterator.next();
+						if (entry.getValue() < now) {
+							iterator.remove();
+						} else if (entry.getValue() - Config.DeadlineMargin <= now) {
+							dueJobs.add(entry.getKey());
+						}
+					}
+				}
+				for (String jobID : dueJobs) {
+					completeJob(jobID);
+				}
+			}
+		}
 	}
 
 	/**
@@ -354,6 +831,11 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 		 */
 		private final int ID;
 
+		/**
+		 * Name of the Computer in the events.
+		 */
+		private final String name;
+
 		/**
 		 * Task ID.
 		 */
@@ -390,6 +872,7 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 		ComputerProxy(Computer computer, int computerid) {
 			this.computer = computer;
 			this.ID = computerid;
+			this.name = "Computer" + computerid;
 			this.runningTaskMap = Collections.synchronizedMap(new HashMap<>());
 			this.intermediateResultQueue = new LinkedBlockingQueue<>();
 			this.receiveService = new ReceiveService();
@@ -413,6 +896,51 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 			return TaskID.incrementAndGet();
 		}
 
+		/**
+		 * Cancel a job. Stop tracking its running tasks and let the Computer
+		 * skip them.
+		 * 
+		 * @param jobID
+		 *            Job ID to be cancelled.
+		 */
+		private void cancel(String jobID) {
+			synchronized (runningTaskMap) {
+				Iterator<String> iterator = runningTaskMap.keySet().iterator();
+				while (iterator.hasNext()) {
+					if (jobID.equals(Task.getJobID(iterator.next()))) {
+						iterator.remove();
+					}
+				}
+			}
+			try {
+				computer.cancel(jobID);
+			} catch (RemoteException e) {
+				System.out.println("Cancel: Computer " + ID + " is down!");
+			}
+		}
+
+		/**
+		 * Record the metrics of a Result from the Computer. The associated
+		 * task is still in Running Task Map.
+		 * 
+		 * @param result
+		 *            Result from the Computer.
+		 */
+		private void recordResult(Result result) {
+			metrics.counter("Results").increment();
+			recordHopWaits(result);
+			Task<?> task = runningTaskMap.get(result.getID());
+			if (task != null) {
+				metrics.histogram("ExecutionTime", task.getClass(),
+						task.getLayer()).record(result.getTaskRuntime());
+				if (task.getDispatchTime() != 0) {
+					metrics.histogram("DispatchToResult", task.getClass(),
+							task.getLayer()).record(
+							System.nanoTime() - task.getDispatchTime());
+				}
+			}
+		}
+
 		/**
 		 * Receive Service is a thread for non-blocking polling results from the
 		 * Computer's Result Queue as well as the Temporary Result Queue, and
@@ -425,18 +953,24 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 				while (true) {
 					try {
 						// Get result from Computer Result Queue.
+						RemoteReceiveEvent event = new RemoteReceiveEvent();
+						event.begin();
 						Result result = computer.getResult();
 						if (result != null) {
-							if (Config.DEBUG) {
-								System.out
-										.println("Space-Computer Proxy: Result "
-												+ result.getID()
-												+ "-"
-												+ result.isCoarse()
-												+ " is processing!");
-							}
+							event.peer(name).commit(nodeName, result,
+									runningTaskMap.get(result.getID()));
+						}
+						if (result != null && isCancelled(result.getID())) {
+							runningTaskMap.remove(result.getID());
+							result = null;
+						}
+						if (result != null) {
+							Tracer.record(Tracer.SPACE_RECEIVE, result.getID(),
+									-1);
 							synchronized (runningTaskMap) {
+								recordResult(result);
 								if (result.isCoarse()) {
+									runningTaskMap.remove(result.getID());
 									// !:F:1:0:S1:U1:0:P1:0:C1
 									// !:F:1:0:S1:U1:0:P1
 									if (result.getID().charAt(0) == '!') {
@@ -450,47 +984,48 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 										resultid.deleteCharAt(resultid.length() - 1);
 										result.setID(resultid.toString());
 									}
-									space.addResult(result);
-									if (Config.DEBUG) {
-										System.out
-												.println("	Result "
-														+ result.getID()
-														+ " is coarse, added to Space Result Queue!");
-									}
-									runningTaskMap.remove(result.getID());
+									addResult(result);
+									Tracer.record(Tracer.SPACE_COARSE,
+											result.getID(), -1);
 								} else {
-									if (!result.process(space, runningTaskMap,
+									if (!taskFailures.isEmpty()
+											&& result.getType() != Result.ERRORRESULT) {
+										taskFailures.remove(result.getID());
+									}
+									ResultProcessEvent processEvent = new ResultProcessEvent();
+									processEvent.begin();
+									Task<?> task = runningTaskMap.get(result
+											.getID());
+									if (!result.process(SpaceImpl.this,
+											runningTaskMap,
 											intermediateResultQueue)) {
-										space.addResult(result);
-										if (Config.DEBUG) {
-											System.out
-													.println("	Result "
-															+ result.getID()
-															+ " is not coarse but should be added to Space Result Queue!");
-										}
-									} else {
-										if (Config.DEBUG) {
-											System.out
-													.println("	Result "
-															+ result.getID()
-															+ " is processed by Space!");
-										}
+										addResult(result);
+										Tracer.record(Tracer.SPACE_FORWARD,
+												result.getID(), -1);
 									}
+									processEvent.commit("Space"
+											+ SpaceImpl.this.ID, result, task);
 									runningTaskMap.remove(result.getID());
 								}
 							}
 						}
 						// Get the result from Intermediate Result Queue.
 						result = intermediateResultQueue.poll();
+						if (result != null && isCancelled(result.getID())) {
+							runningTaskMap.remove(result.getID());
+							result = null;
+						}
 						if (result != null) {
+							recordHopWaits(result);
 							synchronized (runningTaskMap) {
 								if (result.isCoarse()) {
-									space.addResult(result);
+									addResult(result);
 									runningTaskMap.remove(result.getID());
 								} else {
-									if (!result.process(space, runningTaskMap,
+									if (!result.process(SpaceImpl.this,
+											runningTaskMap,
 											intermediateResultQueue)) {
-										space.addResult(result);
+										addResult(result);
 									}
 									runningTaskMap.remove(result.getID());
 								}
@@ -535,29 +1070,36 @@ public class SpaceImpl extends UnicastRemoteObject implements Space {
 								+ " is down!");
 						return;
 					}
-					task = space.getReadyTask();
+					task = getReadyTask();
+					if (isCancelled(task.getID())) {
+						successorSweeper.dispatched(task);
+						continue;
+					}
 					if (!task.getID().contains(":C")) {
 						task.setID(task.getID() + ":C" + ID + ":"
 								+ makeTaskID());
 					}
 					synchronized (runningTaskMap) {
+						TaskDispatchEvent event = new TaskDispatchEvent();
+						event.begin();
 						try {
 							computer.addTask(task);
 						} catch (RemoteException e) {
 							System.out.println("Send Service: Computer " + ID
 									+ " is down!");
 							if (task != null) {
-								space.addReadyTask(task);
+								addReadyTask(task);
+								successorSweeper.dispatched(task);
 							}
 							return;
 						}
+						event.peer(name).commit(nodeName, task);
+						task.setDispatchTime(System.nanoTime());
 						runningTaskMap.put(task.getID(), task);
-						if (Config.DEBUG) {
-							System.out.println("Space-Computer Proxy: Task "
-									+ task.getID() + "-" + task.getLayer()
-									+ "-" + task.isCoarse()
-									+ " is added to Computer ReadyTaskQueue!");
-						}
+						successorSweeper.dispatched(task);
+						metrics.counter("Tasks").increment();
+						Tracer.record(Tracer.SPACE_SEND, task.getID(),
+								task.getLayer());
 					}
 					if (Config.STATUSOUTPUT) {
 						System.out.println(task.getID());
@@ -0,0 +1,112 @@
+package synthetic_tasks;
+
+import java.io.IOException;
+import java.util.List;
+
+import codec.Codec;
+import codec.CodecProvider;
+import codec.CodecRegistry;
+import codec.TaskCodec;
+import codec.WireInput;
+import codec.WireOutput;
+
+/**
+ * Codecs of the synthetic tasks. The payloads are written in full, so the
+ * synthetic workload keeps the message sizes it is configured with.
+ */
+public final class SyntheticCodecs implements CodecProvider {
+
+	/**
+	 * Constructor of Synthetic Codecs. Call from ServiceLoader.
+	 */
+	public SyntheticCodecs() {
+	}
+
+	@Override
+	public void register() {
+		CodecRegistry.register(new TaskCodec<SyntheticReadyTask>(40,
+				SyntheticReadyTask.class) {
+			@Override
+			protected void writeFields(SyntheticReadyTask task, WireOutput out)
+					throws IOException {
+				out.writeList(task.getArg());
+				out.writeInt(task.getTargetSuccessorTaskArgIndex());
+				writeShape(task.getShape(), out);
+				out.writeInt(task.getDepth());
+			}
+
+			@Override
+			protected SyntheticReadyTask readFields(WireInput in)
+					throws IOException {
+				List<SyntheticData> arg = in.readList();
+				return new SyntheticReadyTask(arg, in.readInt(),
+						readShape(in), in.readInt());
+			}
+		});
+		CodecRegistry.register(new TaskCodec<SyntheticSuccessorTask>(41,
+				SyntheticSuccessorTask.class) {
+			@Override
+			protected void writeFields(SyntheticSuccessorTask task,
+					WireOutput out) throws IOException {
+				out.writeList(task.getArg());
+				out.writeInt(task.getMissingArgNum());
+				out.writeInt(task.getTargetSuccessorTaskArgIndex());
+				writeShape(task.getShape(), out);
+			}
+
+			@Override
+			protected SyntheticSuccessorTask readFields(WireInput in)
+					throws IOException {
+				List<SyntheticData> arg = in.readList();
+				int missingArgNum = in.readInt();
+				int index = in.readInt();
+				return new SyntheticSuccessorTask(arg, missingArgNum,
+						readShape(in), null, index);
+			}
+		});
+		CodecRegistry.register(new Codec<SyntheticData>() {
+			@Override
+			public int getID() {
+				return 42;
+			}
+
+			@Override
+			public Class<SyntheticData> getType() {
+				return SyntheticData.class;
+			}
+
+			@Override
+			public void write(SyntheticData data, WireOutput out)
+					throws IOException {
+				out.writeLong(data.getLeafNum());
+				out.writeByteArray(data.getPayload());
+			}
+
+			@Override
+			public SyntheticData read(WireInput in) throws IOException {
+				return new SyntheticData(in.readLong(), in.readByteArray());
+			}
+		});
+	}
+
+	/**
+	 * Write a Synthetic Shape.
+	 */
+	private static void writeShape(SyntheticShape shape, WireOutput out)
+			throws IOException {
+		out.writeInt(shape.getFanOut());
+		out.writeInt(shape.getDepth());
+		out.writeLong(shape.getLeafCost());
+		out.writeInt(shape.getPayloadSize());
+		out.writeInt(shape.getResultSize());
+		out.writeDouble(shape.getSkew());
+	}
+
+	/**
+	 * Read a Synthetic Shape.
+	 */
+	private static SyntheticShape readShape(WireInput in) throws IOException {
+		return new SyntheticShape(in.readInt(), in.readInt(), in.readLong(),
+				in.readInt(), in.readInt(), in.readDouble());
+	}
+}
@@ -0,0 +1,79 @@
+package synthetic_tasks;
+
+import java.io.Serializable;
+
+/**
+ * Synthetic Data is the argument and the value of the synthetic tasks: the
+ * number of leaves below a task, and a payload only there for its size.
+ */
+public class SyntheticData implements Serializable {
+	private static final long serialVersionUID = 2918546016237150834L;
+
+	/**
+	 * Number of leaves.
+	 */
+	private final long leafNum;
+
+	/**
+	 * Payload.
+	 */
+	private final byte[] payload;
+
+	/**
+	 * Constructor of Synthetic Data.
+	 * 
+	 * @param leafNum
+	 *            Number of leaves.
+	 * @param size
+	 *            Payload size in bytes.
+	 */
+	public SyntheticData(long leafNum, int size) {
+		this.leafNum = leafNum;
+		this.payload = new byte[size];
+	}
+
+	/**
+	 * Constructor of Synthetic Data. Call from codec.
+	 * 
+	 * @param leafNum
+	 *            Number of leaves.
+	 * @param payload
+	 *            Payload.
+	 */
+	SyntheticData(long leafNum, byte[] payload) {
+		this.leafNum = leafNum;
+		this.payload = payload;
+	}
+
+	/**
+	 * Get the number of leaves.
+	 * 
+	 * @return Number of leaves.
+	 */
+	public long getLeafNum() {
+		return leafNum;
+	}
+
+	/**
+	 * Get the payload size.
+	 * 
+	 * @return Payload size in bytes.
+	 */
+	public int getSize() {
+		return payload.length;
+	}
+
+	/**
+	 * Get the payload. Call from codec.
+	 * 
+	 * @return Payload.
+	 */
+	byte[] getPayload() {
+		return payload;
+	}
+
+	@Override
+	public String toString() {
+		return Long.toString(leafNum);
+	}
+}
@@ -0,0 +1,147 @@
+package synthetic_tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import api.Result;
+import api.Task;
+import result.TaskResult;
+import result.ValueResult;
+import task.ReadyTask;
+
+/**
+ * Synthetic Ready Task is a decompose task of a synthetic task tree. It
+ * carries a payload of the size given by its shape, and spends the leaf CPU
+ * time when it is a leaf.
+ */
+public class SyntheticReadyTask extends ReadyTask<SyntheticData> {
+	private static final long serialVersionUID = -6275512863087312947L;
+
+	/**
+	 * Shape of the tree.
+	 */
+	private final SyntheticShape shape;
+
+	/**
+	 * Depth of the subtree below this task.
+	 */
+	private final int depth;
+
+	/**
+	 * Constructor of Synthetic Ready Task. Call from inside.
+	 * 
+	 * @param arg
+	 *            Argument list with the payload.
+	 * @param targetSuccessorTaskArgIndex
+	 *            Target compose task argument index.
+	 * @param shape
+	 *            Shape of the tree.
+	 * @param depth
+	 *            Depth of the subtree below this task.
+	 */
+	public SyntheticReadyTask(List<SyntheticData> arg,
+			int targetSuccessorTaskArgIndex, SyntheticShape shape, int depth) {
+		super(arg, targetSuccessorTaskArgIndex);
+		this.shape = shape;
+		this.depth = depth;
+	}
+
+	/**
+	 * Constructor of Synthetic Ready Task. Call from Client.
+	 * 
+	 * @param shape
+	 *            Shape of the tree.
+	 */
+	public SyntheticReadyTask(SyntheticShape shape) {
+		super(payload(shape));
+		this.shape = shape;
+		this.depth = shape.getDepth();
+	}
+
+	/**
+	 * Get the shape of the tree. Call from codec.
+	 * 
+	 * @return Shape of the tree.
+	 */
+	SyntheticShape getShape() {
+		return shape;
+	}
+
+	/**
+	 * Get the depth of the subtree below this task. Call from codec.
+	 * 
+	 * @return Depth of the subtree.
+	 */
+	int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Make the argument list of a task.
+	 */
+	private static List<SyntheticData> payload(SyntheticShape shape) {
+		List<SyntheticData> arg = new ArrayList<SyntheticData>();
+		arg.add(new SyntheticData(0, shape.getPayloadSize()));
+		return arg;
+	}
+
+	/**
+	 * Check if the Task is coarse or not.
+	 * 
+	 * @return True if the Task is coarse. False otherwise.
+	 */
+	@Override
+	public boolean isCoarse() {
+		return getLayer() <= SyntheticTaskConfig.SyntheticCoarse;
+	}
+
+	/**
+	 * A Synthetic Ready Task is atomic at the leaves.
+	 */
+	@Override
+	public boolean isAtomic() {
+		return depth <= 0;
+	}
+
+	/**
+	 * Execute the task. A leaf spends its CPU time and generates a Value
+	 * Result counting one leaf. Otherwise the task generates a Task Result
+	 * with a successor task and its children.
+	 */
+	@Override
+	public Result execute() {
+		long taskStartTime = System.nanoTime();
+		if (isAtomic()) {
+			shape.spin();
+			long taskEndTime = System.nanoTime();
+			return new ValueResult<SyntheticData>(this.getID(),
+					new SyntheticData(1, shape.getResultSize()),
+					this.getTargetID(), this.getTargetSuccessorTaskArgIndex(),
+					isCoarse(), taskStartTime, taskEndTime);
+		} else {
+			int argNum = shape.getFanOut();
+			List<Task<SyntheticData>> subtasks = new ArrayList<Task<SyntheticData>>();
+			// Generate successor task.
+			List<SyntheticData> args = new ArrayList<SyntheticData>();
+			for (int i = 0; i < argNum; i++) {
+				args.add(null);
+			}
+			SyntheticSuccessorTask successorTask = new SyntheticSuccessorTask(
+					args, argNum, shape, this.getTargetID(),
+					this.getTargetSuccessorTaskArgIndex());
+			successorTask.setLayer(getLayer());
+			subtasks.add(successorTask);
+
+			// Generate child ready tasks.
+			for (int i = 0; i < argNum; i++) {
+				SyntheticReadyTask child = new SyntheticReadyTask(
+						payload(shape), i, shape, shape.childDepth(depth, i));
+				child.setLayer(getLayer() + 1);
+				subtasks.add(child);
+			}
+			long taskEndTime = System.nanoTime();
+			return new TaskResult<SyntheticData>(this.getID(), subtasks,
+					isCoarse(), taskStartTime, taskEndTime);
+		}
+	}
+}
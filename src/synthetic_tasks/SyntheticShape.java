@@ -0,0 +1,182 @@
+package synthetic_tasks;
+
+import java.io.Serializable;
+
+/**
+ * Synthetic Shape is the shape and the cost of a synthetic task tree. Every
+ * task of the tree carries it.
+ * <p>
+ * A task above the leaves has fanOut children. With no skew all the children
+ * are one layer less deep, which makes a full tree. With skew s, child i of a
+ * task of depth d is (d - 1) * (1 - s * i / (fanOut - 1)) deep, so the first
+ * child keeps the full depth and the last one is a leaf when s is 1.
+ * </p>
+ */
+public class SyntheticShape implements Serializable {
+	private static final long serialVersionUID = -3418706338591562247L;
+
+	/**
+	 * Number of children of a task above the leaves.
+	 */
+	private final int fanOut;
+
+	/**
+	 * Depth of the tree.
+	 */
+	private final int depth;
+
+	/**
+	 * CPU time of a leaf in microseconds, spent in a busy loop.
+	 */
+	private final long leafCost;
+
+	/**
+	 * Payload size of a Ready Task in bytes.
+	 */
+	private final int payloadSize;
+
+	/**
+	 * Payload size of a value in bytes.
+	 */
+	private final int resultSize;
+
+	/**
+	 * Skew from 0, balanced, to 1, most unbalanced.
+	 */
+	private final double skew;
+
+	/**
+	 * Constructor of Synthetic Shape.
+	 * 
+	 * @param fanOut
+	 *            Number of children of a task above the leaves.
+	 * @param depth
+	 *            Depth of the tree.
+	 * @param leafCost
+	 *            CPU time of a leaf in microseconds.
+	 * @param payloadSize
+	 *            Payload size of a Ready Task in bytes.
+	 * @param resultSize
+	 *            Payload size of a value in bytes.
+	 * @param skew
+	 *            Skew from 0 to 1.
+	 */
+	public SyntheticShape(int fanOut, int depth, long leafCost,
+			int payloadSize, int resultSize, double skew) {
+		if (fanOut < 1 || depth < 0 || leafCost < 0 || payloadSize < 0
+				|| resultSize < 0 || skew < 0 || skew > 1) {
+			throw new IllegalArgumentException("Bad synthetic shape.");
+		}
+		this.fanOut = fanOut;
+		this.depth = depth;
+		this.leafCost = leafCost;
+		this.payloadSize = payloadSize;
+		this.resultSize = resultSize;
+		this.skew = skew;
+	}
+
+	/**
+	 * Get the depth of a child.
+	 * 
+	 * @param depth
+	 *            Depth of the parent.
+	 * @param index
+	 *            Index of the child.
+	 * @return Depth of the child.
+	 */
+	public int childDepth(int depth, int index) {
+		if (fanOut == 1) {
+			return depth - 1;
+		}
+		return (int) ((depth - 1) * (1 - skew * index / (fanOut - 1)));
+	}
+
+	/**
+	 * Get the number of leaves of a tree.
+	 * 
+	 * @param depth
+	 *            Depth of the tree.
+	 * @return Number of leaves.
+	 */
+	public long leafNum(int depth) {
+		if (depth == 0) {
+			return 1;
+		}
+		long leafNum = 0;
+		for (int i = 0; i < fanOut; i++) {
+			leafNum += leafNum(childDepth(depth, i));
+		}
+		return leafNum;
+	}
+
+	/**
+	 * Spend the CPU time of a leaf.
+	 */
+	public void spin() {
+		long end = System.nanoTime() + leafCost * 1000;
+		while (System.nanoTime() < end) {
+			Thread.onSpinWait();
+		}
+	}
+
+	/**
+	 * Get the number of children of a task above the leaves.
+	 * 
+	 * @return Fan-out.
+	 */
+	public int getFanOut() {
+		return fanOut;
+	}
+
+	/**
+	 * Get the depth of the tree.
+	 * 
+	 * @return Depth.
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Get the CPU time of a leaf.
+	 * 
+	 * @return CPU time in microseconds.
+	 */
+	public long getLeafCost() {
+		return leafCost;
+	}
+
+	/**
+	 * Get the skew.
+	 * 
+	 * @return Skew from 0 to 1.
+	 */
+	public double getSkew() {
+		return skew;
+	}
+
+	/**
+	 * Get the payload size of a Ready Task.
+	 * 
+	 * @return Payload size in bytes.
+	 */
+	public int getPayloadSize() {
+		return payloadSize;
+	}
+
+	/**
+	 * Get the payload size of a value.
+	 * 
+	 * @return Payload size in bytes.
+	 */
+	public int getResultSize() {
+		return resultSize;
+	}
+
+	@Override
+	public String toString() {
+		return "fanOut " + fanOut + ", depth " + depth + ", leaf " + leafCost
+				+ " us, payload " + payloadSize + " B, result " + resultSize
+				+ " B, skew " + skew;
+	}
+}
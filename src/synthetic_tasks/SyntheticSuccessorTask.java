@@ -0,0 +1,81 @@
+package synthetic_tasks;
+
+import java.util.List;
+
+import api.Result;
+import result.ValueResult;
+import task.SuccessorTask;
+
+/**
+ * Synthetic Successor Task is the compose task of a synthetic task tree. It
+ * adds up the leaves of its children and sends a value of the result size
+ * given by the shape.
+ */
+public class SyntheticSuccessorTask extends SuccessorTask<SyntheticData> {
+	private static final long serialVersionUID = 5318271180376942365L;
+
+	/**
+	 * Shape of the tree.
+	 */
+	private final SyntheticShape shape;
+
+	/**
+	 * Constructor of Synthetic Successor Task. Call from inside.
+	 * 
+	 * @param arg
+	 *            Argument of the task. All null when initialized.
+	 * @param argNum
+	 *            Number of needed arguments, the fan-out.
+	 * @param shape
+	 *            Shape of the tree.
+	 * @param targetSuccessorTaskId
+	 *            Target successor task id, same as its parent target id.
+	 * @param targetSuccessorTaskArgIndex
+	 *            Target argument index, same as its parent target argument
+	 *            index.
+	 */
+	public SyntheticSuccessorTask(List<SyntheticData> arg, int argNum,
+			SyntheticShape shape, String targetSuccessorTaskId,
+			int targetSuccessorTaskArgIndex) {
+		super(arg, argNum, targetSuccessorTaskId, targetSuccessorTaskArgIndex);
+		this.shape = shape;
+		this.setSpaceRunnable(true);
+	}
+
+	/**
+	 * Get the shape of the tree. Call from codec.
+	 * 
+	 * @return Shape of the tree.
+	 */
+	SyntheticShape getShape() {
+		return shape;
+	}
+
+	/**
+	 * Check if the Task is coarse or not.
+	 * 
+	 * @return True if the Task is coarse. False otherwise.
+	 */
+	@Override
+	public boolean isCoarse() {
+		return getLayer() <= SyntheticTaskConfig.SyntheticCoarse;
+	}
+
+	/**
+	 * Execute the task and generate a Value Result with the sum of the leaves
+	 * of its arguments.
+	 */
+	@Override
+	public Result execute() {
+		long taskStartTime = System.nanoTime();
+		long leafNum = 0;
+		for (SyntheticData data : getArg()) {
+			leafNum += data.getLeafNum();
+		}
+		long taskEndTime = System.nanoTime();
+		return new ValueResult<SyntheticData>(this.getID(), new SyntheticData(
+				leafNum, shape.getResultSize()), this.getTargetID(),
+				this.getTargetSuccessorTaskArgIndex(), isCoarse(),
+				taskStartTime, taskEndTime);
+	}
+}
@@ -0,0 +1,9 @@
+package synthetic_tasks;
+
+public abstract class SyntheticTaskConfig {
+
+	/**
+	 * Synthetic Task Coarse Level
+	 */
+	public static final int SyntheticCoarse = 3;
+}
@@ -0,0 +1,5 @@
+/**
+ * Synthetic task trees of configurable shape, cost and size, to stress the
+ * scheduling, the batching and the memory of the Space and the Universe.
+ */
+package synthetic_tasks;
@@ -0,0 +1,65 @@
+package task;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import config.Config;
+
+/**
+ *
+ * Cancelled Jobs keeps the IDs of the cancelled jobs, so that their tasks and
+ * results still in flight are discarded. A job is forgotten
+ * Config.CancelledJobExpiry milliseconds after it is cancelled, when its
+ * tasks and results have long drained.
+ *
+ */
+public class CancelledJobs implements Serializable {
+	private static final long serialVersionUID = 5307781283951147425L;
+
+	/**
+	 * Cancel time in milliseconds since the epoch of each cancelled job.
+	 */
+	private final Map<String, Long> jobs;
+
+	/**
+	 * Time in milliseconds since the epoch the expired jobs were last
+	 * forgotten.
+	 */
+	private volatile long pruneTime;
+
+	/**
+	 * Constructor of Cancelled Jobs.
+	 */
+	public CancelledJobs() {
+		jobs = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Add a cancelled job. The expired jobs are forgotten every half expiry,
+	 * not on every job added.
+	 *
+	 * @param jobID
+	 *            Job ID.
+	 */
+	public void add(String jobID) {
+		long now = System.currentTimeMillis();
+		if (now - pruneTime >= Config.CancelledJobExpiry / 2) {
+			pruneTime = now;
+			jobs.values().removeIf(
+					time -> now - time >= Config.CancelledJobExpiry);
+		}
+		jobs.put(jobID, now);
+	}
+
+	/**
+	 * Check if a job is cancelled.
+	 *
+	 * @param jobID
+	 *            Job ID.
+	 * @return True if the job is cancelled. False otherwise.
+	 */
+	public boolean contains(String jobID) {
+		return jobs.containsKey(jobID);
+	}
+}
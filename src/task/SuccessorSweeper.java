@@ -0,0 +1,210 @@
+package task;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import api.Task;
+import config.Config;
+
+/**
+ *
+ * Successor Sweeper is a thread advancing the epoch of a Successor Task Map
+ * periodically and reclaiming the Successor Tasks of idle jobs, which have no
+ * task in the Ready Task Queue, none being dispatched and none running below.
+ * Their arguments are lost and will never arrive.
+ * <p>
+ * A task taken from the Ready Task Queue is being dispatched until it is put
+ * into a Running Task Map, executed or put back. The Space and the Universe
+ * take their tasks through the sweeper, so that the job of a task is never out
+ * of its sight in between.
+ * </p>
+ */
+public abstract class SuccessorSweeper extends Thread {
+
+	/**
+	 * Successor Task Map to be swept.
+	 */
+	private final SuccessorTaskMap successorTaskMap;
+
+	/**
+	 * Ready Task Queue of the node.
+	 */
+	private final BlockingQueue<Task<?>> readyTaskQueue;
+
+	/**
+	 * Number of tasks being dispatched of each job.
+	 */
+	private final Map<String, Integer> dispatchingJobs;
+
+	/**
+	 * Taking a task is shared, looking at the Ready Task Queue and the tasks
+	 * being dispatched together is exclusive.
+	 */
+	private final ReadWriteLock lock;
+
+	/**
+	 * Constructor of Successor Sweeper.
+	 *
+	 * @param successorTaskMap
+	 *            Successor Task Map to be swept.
+	 * @param readyTaskQueue
+	 *            Ready Task Queue of the node.
+	 */
+	public SuccessorSweeper(SuccessorTaskMap successorTaskMap,
+			BlockingQueue<Task<?>> readyTaskQueue) {
+		this.successorTaskMap = successorTaskMap;
+		this.readyTaskQueue = readyTaskQueue;
+		this.dispatchingJobs = new ConcurrentHashMap<>();
+		this.lock = new ReentrantReadWriteLock();
+	}
+
+	/**
+	 * Take a task from the Ready Task Queue, waiting up to a timeout. The task
+	 * is being dispatched until {@link #dispatched(Task)}.
+	 *
+	 * @param timeout
+	 *            Max time to wait in milliseconds. 0 not to wait.
+	 * @return Task. Null if none arrived in time.
+	 * @throws InterruptedException
+	 *             Interrupted while waiting.
+	 */
+	public Task<?> take(long timeout) throws InterruptedException {
+		lock.readLock().lock();
+		try {
+			Task<?> task = readyTaskQueue.poll(timeout, TimeUnit.MILLISECONDS);
+			if (task != null) {
+				dispatchingJobs.merge(task.getJobID(), 1, Integer::sum);
+			}
+			return task;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove a task from the Ready Task Queue. The task is being dispatched
+	 * until {@link #dispatched(Task)}.
+	 *
+	 * @param task
+	 *            Task.
+	 * @return True if the task was in the Ready Task Queue. False otherwise.
+	 */
+	public boolean remove(Task<?> task) {
+		lock.readLock().lock();
+		try {
+			if (!readyTaskQueue.remove(task)) {
+				return false;
+			}
+			dispatchingJobs.merge(task.getJobID(), 1, Integer::sum);
+			return true;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Mark a task taken or removed as dispatched. Call after it is put into a
+	 * Running Task Map, executed or put back into the Ready Task Queue.
+	 *
+	 * @param task
+	 *            Task.
+	 */
+	public void dispatched(Task<?> task) {
+		dispatchingJobs.computeIfPresent(task.getJobID(),
+				(jobID, num) -> num == 1 ? null : num - 1);
+	}
+
+	/**
+	 * Get the jobs having a task in the Ready Task Queue, being dispatched or
+	 * running below.
+	 *
+	 * @return Job IDs of running jobs.
+	 */
+	public Set<String> getRunningJobs() {
+		Set<String> runningJobs = new HashSet<>();
+		lock.writeLock().lock();
+		try {
+			for (Task<?> task : readyTaskQueue) {
+				runningJobs.add(task.getJobID());
+			}
+			runningJobs.addAll(dispatchingJobs.keySet());
+		} finally {
+			lock.writeLock().unlock();
+		}
+		// A task dispatched after this point is in a Running Task Map.
+		addRunningJobs(runningJobs);
+		return runningJobs;
+	}
+
+	/**
+	 * Add the jobs having a task in a Running Task Map of the node.
+	 *
+	 * @param runningJobs
+	 *            Job IDs of running jobs.
+	 */
+	protected abstract void addRunningJobs(Set<String> runningJobs);
+
+	/**
+	 * Called after the Successor Tasks of an idle job are reclaimed.
+	 *
+	 * @param jobID
+	 *            Job ID.
+	 */
+	protected void reclaimed(String jobID) {
+	}
+
+	/**
+	 * Advance the epoch and reclaim the Successor Tasks of the idle jobs.
+	 */
+	protected void sweep() {
+		successorTaskMap.nextEpoch();
+		List<String> idleJobs = successorTaskMap
+				.getIdleJobs(Config.SuccessorIdleEpochs);
+		if (!idleJobs.isEmpty()) {
+			Set<String> runningJobs = getRunningJobs();
+			for (String jobID : idleJobs) {
+				if (runningJobs.contains(jobID)) {
+					continue;
+				}
+				int num = successorTaskMap.removeIdleJob(jobID,
+						Config.SuccessorIdleEpochs);
+				if (num > 0) {
+					reclaimed(jobID);
+					Logger.getLogger(SuccessorSweeper.class.getName()).log(
+							Level.WARNING,
+							"{0} Successor Tasks of Job {1} are reclaimed.",
+							new Object[] { num, jobID });
+				}
+			}
+		}
+		if (Config.STATUSOUTPUT) {
+			for (Map.Entry<String, long[]> entry : successorTaskMap
+					.getJobStatus().entrySet()) {
+				System.out.println("Successor: " + entry.getKey() + " "
+						+ entry.getValue()[0] + " tasks "
+						+ entry.getValue()[1] + " bytes");
+			}
+		}
+	}
+
+	@Override
+	public void run() {
+		while (true) {
+			try {
+				Thread.sleep(Config.SuccessorSweepInterval);
+			} catch (InterruptedException e) {
+				return;
+			}
+			sweep();
+		}
+	}
+}
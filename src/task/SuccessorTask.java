@@ -48,6 +48,30 @@ public abstract class SuccessorTask<T> extends Task<T> {
 		}
 	}
 
+	/**
+	 * Check if the task has at least one of its arguments.
+	 * 
+	 * @return True if an argument is set. False otherwise.
+	 */
+	synchronized public boolean hasArg() {
+		for (T value : arg) {
+			if (value != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the number of missing arguments. A null argument may have been
+	 * set, so they are not counted from the arguments.
+	 * 
+	 * @return Number of missing arguments.
+	 */
+	synchronized public int getMissingArgNum() {
+		return missingArgNum;
+	}
+
 	/**
 	 * Set the argument at the index position.
 	 * 
@@ -63,6 +87,20 @@ public abstract class SuccessorTask<T> extends Task<T> {
 		}
 	}
 
+	/**
+	 * Check if the task takes the best of its arguments. Then each argument
+	 * is an answer to the job, as good as its order says, and a better one
+	 * can be given to the Client before the job is done. Such a task can
+	 * also be executed with missing arguments, left null, when the deadline
+	 * of its job approaches.
+	 * 
+	 * @return True if the task takes the best of its arguments. False
+	 *         otherwise.
+	 */
+	public boolean isBestOf() {
+		return false;
+	}
+
 	/**
 	 * Get the argument index of the target successor task.
 	 * 
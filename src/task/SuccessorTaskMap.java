@@ -0,0 +1,260 @@
+package task;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import api.Task;
+
+/**
+ *
+ * Successor Task Map contains successor tasks waiting for arguments, keyed by
+ * Task ID. It keeps track of the lifetime of every job owning successor tasks,
+ * so that successor tasks whose arguments will never arrive can be reclaimed.
+ * <p>
+ * The lifetime is measured in epochs. An epoch is advanced by the sweeper of
+ * Space or Universe. A job is active in the epoch in which one of its
+ * successor tasks is added or gets an argument.
+ * </p>
+ */
+public class SuccessorTaskMap implements Serializable {
+	private static final long serialVersionUID = -2946357151869283475L;
+
+	/**
+	 * Successor Tasks. Task ID to Successor Task.
+	 */
+	private final Map<String, Task<?>> successorTasks;
+
+	/**
+	 * Number of Successor Tasks of each job.
+	 */
+	private final Map<String, Integer> jobSuccessorNum;
+
+	/**
+	 * Last active epoch of each job.
+	 */
+	private final Map<String, Long> jobEpoch;
+
+	/**
+	 * Current epoch.
+	 */
+	private long epoch;
+
+	/**
+	 * Constructor of Successor Task Map.
+	 */
+	public SuccessorTaskMap() {
+		successorTasks = new HashMap<>();
+		jobSuccessorNum = new HashMap<>();
+		jobEpoch = new HashMap<>();
+		epoch = 0;
+	}
+
+	/**
+	 * Add a Successor Task.
+	 *
+	 * @param task
+	 *            Successor Task to be added.
+	 */
+	public synchronized void put(Task<?> task) {
+		if (successorTasks.put(task.getID(), task) == null) {
+			String jobID = task.getJobID();
+			Integer num = jobSuccessorNum.get(jobID);
+			jobSuccessorNum.put(jobID, num == null ? 1 : num + 1);
+			jobEpoch.put(jobID, epoch);
+		}
+	}
+
+	/**
+	 * Get a Successor Task with Task ID. The job of the Task is marked active.
+	 *
+	 * @param taskID
+	 *            Task ID.
+	 * @return Successor Task. Null if it is not in the map.
+	 */
+	public synchronized Task<?> get(String taskID) {
+		Task<?> task = successorTasks.get(taskID);
+		if (task != null) {
+			jobEpoch.put(task.getJobID(), epoch);
+		}
+		return task;
+	}
+
+	/**
+	 * Remove a Successor Task with Task ID.
+	 *
+	 * @param taskID
+	 *            Task ID.
+	 * @return The removed Successor Task. Null if it is not in the map.
+	 */
+	public synchronized Task<?> remove(String taskID) {
+		Task<?> task = successorTasks.remove(taskID);
+		if (task != null) {
+			String jobID = task.getJobID();
+			int num = jobSuccessorNum.get(jobID) - 1;
+			if (num == 0) {
+				jobSuccessorNum.remove(jobID);
+				jobEpoch.remove(jobID);
+			} else {
+				jobSuccessorNum.put(jobID, num);
+			}
+		}
+		return task;
+	}
+
+	/**
+	 * Remove all the Successor Tasks of a job.
+	 *
+	 * @param jobID
+	 *            Job ID.
+	 * @return Number of Successor Tasks removed.
+	 */
+	public synchronized int removeJob(String jobID) {
+		Integer num = jobSuccessorNum.remove(jobID);
+		jobEpoch.remove(jobID);
+		if (num == null) {
+			return 0;
+		}
+		successorTasks.values().removeIf(task -> jobID.equals(task.getJobID()));
+		return num;
+	}
+
+	/**
+	 * Remove all the Successor Tasks of a job if it is still idle. Call from
+	 * the sweeper, as the job may have become active since it was found idle.
+	 *
+	 * @param jobID
+	 *            Job ID.
+	 * @param epochs
+	 *            Number of idle epochs.
+	 * @return Number of Successor Tasks removed.
+	 */
+	public synchronized int removeIdleJob(String jobID, int epochs) {
+		Long jobepoch = jobEpoch.get(jobID);
+		if (jobepoch == null || epoch - jobepoch < epochs) {
+			return 0;
+		}
+		return removeJob(jobID);
+	}
+
+	/**
+	 * Check if a job has Successor Tasks.
+	 *
+	 * @param jobID
+	 *            Job ID.
+	 * @return True if the job has Successor Tasks. False otherwise.
+	 */
+	public synchronized boolean containsJob(String jobID) {
+		return jobSuccessorNum.containsKey(jobID);
+	}
+
+	/**
+	 * Get the Successor Tasks of a job.
+	 *
+	 * @param jobID
+	 *            Job ID.
+	 * @return Successor Tasks of the job.
+	 */
+	public synchronized List<Task<?>> getJob(String jobID) {
+		List<Task<?>> tasks = new ArrayList<>();
+		if (jobSuccessorNum.containsKey(jobID)) {
+			for (Task<?> task : successorTasks.values()) {
+				if (jobID.equals(task.getJobID())) {
+					tasks.add(task);
+				}
+			}
+		}
+		return tasks;
+	}
+
+	/**
+	 * Get the number of Successor Tasks.
+	 *
+	 * @return Number of Successor Tasks.
+	 */
+	public synchronized int size() {
+		return successorTasks.size();
+	}
+
+	/**
+	 * Advance the epoch. Call from the sweeper.
+	 *
+	 * @return The new epoch.
+	 */
+	public synchronized long nextEpoch() {
+		return ++epoch;
+	}
+
+	/**
+	 * Get the jobs that have not been active for a number of epochs.
+	 *
+	 * @param epochs
+	 *            Number of idle epochs.
+	 * @return Job IDs of idle jobs.
+	 */
+	public synchronized List<String> getIdleJobs(int epochs) {
+		List<String> idleJobs = new ArrayList<>();
+		for (Map.Entry<String, Long> entry : jobEpoch.entrySet()) {
+			if (epoch - entry.getValue() >= epochs) {
+				idleJobs.add(entry.getKey());
+			}
+		}
+		return idleJobs;
+	}
+
+	/**
+	 * Get the number of Successor Tasks and their serialized size in bytes of
+	 * each job. The size is measured outside of the map lock.
+	 *
+	 * @return Job ID to {number of Successor Tasks, bytes}.
+	 */
+	public Map<String, long[]> getJobStatus() {
+		List<Task<?>> tasks;
+		synchronized (this) {
+			tasks = new ArrayList<>(successorTasks.values());
+		}
+		Map<String, long[]> status = new HashMap<>();
+		CountingOutputStream counter = new CountingOutputStream();
+		for (Task<?> task : tasks) {
+			long[] jobStatus = status.get(task.getJobID());
+			if (jobStatus == null) {
+				jobStatus = new long[2];
+				status.put(task.getJobID(), jobStatus);
+			}
+			jobStatus[0]++;
+			counter.count = 0;
+			try (ObjectOutputStream oos = new ObjectOutputStream(counter)) {
+				oos.writeObject(task);
+			} catch (IOException e) {
+				continue;
+			}
+			jobStatus[1] += counter.count;
+		}
+		return status;
+	}
+
+	/**
+	 * Output Stream only counting the bytes written.
+	 */
+	private static class CountingOutputStream extends OutputStream {
+		/**
+		 * Number of bytes written.
+		 */
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
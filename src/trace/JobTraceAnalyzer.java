@@ -0,0 +1,217 @@
+package trace;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import trace.JobTracer.Record;
+
+/**
+ * Job Trace Analyzer rebuilds the DAG of every job from the job trace files
+ * written by {@link JobTracer} on all the Spaces and Computers, and reports:
+ * <ul>
+ * <li>total work, the sum of the execution time of all the tasks;</li>
+ * <li>critical-path length, the longest chain of spawn and join
+ * dependencies;</li>
+ * <li>achievable parallelism, total work over critical-path length;</li>
+ * <li>busy and idle time of every tier over the wall time of the job.</li>
+ * </ul>
+ * From these it tells whether the job is limited by the tree shape, by the
+ * task granularity or by the cluster capacity. Idle time is counted over all
+ * the executors seen in the job, so jobs running at the same time see each
+ * other as idle time.
+ * <p>
+ * Usage: JobTraceAnalyzer jobTraceFile... [-job jobID]
+ * </p>
+ */
+public class JobTraceAnalyzer {
+
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.out
+					.println("Usage: JobTraceAnalyzer jobTraceFile... [-job jobID]");
+			return;
+		}
+		String filter = null;
+		Map<String, List<Record>> jobs = new TreeMap<>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-job") && i + 1 < args.length) {
+				filter = args[++i];
+				continue;
+			}
+			read(args[i], jobs);
+		}
+		if (jobs.isEmpty()) {
+			System.out.println("No record.");
+			return;
+		}
+		for (Map.Entry<String, List<Record>> job : jobs.entrySet()) {
+			if (filter == null || filter.equals(job.getKey())) {
+				analyze(job.getKey(), job.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Read the records of a job trace file, grouped by job.
+	 */
+	private static void read(String fileName, Map<String, List<Record>> jobs)
+			throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(fileName)))) {
+			if (in.readInt() != JobTracer.MAGIC) {
+				System.out.println("Not a job trace file: " + fileName);
+				return;
+			}
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				Record record = new Record(in.readUTF(), in.readUTF(),
+						in.readUTF(), in.readLong(), in.readLong(),
+						in.readLong(), in.readInt(), in.readInt(),
+						in.readLong(), in.readLong());
+				jobs.computeIfAbsent(record.jobID, k -> new ArrayList<>()).add(
+						record);
+			}
+		}
+	}
+
+	/**
+	 * Analyze and print one job.
+	 */
+	private static void analyze(String jobID, List<Record> records) {
+		Map<Long, Record> tasks = new HashMap<>();
+		Map<Long, List<Record>> joins = new HashMap<>();
+		long work = 0;
+		long start = Long.MAX_VALUE;
+		long end = Long.MIN_VALUE;
+		long[] tierBusy = new long[JobTracer.TIER_NAMES.length];
+		List<Set<String>> tierExecutors = new ArrayList<>();
+		for (int i = 0; i < JobTracer.TIER_NAMES.length; i++) {
+			tierExecutors.add(new HashSet<>());
+		}
+		Map<String, long[]> types = new TreeMap<>();
+		for (Record record : records) {
+			tasks.put(record.ID, record);
+			if (record.successorID != 0) {
+				joins.computeIfAbsent(record.successorID,
+						k -> new ArrayList<>()).add(record);
+			}
+			work += record.duration;
+			start = Math.min(start, record.start);
+			end = Math.max(end, record.end());
+			tierBusy[record.tier] += record.duration;
+			tierExecutors.get(record.tier).add(record.executor);
+			long[] type = types.computeIfAbsent(record.taskType + " L"
+					+ record.layer, k -> new long[2]);
+			type[0]++;
+			type[1] += record.duration;
+		}
+
+		// Finish time of every task along its longest dependency chain.
+		Map<Long, Long> finish = new HashMap<>();
+		long criticalPath = 0;
+		for (Record record : records) {
+			criticalPath = Math.max(criticalPath,
+					finish(record, tasks, joins, finish));
+		}
+		long wall = Math.max(1, end - start);
+		double parallelism = criticalPath == 0 ? 0 : (double) work
+				/ criticalPath;
+		int executors = 0;
+
+		System.out.println("Job " + jobID);
+		System.out.printf("  Tasks:              %d%n", records.size());
+		System.out.printf("  Wall time:          %.3f ms%n", wall / 1e6);
+		System.out.printf("  Total work:         %.3f ms%n", work / 1e6);
+		System.out.printf("  Critical path:      %.3f ms%n", criticalPath / 1e6);
+		System.out.printf("  Parallelism:        %.2f%n", parallelism);
+		for (int i = 0; i < JobTracer.TIER_NAMES.length; i++) {
+			int n = tierExecutors.get(i).size();
+			if (n == 0) {
+				continue;
+			}
+			executors += n;
+			long idle = Math.max(0, wall * n - tierBusy[i]);
+			System.out.printf(
+					"  %-9s %3d executors, busy %.3f ms, idle %.3f ms (%.1f%%)%n",
+					JobTracer.TIER_NAMES[i], n, tierBusy[i] / 1e6, idle / 1e6,
+					100.0 * idle / (wall * n));
+		}
+		System.out.println("  Task types:");
+		for (Map.Entry<String, long[]> type : types.entrySet()) {
+			System.out.printf("    %-30s %8d tasks, mean %.3f ms%n",
+					type.getKey(), type.getValue()[0], type.getValue()[1]
+							/ 1e6 / type.getValue()[0]);
+		}
+		System.out.println("  " + diagnose(records.size(), work, criticalPath,
+				wall, parallelism, executors));
+	}
+
+	/**
+	 * Get the finish time of a task along its longest dependency chain: its
+	 * own execution time after the latest of its parent and the tasks joining
+	 * into it.
+	 */
+	private static long finish(Record record, Map<Long, Record> tasks,
+			Map<Long, List<Record>> joins, Map<Long, Long> finish) {
+		Long known = finish.get(record.ID);
+		if (known != null) {
+			return known;
+		}
+		// Guard against cycles from colliding trace IDs.
+		finish.put(record.ID, record.duration);
+		long ready = 0;
+		Record parent = tasks.get(record.parentID);
+		if (parent != null) {
+			ready = finish(parent, tasks, joins, finish);
+		}
+		List<Record> children = joins.get(record.ID);
+		if (children != null) {
+			for (Record child : children) {
+				ready = Math.max(ready, finish(child, tasks, joins, finish));
+			}
+		}
+		long result = ready + record.duration;
+		finish.put(record.ID, result);
+		return result;
+	}
+
+	/**
+	 * Tell what limits the job.
+	 */
+	private static String diagnose(int taskNum, long work, long criticalPath,
+			long wall, double parallelism, int executors) {
+		if (executors == 0 || criticalPath == 0) {
+			return "Not enough records to diagnose.";
+		}
+		double overhead = (double) (wall * executors - work) / taskNum;
+		double meanTask = (double) work / taskNum;
+		if (parallelism < executors) {
+			return String.format(
+					"Limited by tree shape: parallelism %.2f is below %d executors. "
+							+ "Split the leaf tasks further (lower TspTaskConfig.stopSign) "
+							+ "or spread more layers over the Spaces (raise "
+							+ "FibonacciTaskConfig.FibonacciCoarse or TspTaskConfig.TSPCoarse).",
+					parallelism, executors);
+		}
+		if (overhead > meanTask) {
+			return String.format(
+					"Limited by granularity: %.3f ms of idle time per task over "
+							+ "%.3f ms of work per task. Make the leaf tasks coarser (raise "
+							+ "TspTaskConfig.stopSign) or spread fewer layers over the Spaces "
+							+ "(lower FibonacciTaskConfig.FibonacciCoarse or TspTaskConfig.TSPCoarse).",
+					overhead / 1e6, meanTask / 1e6);
+		}
+		return String.format(
+				"Limited by cluster capacity: parallelism %.2f exceeds %d executors. "
+						+ "Add Computers or workers.", parallelism, executors);
+	}
+}
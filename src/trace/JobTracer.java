@@ -0,0 +1,233 @@
+package trace;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import api.Result;
+import api.Task;
+import config.Config;
+
+/**
+ * Job Tracer records every executed task of a job with its parent, its
+ * successor and its timing, so the job DAG can be rebuilt offline by
+ * {@link JobTraceAnalyzer}. When Config.JOBTRACE is off, nothing is linked or
+ * recorded.
+ * <p>
+ * A traced task carries three trace IDs: its own, the one of the task which
+ * spawned it and the one of the successor task its value goes to. Trace IDs
+ * are random longs, unique across the nodes of a job with high probability.
+ * The records are written to a job trace file when the JVM exits.
+ * </p>
+ */
+public final class JobTracer {
+
+	/**
+	 * Tier of a task executed in Space.
+	 */
+	public static final int SPACE_TIER = 0;
+
+	/**
+	 * Tier of a task executed in a Computer.
+	 */
+	public static final int COMPUTER_TIER = 1;
+
+	/**
+	 * Names of the tiers.
+	 */
+	static final String[] TIER_NAMES = { "Space", "Computer" };
+
+	/**
+	 * Magic number of the job trace file.
+	 */
+	static final int MAGIC = 0x4a4f4232;
+
+	/**
+	 * Wall-clock time in nanoseconds since the epoch at ORIGIN.
+	 */
+	private static final long EPOCH = System.currentTimeMillis() * 1000000L;
+
+	/**
+	 * System.nanoTime() when the wall clock was read. The start of a task is
+	 * measured from it, so that tasks within the same millisecond keep their
+	 * order and spacing.
+	 */
+	private static final long ORIGIN = System.nanoTime();
+
+	/**
+	 * Records of this JVM.
+	 */
+	private static final ConcurrentLinkedQueue<Record> RECORDS = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Number of records, which stops at Config.JobTraceSize.
+	 */
+	private static final AtomicInteger SIZE = new AtomicInteger();
+
+	static {
+		if (Config.JOBTRACE) {
+			Runtime.getRuntime().addShutdownHook(
+					new Thread(() -> dump(Config.JobTraceFile + "-"
+							+ ProcessHandle.current().pid() + ".bin")));
+		}
+	}
+
+	private JobTracer() {
+	}
+
+	/**
+	 * Link the subtasks of a Task Result to the task generating them. The
+	 * first subtask is the successor of the others. Call from Computer after
+	 * the subtasks get their Task IDs.
+	 *
+	 * @param parent
+	 *            Task generating the subtasks.
+	 * @param subtasks
+	 *            Successor task followed by child ready tasks.
+	 */
+	public static void link(Task<?> parent, List<? extends Task<?>> subtasks) {
+		if (!Config.JOBTRACE) {
+			return;
+		}
+		long parentID = traceLinks(parent)[0];
+		long[] successorLinks = traceLinks(subtasks.get(0));
+		successorLinks[1] = parentID;
+		successorLinks[2] = traceLinks(parent)[2];
+		for (int i = 1; i < subtasks.size(); i++) {
+			long[] links = traceLinks(subtasks.get(i));
+			links[1] = parentID;
+			links[2] = successorLinks[0];
+		}
+	}
+
+	/**
+	 * Record an executed task.
+	 *
+	 * @param task
+	 *            Executed task.
+	 * @param result
+	 *            Result of the task.
+	 * @param tier
+	 *            Tier of the executing node.
+	 * @param executor
+	 *            Name of the executing node.
+	 */
+	public static void record(Task<?> task, Result result, int tier,
+			String executor) {
+		if (!Config.JOBTRACE) {
+			return;
+		}
+		if (SIZE.incrementAndGet() > Config.JobTraceSize) {
+			SIZE.decrementAndGet();
+			return;
+		}
+		long[] links = traceLinks(task);
+		long start = EPOCH + result.getTaskStartTime() - ORIGIN;
+		RECORDS.add(new Record(task.getJobID(), task.getClass()
+				.getSimpleName(), executor + "/"
+				+ Thread.currentThread().getName(), links[0], links[1],
+				links[2], task.getLayer(), tier, start, result
+				.getTaskRuntime()));
+	}
+
+	/**
+	 * Get the trace links of a task, giving it a trace ID if it has none.
+	 */
+	private static long[] traceLinks(Task<?> task) {
+		long[] links = task.getTraceLinks();
+		if (links == null) {
+			links = new long[3];
+			task.setTraceLinks(links);
+		}
+		if (links[0] == 0) {
+			links[0] = ThreadLocalRandom.current().nextLong() | 1;
+		}
+		return links;
+	}
+
+	/**
+	 * Write all the records into a job trace file.
+	 *
+	 * @param fileName
+	 *            Job trace file name.
+	 */
+	public static void dump(String fileName) {
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(fileName)))) {
+			Record[] records = RECORDS.toArray(new Record[0]);
+			out.writeInt(MAGIC);
+			out.writeInt(records.length);
+			for (Record record : records) {
+				record.write(out);
+			}
+			Logger.getLogger(JobTracer.class.getName()).log(Level.INFO,
+					"Job trace is written to {0}.", fileName);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * One executed task.
+	 */
+	static class Record {
+		final String jobID;
+		final String taskType;
+		final String executor;
+		final long ID;
+		final long parentID;
+		final long successorID;
+		final int layer;
+		final int tier;
+		/**
+		 * Start time in nanoseconds since the epoch.
+		 */
+		final long start;
+		/**
+		 * Execution time in nanoseconds.
+		 */
+		final long duration;
+
+		Record(String jobID, String taskType, String executor, long ID,
+				long parentID, long successorID, int layer, int tier,
+				long start, long duration) {
+			this.jobID = jobID;
+			this.taskType = taskType;
+			this.executor = executor;
+			this.ID = ID;
+			this.parentID = parentID;
+			this.successorID = successorID;
+			this.layer = layer;
+			this.tier = tier;
+			this.start = start;
+			this.duration = duration;
+		}
+
+		/**
+		 * Get the end time in nanoseconds since the epoch.
+		 */
+		long end() {
+			return start + duration;
+		}
+
+		private void write(DataOutputStream out) throws IOException {
+			out.writeUTF(jobID);
+			out.writeUTF(taskType);
+			out.writeUTF(executor);
+			out.writeLong(ID);
+			out.writeLong(parentID);
+			out.writeLong(successorID);
+			out.writeInt(layer);
+			out.writeInt(tier);
+			out.writeLong(start);
+			out.writeLong(duration);
+		}
+	}
+}
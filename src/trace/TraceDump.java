@@ -0,0 +1,114 @@
+package trace;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TraceDump renders a trace file written by {@link Tracer}. Events of all the
+ * threads are merged in time order and printed with the time in microseconds
+ * since the first event.
+ * <p>
+ * Usage: TraceDump traceFile [taskID]. If a Task ID is given, only the events
+ * of this task are printed, with the ones at the hops after, whose IDs extend
+ * it. A Job ID gives the events of the whole job.
+ * </p>
+ */
+public class TraceDump {
+
+	/**
+	 * One event read from the trace file.
+	 */
+	private static class Event {
+		private final String thread;
+		private final long time;
+		private final int type;
+		private final int layer;
+		private final String ID;
+
+		Event(String thread, long time, long typeLayer, String ID) {
+			this.thread = thread;
+			this.time = time;
+			this.type = (int) (typeLayer >>> 32);
+			this.layer = (int) typeLayer;
+			this.ID = ID;
+		}
+	}
+
+	/**
+	 * Check if a Task ID is the given ID or extends it at a later hop.
+	 *
+	 * @param ID
+	 *            Task ID of an event.
+	 * @param filter
+	 *            Task ID or Job ID given.
+	 * @return True if the event belongs to the given task.
+	 */
+	private static boolean matches(String ID, String filter) {
+		int i = ID.indexOf(filter);
+		while (i >= 0) {
+			int end = i + filter.length();
+			if ((i == 0 || ID.charAt(i - 1) == ':' || ID.charAt(i - 1) == '!'
+					|| ID.charAt(i - 1) == '$')
+					&& (end == ID.length() || ID.charAt(end) == ':')) {
+				return true;
+			}
+			i = ID.indexOf(filter, i + 1);
+		}
+		return false;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.out.println("Usage: TraceDump traceFile [taskID]");
+			return;
+		}
+		String filter = args.length > 1 ? args[1] : null;
+		List<Event> events = new ArrayList<>();
+		long dropped = 0;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(args[0])))) {
+			if (in.readInt() != Tracer.MAGIC) {
+				System.out.println("Not a trace file: " + args[0]);
+				return;
+			}
+			int rings = in.readInt();
+			for (int i = 0; i < rings; i++) {
+				String thread = in.readUTF();
+				long count = in.readLong();
+				int size = in.readInt();
+				dropped += count - size;
+				for (int j = 0; j < size; j++) {
+					long time = in.readLong();
+					long typeLayer = in.readLong();
+					byte[] ID = new byte[in.readUnsignedByte()];
+					in.readFully(ID);
+					Event event = new Event(thread, time, typeLayer,
+							new String(ID, StandardCharsets.ISO_8859_1));
+					if (filter == null || matches(event.ID, filter)) {
+						events.add(event);
+					}
+				}
+			}
+		}
+		events.sort((a, b) -> Long.compare(a.time, b.time));
+		if (events.isEmpty()) {
+			System.out.println("No event.");
+			return;
+		}
+		long start = events.get(0).time;
+		for (Event event : events) {
+			String name = event.type < Tracer.EVENT_NAMES.length ? Tracer.EVENT_NAMES[event.type]
+					: Integer.toString(event.type);
+			System.out.printf("%12.3f %-20s %-18s %d %s%n",
+					(event.time - start) / 1000.0, event.thread, name,
+					event.layer, event.ID);
+		}
+		System.out.println(events.size() + " events, " + dropped
+				+ " overwritten.");
+	}
+}
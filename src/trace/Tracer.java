@@ -0,0 +1,302 @@
+package trace;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import config.Config;
+
+/**
+ * Tracer records task events into per-thread ring buffers. Every event is a
+ * fixed-size binary record of timestamp, event type, layer and the first
+ * Config.TraceIDSize characters of the Task ID, copied into the ring, so
+ * recording takes no lock, allocates nothing and keeps no Task ID alive. The
+ * ID keeps the IDs of the task at the hops before, so the events of a task can
+ * be followed across the nodes. When Config.TRACE is off, recording is a
+ * single constant check.
+ * <p>
+ * The ring of a thread is dropped once the thread has ended, when another
+ * thread starts recording or the trace is written.
+ * </p>
+ * <p>
+ * The buffers are written to a trace file when the JVM exits, to be rendered
+ * by {@link TraceDump}.
+ * </p>
+ */
+public final class Tracer {
+
+	/**
+	 * Worker takes a task from Computer Ready Task Queue.
+	 */
+	public static final int WORKER_TAKE = 0;
+
+	/**
+	 * Worker puts a result into Computer Result Queue.
+	 */
+	public static final int WORKER_RESULT = 1;
+
+	/**
+	 * Worker caches a running task into Computer Ready Task Queue.
+	 */
+	public static final int WORKER_CACHE = 2;
+
+	/**
+	 * Computer assigns an ID to a successor task.
+	 */
+	public static final int COMPUTER_SUCCESSOR = 3;
+
+	/**
+	 * Computer assigns an ID to a child ready task.
+	 */
+	public static final int COMPUTER_SUBTASK = 4;
+
+	/**
+	 * Computer Proxy sends a task to its Computer.
+	 */
+	public static final int SPACE_SEND = 5;
+
+	/**
+	 * Computer Proxy receives a result from its Computer.
+	 */
+	public static final int SPACE_RECEIVE = 6;
+
+	/**
+	 * Computer Proxy forwards a coarse result to Space Result Queue.
+	 */
+	public static final int SPACE_COARSE = 7;
+
+	/**
+	 * Computer Proxy forwards a result whose successor is not in Space.
+	 */
+	public static final int SPACE_FORWARD = 8;
+
+	/**
+	 * Task Result puts a running task into Running Task Map.
+	 */
+	public static final int RESULT_RUNNING = 9;
+
+	/**
+	 * Task Result adds a successor task.
+	 */
+	public static final int RESULT_SUCCESSOR = 10;
+
+	/**
+	 * Task Result adds a child ready task.
+	 */
+	public static final int RESULT_SUBTASK = 11;
+
+	/**
+	 * Value Result fills an argument of its successor task.
+	 */
+	public static final int VALUE_FILL = 12;
+
+	/**
+	 * Value Result finds its successor task missing.
+	 */
+	public static final int VALUE_MISSING = 13;
+
+	/**
+	 * Value Result makes its successor task ready.
+	 */
+	public static final int VALUE_READY = 14;
+
+	/**
+	 * Space Proxy sends a task to its Space.
+	 */
+	public static final int UNIVERSE_SEND = 15;
+
+	/**
+	 * Space Proxy receives a result from its Space.
+	 */
+	public static final int UNIVERSE_RECEIVE = 16;
+
+	/**
+	 * Server Proxy takes a task from its Server.
+	 */
+	public static final int UNIVERSE_SUBMIT = 17;
+
+	/**
+	 * Names of the events, indexed by event type.
+	 */
+	static final String[] EVENT_NAMES = { "WorkerTake", "WorkerResult",
+			"WorkerCache", "ComputerSuccessor", "ComputerSubtask",
+			"SpaceSend", "SpaceReceive", "SpaceCoarse", "SpaceForward",
+			"ResultRunning", "ResultSuccessor", "ResultSubtask", "ValueFill",
+			"ValueMissing", "ValueReady", "UniverseSend", "UniverseReceive",
+			"UniverseSubmit" };
+
+	/**
+	 * Magic number of the trace file.
+	 */
+	static final int MAGIC = 0x54524333;
+
+	/**
+	 * Number of longs of an event.
+	 */
+	static final int EVENT_SIZE = 2;
+
+	/**
+	 * All the ring buffers of this JVM.
+	 */
+	private static final ConcurrentLinkedQueue<Ring> RINGS = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Ring buffer of the current thread.
+	 */
+	private static final ThreadLocal<Ring> RING = ThreadLocal
+			.withInitial(() -> {
+				RINGS.removeIf(Ring::isEnded);
+				Ring ring = new Ring(Thread.currentThread());
+				RINGS.add(ring);
+				return ring;
+			});
+
+	static {
+		if (Config.TRACE) {
+			Runtime.getRuntime().addShutdownHook(
+					new Thread(() -> dump(Config.TraceFile + "-"
+							+ ProcessHandle.current().pid() + ".bin")));
+		}
+	}
+
+	private Tracer() {
+	}
+
+	/**
+	 * Record an event of a task into the ring buffer of the current thread.
+	 *
+	 * @param event
+	 *            Event type.
+	 * @param ID
+	 *            Task ID or Result ID.
+	 * @param layer
+	 *            Layer of the task. -1 if unknown.
+	 */
+	public static void record(int event, String ID, int layer) {
+		if (!Config.TRACE) {
+			return;
+		}
+		RING.get().add(event, ID, layer);
+	}
+
+	/**
+	 * Write all the ring buffers into a trace file.
+	 *
+	 * @param fileName
+	 *            Trace file name.
+	 */
+	public static void dump(String fileName) {
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(fileName)))) {
+			Ring[] rings = RINGS.toArray(new Ring[0]);
+			out.writeInt(MAGIC);
+			out.writeInt(rings.length);
+			for (Ring ring : rings) {
+				ring.write(out);
+			}
+			RINGS.removeIf(Ring::isEnded);
+			Logger.getLogger(Tracer.class.getName()).log(Level.INFO,
+					"Trace is written to {0}.", fileName);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Ring buffer of one thread. Only the owner thread writes, the oldest
+	 * events are overwritten when it is full.
+	 */
+	private static class Ring {
+		/**
+		 * Owner thread. Not kept alive by its ring.
+		 */
+		private final WeakReference<Thread> thread;
+
+		/**
+		 * Thread name.
+		 */
+		private final String threadName;
+
+		/**
+		 * Events, EVENT_SIZE longs each.
+		 */
+		private final long[] events;
+
+		/**
+		 * Task IDs of the events, Config.TraceIDSize characters each, padded
+		 * with 0.
+		 */
+		private final byte[] IDs;
+
+		/**
+		 * Number of events ever recorded.
+		 */
+		private volatile long count;
+
+		Ring(Thread thread) {
+			this.thread = new WeakReference<>(thread);
+			this.threadName = thread.getName();
+			this.events = new long[Config.TraceBufferSize * EVENT_SIZE];
+			this.IDs = new byte[Config.TraceBufferSize * Config.TraceIDSize];
+		}
+
+		/**
+		 * Check if the owner thread has ended.
+		 */
+		private boolean isEnded() {
+			Thread owner = thread.get();
+			return owner == null || !owner.isAlive();
+		}
+
+		/**
+		 * Add an event.
+		 */
+		private void add(int event, String ID, int layer) {
+			long n = count;
+			int slot = (int) (n % Config.TraceBufferSize);
+			int index = slot * EVENT_SIZE;
+			events[index] = System.nanoTime();
+			events[index + 1] = ((long) event << 32) | (layer & 0xffffffffL);
+			int offset = slot * Config.TraceIDSize;
+			int length = ID == null ? 0 : Math.min(ID.length(),
+					Config.TraceIDSize);
+			for (int i = 0; i < length; i++) {
+				IDs[offset + i] = (byte) ID.charAt(i);
+			}
+			if (length < Config.TraceIDSize) {
+				IDs[offset + length] = 0;
+			}
+			count = n + 1;
+		}
+
+		/**
+		 * Write the events from the oldest to the newest.
+		 */
+		private void write(DataOutputStream out) throws IOException {
+			long n = count;
+			int size = (int) Math.min(n, Config.TraceBufferSize);
+			out.writeUTF(threadName);
+			out.writeLong(n);
+			out.writeInt(size);
+			for (long i = n - size; i < n; i++) {
+				int slot = (int) (i % Config.TraceBufferSize);
+				int index = slot * EVENT_SIZE;
+				out.writeLong(events[index]);
+				out.writeLong(events[index + 1]);
+				int offset = slot * Config.TraceIDSize;
+				int length = 0;
+				while (length < Config.TraceIDSize
+						&& IDs[offset + length] != 0) {
+					length++;
+				}
+				out.writeByte(length);
+				out.write(IDs, offset, length);
+			}
+		}
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * Low-overhead tracing of task events and the tools to render the traces.
+ */
+package trace;
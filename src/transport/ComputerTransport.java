@@ -0,0 +1,322 @@
+package transport;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.rmi.RemoteException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import api.Result;
+import api.Task;
+import computer.ComputerImpl;
+import config.Config;
+
+/**
+ * Computer Transport connects a Computer to the {@link SpaceTransport} of a
+ * Space. Request Service serves the requests of the Space in order, and
+ * Result Service pushes every Result as soon as a Worker produces it, so the
+ * Space never polls. The channel is blocking, a Computer having only one.
+ * A Computer on the host of its Space connects through the Unix domain socket
+ * of the Space, skipping the TCP stack, and then offers a ring file to switch
+ * to shared memory, see {@link RemoteComputer}.
+ */
+public class ComputerTransport {
+	/**
+	 * Computer served.
+	 */
+	private final ComputerImpl computer;
+
+	/**
+	 * Channel to the Space.
+	 */
+	private final SocketChannel channel;
+
+	/**
+	 * Ring file offered to the Space, null if none.
+	 */
+	private Path ringPath;
+
+	/**
+	 * Space to Computer ring, then Computer to Space ring. Null if none.
+	 */
+	private Ring[] rings;
+
+	/**
+	 * Where the frames to the Space are written, the channel or the ring.
+	 */
+	private WritableByteChannel output;
+
+	/**
+	 * Constructor of Computer Transport. Connect to the Space.
+	 * 
+	 * @param computer
+	 *            Computer served.
+	 * @param host
+	 *            Host of the Space.
+	 * @param port
+	 *            Transport port of the Space.
+	 * @throws IOException
+	 *             Failed to connect.
+	 */
+	public ComputerTransport(ComputerImpl computer, String host, int port)
+			throws IOException {
+		this.computer = computer;
+		SocketChannel local = null;
+		if (Config.TransportUnixSocket && isLocal(host)) {
+			local = openLocal(port);
+		}
+		if (local != null) {
+			channel = local;
+		} else {
+			channel = SocketChannel.open(new InetSocketAddress(host, port));
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+		}
+		output = channel;
+		if (local != null && Config.TransportSharedMemory) {
+			openRings();
+		}
+		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
+				"Computer Transport connected to {0}.",
+				channel.getRemoteAddress());
+	}
+
+	/**
+	 * Make and map the ring file.
+	 */
+	private void openRings() {
+		try {
+			ringPath = Ring.createFile();
+			ringPath.toFile().deleteOnExit();
+			rings = Ring.map(ringPath, Config.TransportRingSize, true, true);
+		} catch (IOException e) {
+			Logger.getLogger(this.getClass().getName()).log(Level.INFO,
+					"No ring file: {0}", e.getMessage());
+			ringPath = null;
+			rings = null;
+		}
+	}
+
+	/**
+	 * Check if a host is this one.
+	 */
+	private static boolean isLocal(String host) {
+		try {
+			InetAddress address = InetAddress.getByName(host);
+			return address.isLoopbackAddress() || address.isAnyLocalAddress()
+					|| NetworkInterface.getByInetAddress(address) != null;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Connect to the Unix domain socket of the Space on this host.
+	 * 
+	 * @return Channel, or null if the Space has no socket here.
+	 */
+	private static SocketChannel openLocal(int port) {
+		Path path = SpaceTransport.getSocketPath(port);
+		if (!Files.exists(path)) {
+			return null;
+		}
+		try {
+			return SocketChannel.open(UnixDomainSocketAddress.of(path));
+		} catch (IOException | UnsupportedOperationException e) {
+			Logger.getLogger(ComputerTransport.class.getName()).log(
+					Level.INFO, "Unix domain socket failed, using TCP: {0}",
+					e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Start serving the Space.
+	 */
+	public void start() {
+		if (rings != null) {
+			try {
+				send(Frame.ATTACH, 0, ringPath.toString());
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		new RequestService().start();
+		ResultService resultService = new ResultService();
+		resultService.setDaemon(true);
+		resultService.start();
+	}
+
+	/**
+	 * Write a frame. Frames of the two services are not interleaved.
+	 */
+	private synchronized void send(byte kind, int requestID, Object value)
+			throws IOException {
+		ByteBuffer buffer = Frame.encode(kind, requestID, value);
+		while (buffer.hasRemaining()) {
+			output.write(buffer);
+		}
+	}
+
+	/**
+	 * Switch the frames to the Space to the ring, after SWITCHED on the
+	 * channel.
+	 */
+	private synchronized void switchOutput() throws IOException {
+		send(Frame.SWITCHED, 0, null);
+		output = rings[1];
+	}
+
+	/**
+	 * Request Service is a thread reading the requests of the Space and
+	 * calling the Computer.
+	 */
+	private class RequestService extends Thread {
+		@Override
+		public void run() {
+			ReadableByteChannel input = channel;
+			while (true) {
+				Frame frame;
+				try {
+					frame = Frame.read(input);
+				} catch (IOException e) {
+					Logger.getLogger(ComputerTransport.class.getName()).log(
+							Level.INFO, "Space Transport closed: {0}",
+							e.getMessage());
+					return;
+				}
+				if (frame.kind == Frame.ATTACHED) {
+					try {
+						input = attached((Boolean) frame.value);
+					} catch (IOException e) {
+						e.printStackTrace();
+						return;
+					}
+					continue;
+				}
+				try {
+					Object reply = serve(frame);
+					if (frame.requestID != 0) {
+						send(Frame.REPLY, frame.requestID, reply);
+					}
+				} catch (RemoteException e) {
+					if (frame.requestID != 0) {
+						sendFailure(frame.requestID, e.getMessage());
+					}
+				} catch (IOException e) {
+					e.printStackTrace();
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Switch to the rings if the Space mapped them, and watch the channel
+		 * for the Space going down.
+		 * 
+		 * @return Where the frames from the Space are read next.
+		 */
+		private ReadableByteChannel attached(boolean mapped) throws IOException {
+			// The mappings outlive the file.
+			Files.deleteIfExists(ringPath);
+			if (!mapped) {
+				return channel;
+			}
+			switchOutput();
+			ChannelWatch channelWatch = new ChannelWatch();
+			channelWatch.setDaemon(true);
+			channelWatch.start();
+			Logger.getLogger(ComputerTransport.class.getName()).log(
+					Level.INFO, "Computer Transport switched to {0}.",
+					ringPath);
+			return rings[0];
+		}
+
+		/**
+		 * Call the Computer for a request.
+		 * 
+		 * @return Reply value, null for none.
+		 */
+		private Object serve(Frame frame) throws RemoteException {
+			switch (frame.kind) {
+			case Frame.SET_ID:
+				computer.setID((Integer) frame.value);
+				return null;
+			case Frame.WORKER_NUM:
+				return computer.getWorkerNum();
+			case Frame.IS_BUSY:
+				return computer.isBusy();
+			case Frame.ADD_TASK:
+				computer.addTask((Task<?>) frame.value);
+				return null;
+			case Frame.CANCEL:
+				computer.cancel((String) frame.value);
+				return null;
+			case Frame.EXIT:
+				computer.exit();
+				return null;
+			default:
+				throw new RemoteException("Unknown request " + frame.kind);
+			}
+		}
+
+		/**
+		 * Reply to a failed request.
+		 */
+		private void sendFailure(int requestID, String error) {
+			try {
+				send(Frame.FAILURE, requestID, error);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Result Service is a thread pushing the Results of the Computer to the
+	 * Space.
+	 */
+	private class ResultService extends Thread {
+		@Override
+		public void run() {
+			while (true) {
+				try {
+					Result result = computer.takeResult();
+					send(Frame.RESULT, 0, result);
+				} catch (InterruptedException | IOException e) {
+					e.printStackTrace();
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Channel Watch is a thread closing the rings when the channel to the
+	 * Space is closed.
+	 */
+	private class ChannelWatch extends Thread {
+		@Override
+		public void run() {
+			ByteBuffer buffer = ByteBuffer.allocate(Frame.LENGTH_SIZE);
+			try {
+				while (channel.read(buffer) >= 0) {
+					buffer.clear();
+				}
+			} catch (IOException e) {
+				// Closed as well.
+			}
+			rings[0].close();
+			rings[1].close();
+		}
+	}
+}
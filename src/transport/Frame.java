@@ -0,0 +1,193 @@
+package transport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import codec.CodecRegistry;
+
+/**
+ * Frame is one message between a Space and a Computer: its length, its kind,
+ * the request ID matching a reply to its request, and a value in the compact
+ * wire format.
+ */
+final class Frame {
+	/**
+	 * Set the Computer ID. Request.
+	 */
+	static final byte SET_ID = 1;
+
+	/**
+	 * Get the number of Workers. Request.
+	 */
+	static final byte WORKER_NUM = 2;
+
+	/**
+	 * Check if the Computer is busy. Request.
+	 */
+	static final byte IS_BUSY = 3;
+
+	/**
+	 * Add a task. One way.
+	 */
+	static final byte ADD_TASK = 4;
+
+	/**
+	 * Cancel a job. One way.
+	 */
+	static final byte CANCEL = 5;
+
+	/**
+	 * Stop the Computer. One way.
+	 */
+	static final byte EXIT = 6;
+
+	/**
+	 * Result pushed by the Computer.
+	 */
+	static final byte RESULT = 7;
+
+	/**
+	 * Reply to a request.
+	 */
+	static final byte REPLY = 8;
+
+	/**
+	 * Reply to a failed request, with the error.
+	 */
+	static final byte FAILURE = 9;
+
+	/**
+	 * Ring file offered by the Computer, on the channel.
+	 */
+	static final byte ATTACH = 10;
+
+	/**
+	 * Space switched its frames to the ring or not, on the channel.
+	 */
+	static final byte ATTACHED = 11;
+
+	/**
+	 * Computer switched its frames to the ring, on the channel.
+	 */
+	static final byte SWITCHED = 12;
+
+	/**
+	 * Size of the length field in bytes.
+	 */
+	static final int LENGTH_SIZE = 4;
+
+	/**
+	 * Largest frame in bytes.
+	 */
+	static final int MAX_SIZE = 1 << 26;
+
+	/**
+	 * Kind of the frame.
+	 */
+	final byte kind;
+
+	/**
+	 * Request ID.
+	 */
+	final int requestID;
+
+	/**
+	 * Value, or null.
+	 */
+	final Object value;
+
+	private Frame(byte kind, int requestID, Object value) {
+		this.kind = kind;
+		this.requestID = requestID;
+		this.value = value;
+	}
+
+	/**
+	 * Encode a frame.
+	 * 
+	 * @param kind
+	 *            Kind of the frame.
+	 * @param requestID
+	 *            Request ID.
+	 * @param value
+	 *            Value, or null.
+	 * @return Buffer ready to be written.
+	 * @throws IOException
+	 *             Failed to encode the value.
+	 */
+	static ByteBuffer encode(byte kind, int requestID, Object value)
+			throws IOException {
+		byte[] payload = CodecRegistry.encode(value);
+		ByteBuffer buffer = ByteBuffer.allocate(LENGTH_SIZE + 5
+				+ payload.length);
+		buffer.putInt(5 + payload.length).put(kind).putInt(requestID)
+				.put(payload).flip();
+		return buffer;
+	}
+
+	/**
+	 * Decode a frame body, everything after the length.
+	 * 
+	 * @param body
+	 *            Frame body.
+	 * @return Frame.
+	 * @throws IOException
+	 *             Failed to decode the value.
+	 */
+	static Frame decode(ByteBuffer body) throws IOException {
+		byte kind = body.get();
+		int requestID = body.getInt();
+		byte[] payload = new byte[body.remaining()];
+		body.get(payload);
+		return new Frame(kind, requestID, CodecRegistry.decode(payload));
+	}
+
+	/**
+	 * Check the length of a frame body.
+	 * 
+	 * @param length
+	 *            Length read.
+	 * @return Length.
+	 * @throws IOException
+	 *             Bad length.
+	 */
+	static int checkLength(int length) throws IOException {
+		if (length < 5 || length > MAX_SIZE) {
+			throw new StreamCorruptedException("Bad frame length " + length);
+		}
+		return length;
+	}
+
+	/**
+	 * Read a frame from a blocking channel.
+	 * 
+	 * @param channel
+	 *            Channel.
+	 * @return Frame.
+	 * @throws IOException
+	 *             Failed to read, or the channel is closed.
+	 */
+	static Frame read(ReadableByteChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(LENGTH_SIZE);
+		readFully(channel, header);
+		ByteBuffer body = ByteBuffer.allocate(checkLength(header.getInt()));
+		readFully(channel, body);
+		return decode(body);
+	}
+
+	/**
+	 * Fill a buffer from a blocking channel and flip it.
+	 */
+	private static void readFully(ReadableByteChannel channel, ByteBuffer buffer)
+			throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				throw new EOFException("Channel closed.");
+			}
+		}
+		buffer.flip();
+	}
+}
@@ -0,0 +1,475 @@
+package transport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.rmi.ConnectException;
+import java.rmi.RemoteException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import api.Computer;
+import api.Result;
+import api.Task;
+import config.Config;
+
+/**
+ * Remote Computer is the Space side of a Computer connected through the
+ * transport. Calls are written as frames on the channel of the Computer and
+ * do not wait for each other: requests waiting for a reply are matched by
+ * their request ID, tasks and cancellations are one way, and the Computer
+ * pushes its Results as soon as they are ready. The channel is read and
+ * written by an I/O Service of {@link SpaceTransport}.
+ * <p>
+ * A Computer on the same host can offer a ring file instead. Once both sides
+ * switch, the frames go through the shared-memory {@link Ring}s, served by
+ * the Ring Service, and the channel is only kept to notice the Computer
+ * going down:
+ * </p>
+ * <ol>
+ * <li>the Computer sends ATTACH with the ring file on the channel;</li>
+ * <li>the Space maps it, if it is a ring file made in the temporary
+ * directory, and answers ATTACHED on the channel, writing the following
+ * frames to the ring;</li>
+ * <li>the Computer unlinks the ring file, sends SWITCHED on the channel,
+ * writing the following frames to the ring, and reads the ring;</li>
+ * <li>the Space reads the ring after SWITCHED.</li>
+ * </ol>
+ * Each direction keeps its order across the switch. If the ring file cannot
+ * be mapped, ATTACHED is false and both sides stay on the channel.
+ */
+public class RemoteComputer implements Computer {
+	/**
+	 * Time in milliseconds getResult waits for a pushed Result.
+	 */
+	private static final int RESULT_WAIT = 1;
+
+	/**
+	 * Channel of the Computer.
+	 */
+	final SocketChannel channel;
+
+	/**
+	 * I/O Service reading and writing the channel.
+	 */
+	private final SpaceTransport.IOService ioService;
+
+	/**
+	 * Last request ID.
+	 */
+	private final AtomicInteger requestID;
+
+	/**
+	 * Requests waiting for their reply, by request ID.
+	 */
+	private final Map<Integer, CompletableFuture<Object>> calls;
+
+	/**
+	 * Results pushed by the Computer.
+	 */
+	private final BlockingQueue<Result> resultQueue;
+
+	/**
+	 * Space Transport.
+	 */
+	private final SpaceTransport transport;
+
+	/**
+	 * Frames waiting to be written to the channel.
+	 */
+	private final Queue<ByteBuffer> writeQueue;
+
+	/**
+	 * Frames waiting to be written to the ring.
+	 */
+	private final Queue<ByteBuffer> ringQueue;
+
+	/**
+	 * Length of the frame being read.
+	 */
+	private final ByteBuffer header;
+
+	/**
+	 * Body of the frame being read, null while reading the length.
+	 */
+	private ByteBuffer body;
+
+	/**
+	 * Space to Computer ring, then Computer to Space ring. Null before
+	 * ATTACH.
+	 */
+	private volatile Ring[] rings;
+
+	/**
+	 * Length of the ring frame being read.
+	 */
+	private final ByteBuffer ringHeader;
+
+	/**
+	 * Body of the ring frame being read, null while reading the length.
+	 */
+	private ByteBuffer ringBody;
+
+	/**
+	 * Closed or not.
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * Constructor of Remote Computer.
+	 * 
+	 * @param channel
+	 *            Non-blocking channel of the Computer.
+	 * @param ioService
+	 *            I/O Service of the channel.
+	 * @param transport
+	 *            Space Transport.
+	 */
+	RemoteComputer(SocketChannel channel, SpaceTransport.IOService ioService,
+			SpaceTransport transport) {
+		this.channel = channel;
+		this.ioService = ioService;
+		this.transport = transport;
+		this.requestID = new AtomicInteger();
+		this.calls = new ConcurrentHashMap<>();
+		this.resultQueue = new LinkedBlockingQueue<>();
+		this.writeQueue = new ConcurrentLinkedQueue<>();
+		this.ringQueue = new ConcurrentLinkedQueue<>();
+		this.header = ByteBuffer.allocate(Frame.LENGTH_SIZE);
+		this.ringHeader = ByteBuffer.allocate(Frame.LENGTH_SIZE);
+	}
+
+	@Override
+	public void setID(int computerId) throws RemoteException {
+		call(Frame.SET_ID, computerId);
+	}
+
+	@Override
+	public int getWorkerNum() throws RemoteException {
+		return (Integer) call(Frame.WORKER_NUM, null);
+	}
+
+	@Override
+	public boolean isBusy() throws RemoteException {
+		return (Boolean) call(Frame.IS_BUSY, null);
+	}
+
+	@Override
+	public void addTask(Task<?> task) throws RemoteException {
+		send(Frame.ADD_TASK, 0, task);
+	}
+
+	/**
+	 * Get a Result pushed by the Computer, waiting a little for one.
+	 */
+	@Override
+	public Result getResult() throws RemoteException {
+		Result result;
+		try {
+			result = resultQueue.poll(RESULT_WAIT, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		if (result == null && closed) {
+			throw new ConnectException("Computer channel closed.");
+		}
+		return result;
+	}
+
+	@Override
+	public void cancel(String jobID) throws RemoteException {
+		send(Frame.CANCEL, 0, jobID);
+	}
+
+	@Override
+	public void exit() throws RemoteException {
+		send(Frame.EXIT, 0, null);
+	}
+
+	/**
+	 * Send a request and wait for its reply.
+	 */
+	private Object call(byte kind, Object value) throws RemoteException {
+		int ID = requestID.incrementAndGet();
+		CompletableFuture<Object> reply = new CompletableFuture<>();
+		calls.put(ID, reply);
+		try {
+			send(kind, ID, value);
+			return reply.get(Config.TransportCallTimeout, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			throw new RemoteException("Call failed.", e.getCause());
+		} catch (TimeoutException e) {
+			throw new RemoteException("Call timed out.", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RemoteException("Call interrupted.", e);
+		} finally {
+			calls.remove(ID);
+		}
+	}
+
+	/**
+	 * Queue a frame to be written by the I/O Service, or by the Ring Service
+	 * after ATTACH.
+	 */
+	private void send(byte kind, int ID, Object value) throws RemoteException {
+		if (closed) {
+			throw new ConnectException("Computer channel closed.");
+		}
+		ByteBuffer frame;
+		try {
+			frame = Frame.encode(kind, ID, value);
+		} catch (IOException e) {
+			throw new RemoteException("Failed to encode.", e);
+		}
+		boolean ring;
+		synchronized (this) {
+			ring = rings != null;
+			(ring ? ringQueue : writeQueue).add(frame);
+		}
+		if (ring) {
+			transport.ringService.flush();
+		} else {
+			ioService.flush(this);
+		}
+	}
+
+	/**
+	 * Read all the complete frames available on the channel. Call from I/O
+	 * Service.
+	 * 
+	 * @return True if anything was read.
+	 * @throws IOException
+	 *             Failed to read, or the channel is closed.
+	 */
+	boolean readChannel() throws IOException {
+		return read(channel, header, false);
+	}
+
+	/**
+	 * Write the queued frames to the channel until the socket buffer is full.
+	 * Call from I/O Service.
+	 * 
+	 * @return True if all the queued frames are written.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	boolean writeChannel() throws IOException {
+		return write(channel, writeQueue);
+	}
+
+	/**
+	 * Read all the complete frames available on the ring. Call from Ring
+	 * Service.
+	 * 
+	 * @return True if anything was read.
+	 * @throws IOException
+	 *             Failed to read.
+	 */
+	boolean readRing() throws IOException {
+		return read(rings[1], ringHeader, true);
+	}
+
+	/**
+	 * Write the queued frames to the ring until it is full. Call from Ring
+	 * Service.
+	 * 
+	 * @return True if anything was written.
+	 * @throws IOException
+	 *             Failed to write.
+	 */
+	boolean writeRing() throws IOException {
+		if (ringQueue.isEmpty()) {
+			return false;
+		}
+		write(rings[0], ringQueue);
+		return true;
+	}
+
+	/**
+	 * Read the complete frames available on a channel or a ring.
+	 */
+	private boolean read(ReadableByteChannel in, ByteBuffer length,
+			boolean ring) throws IOException {
+		boolean progress = false;
+		while (true) {
+			ByteBuffer frameBody = ring ? ringBody : body;
+			if (frameBody == null) {
+				int n = in.read(length);
+				if (n < 0) {
+					throw new EOFException("Channel closed.");
+				}
+				progress |= n > 0;
+				if (length.hasRemaining()) {
+					return progress;
+				}
+				length.flip();
+				frameBody = ByteBuffer.allocate(Frame.checkLength(length
+						.getInt()));
+				length.clear();
+			}
+			int n = in.read(frameBody);
+			if (n < 0) {
+				throw new EOFException("Channel closed.");
+			}
+			progress |= n > 0;
+			if (frameBody.hasRemaining()) {
+				if (ring) {
+					ringBody = frameBody;
+				} else {
+					body = frameBody;
+				}
+				return progress;
+			}
+			frameBody.flip();
+			if (ring) {
+				ringBody = null;
+			} else {
+				body = null;
+			}
+			receive(Frame.decode(frameBody));
+		}
+	}
+
+	/**
+	 * Write queued frames to a channel or a ring until it is full.
+	 * 
+	 * @return True if all the queued frames are written.
+	 */
+	private static boolean write(WritableByteChannel out,
+			Queue<ByteBuffer> queue) throws IOException {
+		ByteBuffer buffer;
+		while ((buffer = queue.peek()) != null) {
+			out.write(buffer);
+			if (buffer.hasRemaining()) {
+				return false;
+			}
+			queue.poll();
+		}
+		return true;
+	}
+
+	/**
+	 * Map the ring file of the Computer and switch the frames to the Space to
+	 * Computer ring, after ATTACHED on the channel.
+	 */
+	private void attach(String path) {
+		Ring[] mapped = null;
+		try {
+			mapped = Ring.attach(Paths.get(path), Config.TransportRingSize,
+					false);
+		} catch (IOException e) {
+			Logger.getLogger(this.getClass().getName()).log(Level.INFO,
+					"Ring file of {0} not mapped: {1}",
+					new Object[] { this, e.getMessage() });
+		}
+		try {
+			synchronized (this) {
+				writeQueue.add(Frame.encode(Frame.ATTACHED, 0, mapped != null));
+				rings = mapped;
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+		ioService.flush(this);
+	}
+
+	/**
+	 * Handle a frame from the Computer.
+	 * 
+	 * @param frame
+	 *            Frame read.
+	 */
+	private void receive(Frame frame) {
+		switch (frame.kind) {
+		case Frame.ATTACH:
+			attach((String) frame.value);
+			break;
+		case Frame.SWITCHED:
+			transport.ringService.add(this);
+			break;
+		case Frame.RESULT:
+			resultQueue.add((Result) frame.value);
+			break;
+		case Frame.REPLY:
+		case Frame.FAILURE:
+			CompletableFuture<Object> reply = calls.get(frame.requestID);
+			if (reply == null) {
+				break;
+			}
+			if (frame.kind == Frame.REPLY) {
+				reply.complete(frame.value);
+			} else {
+				reply.completeExceptionally(new RemoteException(
+						(String) frame.value));
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Check if the channel is closed.
+	 * 
+	 * @return True if closed.
+	 */
+	boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Close the channel and fail the waiting requests. Call from I/O Service.
+	 */
+	void close() {
+		closed = true;
+		Ring[] mapped = rings;
+		if (mapped != null) {
+			mapped[0].close();
+			mapped[1].close();
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		ConnectException failure = new ConnectException(
+				"Computer channel closed.");
+		for (CompletableFuture<Object> reply : calls.values()) {
+			reply.completeExceptionally(failure);
+		}
+	}
+
+	@Override
+	public String toString() {
+		try {
+			SocketAddress address = channel.getRemoteAddress();
+			if (address instanceof UnixDomainSocketAddress) {
+				// The Computer end of a Unix domain socket has no name.
+				address = channel.getLocalAddress();
+			}
+			return "RemoteComputer[" + address + "]";
+		} catch (IOException e) {
+			return "RemoteComputer[closed]";
+		}
+	}
+}
@@ -0,0 +1,277 @@
+package transport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+import config.Config;
+
+/**
+ * Ring is a single-producer single-consumer byte ring in a memory-mapped file,
+ * shared by a Space and a Computer on the same host. The producer owns the
+ * tail and the consumer the head, each published with release and read with
+ * acquire ordering, so no lock crosses the processes. A ring file holds two
+ * rings: Space to Computer, then Computer to Space.
+ * <p>
+ * A non-blocking Ring reads and writes what it can, as a non-blocking socket
+ * channel. A blocking Ring spins, then yields, then parks, until it makes
+ * progress.
+ * </p>
+ * <p>
+ * The Computer makes the ring file in the temporary directory, and the Space
+ * only maps an existing ring file there. The Computer unlinks the file once
+ * both sides have mapped it.
+ * </p>
+ */
+final class Ring implements ByteChannel {
+	/**
+	 * Directory of the ring files.
+	 */
+	private static final Path DIRECTORY = Paths.get(
+			System.getProperty("java.io.tmpdir")).toAbsolutePath().normalize();
+
+	/**
+	 * Name prefix of the ring files.
+	 */
+	private static final String PREFIX = "computer-";
+
+	/**
+	 * Name suffix of the ring files.
+	 */
+	private static final String SUFFIX = ".ring";
+
+	/**
+	 * Byte offset of the head, the number of bytes read.
+	 */
+	private static final int HEAD = 0;
+
+	/**
+	 * Byte offset of the tail, the number of bytes written, a cache line
+	 * after the head.
+	 */
+	private static final int TAIL = 64;
+
+	/**
+	 * Byte offset of the data.
+	 */
+	private static final int DATA = 128;
+
+	/**
+	 * Spins before yielding a blocked Ring.
+	 */
+	static final int SPINS = 100;
+
+	/**
+	 * Yields before parking a blocked Ring. Yielding lets the other side run
+	 * when the cores are fewer than the busy threads.
+	 */
+	static final int YIELDS = 1000;
+
+	/**
+	 * Access to the head and the tail with memory ordering.
+	 */
+	private static final VarHandle LONGS = MethodHandles
+			.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+	/**
+	 * Mapped ring.
+	 */
+	private final MappedByteBuffer buffer;
+
+	/**
+	 * Data capacity in bytes, a power of 2.
+	 */
+	private final int capacity;
+
+	/**
+	 * Blocking or not.
+	 */
+	private final boolean blocking;
+
+	/**
+	 * Closed or not.
+	 */
+	private volatile boolean closed;
+
+	private Ring(MappedByteBuffer buffer, int capacity, boolean blocking) {
+		this.buffer = buffer;
+		this.capacity = capacity;
+		this.blocking = blocking;
+	}
+
+	/**
+	 * Make an empty ring file in the temporary directory. Call from Computer.
+	 * 
+	 * @return Ring file.
+	 * @throws IOException
+	 *             Failed to make.
+	 */
+	static Path createFile() throws IOException {
+		return Files.createTempFile(DIRECTORY, PREFIX, SUFFIX);
+	}
+
+	/**
+	 * Map the two rings of an existing ring file, made by
+	 * {@link #createFile()} and mapped by the Computer. Call from Space.
+	 * 
+	 * @param path
+	 *            Ring file.
+	 * @param capacity
+	 *            Data capacity of each ring in bytes, a power of 2.
+	 * @param blocking
+	 *            Blocking or not.
+	 * @return Space to Computer ring, then Computer to Space ring.
+	 * @throws IOException
+	 *             Not a ring file, or failed to map.
+	 */
+	static Ring[] attach(Path path, int capacity, boolean blocking)
+			throws IOException {
+		Path file = path.toAbsolutePath().normalize();
+		String name = file.getFileName().toString();
+		if (!DIRECTORY.equals(file.getParent()) || !name.startsWith(PREFIX)
+				|| !name.endsWith(SUFFIX)
+				|| !Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)) {
+			throw new IOException("Not a ring file: " + path);
+		}
+		return map(file, capacity, blocking, false);
+	}
+
+	/**
+	 * Map the two rings of a ring file.
+	 * 
+	 * @param path
+	 *            Ring file.
+	 * @param capacity
+	 *            Data capacity of each ring in bytes, a power of 2.
+	 * @param blocking
+	 *            Blocking or not.
+	 * @param empty
+	 *            True if the file is empty and sized here, false if it must
+	 *            already have the size of the rings.
+	 * @return Space to Computer ring, then Computer to Space ring.
+	 * @throws IOException
+	 *             Failed to map.
+	 */
+	static Ring[] map(Path path, int capacity, boolean blocking, boolean empty)
+			throws IOException {
+		if (Integer.bitCount(capacity) != 1) {
+			throw new IOException("Ring capacity is not a power of 2.");
+		}
+		int size = DATA + capacity;
+		try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, LinkOption.NOFOLLOW_LINKS)) {
+			if (file.size() != (empty ? 0 : 2L * size)) {
+				throw new IOException("Bad ring file size " + file.size());
+			}
+			Ring[] rings = new Ring[2];
+			for (int i = 0; i < rings.length; i++) {
+				MappedByteBuffer mapped = file.map(FileChannel.MapMode.READ_WRITE,
+						(long) i * size, size);
+				mapped.order(ByteOrder.nativeOrder());
+				rings[i] = new Ring(mapped, capacity, blocking);
+			}
+			return rings;
+		}
+	}
+
+	@Override
+	public int read(ByteBuffer dst) throws IOException {
+		long head = (long) LONGS.getOpaque(buffer, HEAD);
+		long tail;
+		int idle = 0;
+		while ((tail = (long) LONGS.getAcquire(buffer, TAIL)) == head) {
+			if (!blocking || !dst.hasRemaining()) {
+				return closed ? -1 : 0;
+			}
+			idle = await(idle);
+		}
+		int n = (int) Math.min(dst.remaining(), tail - head);
+		int index = (int) (head & (capacity - 1));
+		int first = Math.min(n, capacity - index);
+		dst.put(dst.position(), buffer, DATA + index, first);
+		dst.put(dst.position() + first, buffer, DATA, n - first);
+		dst.position(dst.position() + n);
+		LONGS.setRelease(buffer, HEAD, head + n);
+		return n;
+	}
+
+	@Override
+	public int write(ByteBuffer src) throws IOException {
+		long tail = (long) LONGS.getOpaque(buffer, TAIL);
+		long head;
+		int idle = 0;
+		while ((head = (long) LONGS.getAcquire(buffer, HEAD)) + capacity == tail) {
+			if (closed) {
+				throw new EOFException("Ring closed.");
+			}
+			if (!blocking || !src.hasRemaining()) {
+				return 0;
+			}
+			idle = await(idle);
+		}
+		int n = (int) Math.min(src.remaining(), capacity - (tail - head));
+		int index = (int) (tail & (capacity - 1));
+		int first = Math.min(n, capacity - index);
+		buffer.put(DATA + index, src, src.position(), first);
+		buffer.put(DATA, src, src.position() + first, n - first);
+		src.position(src.position() + n);
+		LONGS.setRelease(buffer, TAIL, tail + n);
+		return n;
+	}
+
+	/**
+	 * Wait for the other side.
+	 * 
+	 * @return Number of waits so far.
+	 */
+	private int await(int idle) throws IOException {
+		if (closed) {
+			throw new EOFException("Ring closed.");
+		}
+		return backOff(idle);
+	}
+
+	/**
+	 * Back off after finding nothing to do: spin, then yield, then park.
+	 * 
+	 * @param idle
+	 *            Number of times in a row nothing was found.
+	 * @return Number of times in a row nothing was found, this one included.
+	 */
+	static int backOff(int idle) {
+		if (idle < SPINS) {
+			Thread.onSpinWait();
+		} else if (idle < SPINS + YIELDS) {
+			Thread.yield();
+		} else {
+			LockSupport.parkNanos(Config.TransportRingPark * 1000L);
+		}
+		return idle + 1;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return !closed;
+	}
+
+	/**
+	 * Close the Ring on this side, failing a blocked read or write. The
+	 * mapping is released with the buffer.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+	}
+}
@@ -0,0 +1,382 @@
+package transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import api.Space;
+import config.Config;
+
+/**
+ * Space Transport accepts the Computers connecting to a Space through the
+ * transport and registers each of them to the Space as a
+ * {@link RemoteComputer}. The channels are spread over a few I/O Services,
+ * each serving all of its channels with one selector, so the number of I/O
+ * threads does not grow with the number of Computers.
+ * <p>
+ * Besides the TCP port, the Space listens to a Unix domain socket named after
+ * the port, which the Computers on the same host use instead of the loopback
+ * interface. Those Computers can then switch to shared-memory rings, see
+ * {@link RemoteComputer}.
+ * </p>
+ */
+public class SpaceTransport {
+	/**
+	 * Space the Computers register to.
+	 */
+	private final Space space;
+
+	/**
+	 * Listening TCP channel.
+	 */
+	private final ServerSocketChannel serverChannel;
+
+	/**
+	 * Listening Unix domain socket channel, null if not supported.
+	 */
+	private final ServerSocketChannel localChannel;
+
+	/**
+	 * I/O Services.
+	 */
+	private final IOService[] ioServices;
+
+	/**
+	 * Ring Service.
+	 */
+	final RingService ringService;
+
+	/**
+	 * Number of channels accepted, choosing the I/O Service of the next one.
+	 */
+	private final AtomicInteger nextService;
+
+	/**
+	 * Constructor of Space Transport.
+	 * 
+	 * @param space
+	 *            Space the Computers register to.
+	 * @param port
+	 *            Port to listen to.
+	 * @throws IOException
+	 *             Failed to listen.
+	 */
+	public SpaceTransport(Space space, int port) throws IOException {
+		this.space = space;
+		this.serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(new InetSocketAddress(port));
+		localChannel = Config.TransportUnixSocket ? openLocal(port) : null;
+		nextService = new AtomicInteger();
+		ringService = new RingService();
+		ioServices = new IOService[Config.TransportIOThreads];
+		for (int i = 0; i < ioServices.length; i++) {
+			ioServices[i] = new IOService();
+		}
+	}
+
+	/**
+	 * Get the Unix domain socket of the Space Transport of a port.
+	 * 
+	 * @param port
+	 *            Transport port of the Space.
+	 * @return Socket file.
+	 */
+	public static Path getSocketPath(int port) {
+		return Paths.get(System.getProperty("java.io.tmpdir"), "space-"
+				+ port + ".sock");
+	}
+
+	/**
+	 * Listen to the Unix domain socket of a port, replacing the one left by
+	 * a previous Space.
+	 */
+	private static ServerSocketChannel openLocal(int port) {
+		Path path = getSocketPath(port);
+		try {
+			Files.deleteIfExists(path);
+			ServerSocketChannel channel = ServerSocketChannel
+					.open(StandardProtocolFamily.UNIX);
+			channel.bind(UnixDomainSocketAddress.of(path));
+			path.toFile().deleteOnExit();
+			return channel;
+		} catch (IOException | UnsupportedOperationException e) {
+			Logger.getLogger(SpaceTransport.class.getName()).log(Level.INFO,
+					"No Unix domain socket: {0}", e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Start the I/O Services and accept the Computers.
+	 */
+	public void start() {
+		for (IOService ioService : ioServices) {
+			ioService.setDaemon(true);
+			ioService.start();
+		}
+		ringService.setDaemon(true);
+		ringService.start();
+		List<ServerSocketChannel> channels = new ArrayList<>();
+		channels.add(serverChannel);
+		if (localChannel != null) {
+			channels.add(localChannel);
+		}
+		for (ServerSocketChannel channel : channels) {
+			AcceptService acceptService = new AcceptService(channel);
+			acceptService.setDaemon(true);
+			acceptService.start();
+			try {
+				Logger.getLogger(this.getClass().getName()).log(Level.INFO,
+						"Space Transport listening on {0}.",
+						channel.getLocalAddress());
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Accept Service is a thread accepting the Computers on a listening
+	 * channel, handing each channel to an I/O Service in turn and registering
+	 * the Computer to the Space.
+	 */
+	private class AcceptService extends Thread {
+		/**
+		 * Listening channel.
+		 */
+		private final ServerSocketChannel listeningChannel;
+
+		AcceptService(ServerSocketChannel listeningChannel) {
+			this.listeningChannel = listeningChannel;
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				SocketChannel channel;
+				try {
+					channel = listeningChannel.accept();
+					if (channel.getLocalAddress() instanceof InetSocketAddress) {
+						channel.setOption(StandardSocketOptions.TCP_NODELAY,
+								true);
+					}
+					channel.configureBlocking(false);
+				} catch (IOException e) {
+					e.printStackTrace();
+					return;
+				}
+				IOService ioService = ioServices[nextService.getAndIncrement()
+						% ioServices.length];
+				RemoteComputer computer = new RemoteComputer(channel,
+						ioService, SpaceTransport.this);
+				ioService.add(computer);
+				// Registration waits for replies from the I/O Service.
+				new Thread(() -> {
+					try {
+						space.register(computer);
+					} catch (RemoteException e) {
+						System.out.println("Space Transport: Computer "
+								+ computer + " failed to register!");
+						ioService.close(computer);
+					}
+				}).start();
+			}
+		}
+	}
+
+	/**
+	 * I/O Service is a thread reading and writing the channels of its
+	 * Computers with one selector. A channel is only watched for writing while
+	 * its frames do not fit in the socket buffer.
+	 */
+	class IOService extends Thread {
+		/**
+		 * Selector of the channels.
+		 */
+		private final Selector selector;
+
+		/**
+		 * Computers to be added to the selector.
+		 */
+		private final Queue<RemoteComputer> added;
+
+		/**
+		 * Computers with frames to be written.
+		 */
+		private final Queue<RemoteComputer> flushed;
+
+		IOService() {
+			try {
+				selector = Selector.open();
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+			added = new ConcurrentLinkedQueue<>();
+			flushed = new ConcurrentLinkedQueue<>();
+		}
+
+		/**
+		 * Add a Computer to the selector.
+		 */
+		void add(RemoteComputer computer) {
+			added.add(computer);
+			selector.wakeup();
+		}
+
+		/**
+		 * Write the queued frames of a Computer. Call from Remote Computer.
+		 */
+		void flush(RemoteComputer computer) {
+			flushed.add(computer);
+			selector.wakeup();
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					selector.select();
+					RemoteComputer computer;
+					while ((computer = added.poll()) != null) {
+						computer.channel.register(selector,
+								SelectionKey.OP_READ, computer);
+					}
+					while ((computer = flushed.poll()) != null) {
+						write(computer);
+					}
+					Iterator<SelectionKey> keys = selector.selectedKeys()
+							.iterator();
+					while (keys.hasNext()) {
+						SelectionKey key = keys.next();
+						keys.remove();
+						computer = (RemoteComputer) key.attachment();
+						if (key.isValid() && key.isReadable()) {
+							read(computer);
+						}
+						if (key.isValid() && key.isWritable()) {
+							write(computer);
+						}
+					}
+				}
+			} catch (IOException | ClosedSelectorException e) {
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * Read all the complete frames available on a channel.
+		 */
+		private void read(RemoteComputer computer) {
+			try {
+				computer.readChannel();
+			} catch (IOException e) {
+				close(computer);
+			}
+		}
+
+		/**
+		 * Write the queued frames of a channel until the socket buffer is
+		 * full.
+		 */
+		private void write(RemoteComputer computer) {
+			SelectionKey key = computer.channel.keyFor(selector);
+			if (key == null || !key.isValid()) {
+				return;
+			}
+			try {
+				key.interestOps(computer.writeChannel() ? SelectionKey.OP_READ
+						: SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+			} catch (IOException e) {
+				close(computer);
+			}
+		}
+
+		/**
+		 * Close the channel of a Computer. Its Computer Proxy finds it down at
+		 * its next call.
+		 */
+		void close(RemoteComputer computer) {
+			SelectionKey key = computer.channel.keyFor(selector);
+			if (key != null) {
+				key.cancel();
+			}
+			computer.close();
+		}
+	}
+
+	/**
+	 * Ring Service is a thread reading and writing the rings of all the
+	 * Computers switched to shared memory. It backs off as a blocked Ring when
+	 * there is no work, parking until a frame is queued at the longest.
+	 */
+	class RingService extends Thread {
+		/**
+		 * Computers switched to shared memory.
+		 */
+		private final List<RemoteComputer> computers;
+
+		RingService() {
+			computers = new CopyOnWriteArrayList<>();
+		}
+
+		/**
+		 * Start serving the rings of a Computer. Call from Remote Computer.
+		 */
+		void add(RemoteComputer computer) {
+			computers.add(computer);
+			LockSupport.unpark(this);
+		}
+
+		/**
+		 * Wake up to write a queued frame. Call from Remote Computer.
+		 */
+		void flush() {
+			LockSupport.unpark(this);
+		}
+
+		@Override
+		public void run() {
+			int idle = 0;
+			while (true) {
+				boolean progress = false;
+				for (RemoteComputer computer : computers) {
+					if (computer.isClosed()) {
+						computers.remove(computer);
+						continue;
+					}
+					try {
+						progress |= computer.readRing();
+						progress |= computer.writeRing();
+					} catch (IOException e) {
+						e.printStackTrace();
+						computers.remove(computer);
+						computer.close();
+					}
+				}
+				idle = progress ? 0 : Ring.backOff(idle);
+			}
+		}
+	}
+}
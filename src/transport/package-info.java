@@ -0,0 +1,6 @@
+/**
+ * Framed, pipelined transport between a Space and its Computers over
+ * non-blocking channels, as an alternative to RMI behind the api.Computer
+ * interface.
+ */
+package transport;
@@ -0,0 +1,88 @@
+package tsp_tasks;
+
+import java.io.IOException;
+import java.util.List;
+
+import codec.Codec;
+import codec.CodecProvider;
+import codec.CodecRegistry;
+import codec.TaskCodec;
+import codec.WireInput;
+import codec.WireOutput;
+
+/**
+ * Codecs of the TSP tasks. The distance matrix, copied into every Ready Task,
+ * is written once per message.
+ */
+public final class TspCodecs implements CodecProvider {
+
+	/**
+	 * Constructor of Tsp Codecs. Call from ServiceLoader.
+	 */
+	public TspCodecs() {
+	}
+
+	@Override
+	public void register() {
+		CodecRegistry.register(new TaskCodec<TspReadyTask>(30,
+				TspReadyTask.class) {
+			@Override
+			protected void writeFields(TspReadyTask task, WireOutput out)
+					throws IOException {
+				out.writeList(task.getArg());
+				out.writeInt(task.getTargetSuccessorTaskArgIndex());
+				out.writeInt(task.getNumOfCities());
+				out.writeDoubleMatrix(task.getDistance());
+			}
+
+			@Override
+			protected TspReadyTask readFields(WireInput in) throws IOException {
+				List<TspData> arg = in.readList();
+				return new TspReadyTask(arg, in.readInt(), in.readInt(),
+						in.readDoubleMatrix());
+			}
+		});
+		CodecRegistry.register(new TaskCodec<TspSuccessorTask>(31,
+				TspSuccessorTask.class) {
+			@Override
+			protected void writeFields(TspSuccessorTask task, WireOutput out)
+					throws IOException {
+				out.writeList(task.getArg());
+				out.writeInt(task.getMissingArgNum());
+				out.writeInt(task.getTargetSuccessorTaskArgIndex());
+			}
+
+			@Override
+			protected TspSuccessorTask readFields(WireInput in)
+					throws IOException {
+				List<TspData> arg = in.readList();
+				return new TspSuccessorTask(arg, in.readInt(), null,
+						in.readInt());
+			}
+		});
+		CodecRegistry.register(new Codec<TspData>() {
+			@Override
+			public int getID() {
+				return 32;
+			}
+
+			@Override
+			public Class<TspData> getType() {
+				return TspData.class;
+			}
+
+			@Override
+			public void write(TspData data, WireOutput out) throws IOException {
+				out.writeDouble(data.getDistance());
+				out.writeIntList(data.getOrderedCities());
+				out.writeIntList(data.getUnorderedCities());
+			}
+
+			@Override
+			public TspData read(WireInput in) throws IOException {
+				return new TspData(in.readDouble(), in.readIntList(),
+						in.readIntList());
+			}
+		});
+	}
+}
@@ -8,7 +8,7 @@ import java.util.*;
  * in a {@link TspReadyTask} object. The way to deal with a <b>TaskTsp</b> object
  * is decided by the <i>args</i> in it, which is a list of <b>TspData</b> objects.
  */
-public class TspData implements Serializable {
+public class TspData implements Serializable, Comparable<TspData> {
 	
 	private static final long serialVersionUID = -1662829519219063057L;
 	
@@ -79,4 +79,17 @@ public class TspData implements Serializable {
 	public List<Integer> getUnorderedCities() {
 		return unorderedCities;
 	}
+
+	/**
+	 * Compares the distances of two tours, the shorter first.
+	 * 
+	 * @param other
+	 * the other tour
+	 * @return
+	 * negative if this tour is shorter, positive if longer, 0 otherwise
+	 */
+	@Override
+	public int compareTo(TspData other) {
+		return Double.compare(distance, other.distance);
+	}
 }
@@ -67,6 +67,24 @@ public class TspReadyTask extends ReadyTask<TspData> {
 				distance[i][j] = DISTANCE[i][j];
 	}
 
+	/**
+	 * Get the number of the cities. Call from codec.
+	 * 
+	 * @return The number of the cities
+	 */
+	int getNumOfCities() {
+		return numOfCities;
+	}
+
+	/**
+	 * Get the distances. Call from codec.
+	 * 
+	 * @return The two-dimensional array containing the distances
+	 */
+	double[][] getDistance() {
+		return distance;
+	}
+
 	/**
 	 * Checks if a TSP ready task is atomic, it is related to the value set by
 	 * <i>stopSign</i>.
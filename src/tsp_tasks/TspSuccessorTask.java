@@ -44,20 +44,36 @@ public class TspSuccessorTask extends SuccessorTask<TspData> {
 			return false;
 	}
 
+	/**
+	 * Check if the task takes the best of its arguments. The shortest tour
+	 * wins.
+	 * 
+	 * @return True.
+	 */
+	@Override
+	public boolean isBestOf() {
+		return true;
+	}
+
 	/**
 	 * Executes the task and generates a Value Result. Finds the minimum tour.
+	 * A missing argument, when the deadline of the job approaches, counts as
+	 * an infinitely long tour.
 	 */
 	@Override
 	public Result execute() {
 		long taskStartTime = System.nanoTime();
 		List<TspData> args = this.getArg();
 
-		double min = args.get(0).getDistance();
-		List<Integer> res = args.get(0).getOrderedCities();
+		double min = Double.MAX_VALUE;
+		List<Integer> res = null;
 
-		for (int i = 1; i < args.size(); ++i) {
+		for (int i = 0; i < args.size(); ++i) {
+			if (args.get(i) == null) {
+				continue;
+			}
 			double tmp = args.get(i).getDistance();
-			if (tmp < min) {
+			if (res == null || tmp < min) {
 				min = tmp;
 				res = args.get(i).getOrderedCities();
 			}
@@ -9,9 +9,14 @@ import java.io.Serializable;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -24,10 +29,26 @@ import api.Space;
 import api.Task;
 import api.Universe;
 import config.Config;
+import events.RemoteReceiveEvent;
+import events.RemoteSendEvent;
+import events.ResultProcessEvent;
+import events.TaskDispatchEvent;
+import metrics.NodeMetrics;
+import result.ErrorResult;
+import result.ValueResult;
+import rmi.SocketOptions;
+import task.CancelledJobs;
+import task.SuccessorSweeper;
+import task.SuccessorTask;
+import task.SuccessorTaskMap;
+import trace.Tracer;
 
 public class UniverseImpl extends UnicastRemoteObject implements Universe,
 		Serializable {
 	private static final long serialVersionUID = -5110211125190845128L;
+	/**
+	 * Universe itself, when it runs as a process.
+	 */
 	private static UniverseImpl universe;
 	private static String recoveryFileName = "recovery.bk";
 
@@ -54,7 +75,31 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 	/**
 	 * Successor Task Map. Containing successor tasks waiting for arguments.
 	 */
-	private final Map<String, Task<?>> successorTaskMap;
+	private final SuccessorTaskMap successorTaskMap;
+
+	/**
+	 * Successor Sweeper. Tasks are taken from Ready Task Queue through it. Not
+	 * part of the checkpoint.
+	 */
+	private final transient SuccessorSweeper successorSweeper;
+
+	/**
+	 * Cancelled Jobs, and the jobs whose final Result is dispatched. Tasks
+	 * and Results of these jobs are discarded.
+	 */
+	private final CancelledJobs cancelledJobs;
+
+	/**
+	 * Best partial value so far of the subscribed jobs, null before the
+	 * first one, by Job ID.
+	 */
+	private final Map<String, Object> subscriptions;
+
+	/**
+	 * Deadlines of the running jobs having one, in milliseconds since the
+	 * epoch, by Job ID.
+	 */
+	private final Map<String, Long> deadlines;
 
 	/**
 	 * Server Proxies Map. Containing all registered Server Proxy with
@@ -68,16 +113,28 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 	 */
 	private final Map<Integer, SpaceProxy> spaceProxies;
 
+	/**
+	 * Metrics of the Universe. Not part of the checkpoint.
+	 */
+	private final transient NodeMetrics metrics;
+
 	/**
 	 * Normal Mode Constructor.
 	 * 
 	 * @throws RemoteException
 	 */
 	public UniverseImpl() throws RemoteException {
+		super(0, SocketOptions.clientFactory(), SocketOptions.serverFactory());
 		readyTaskQueue = new LinkedBlockingQueue<>();
-		successorTaskMap = Collections.synchronizedMap(new HashMap<>());
+		successorTaskMap = new SuccessorTaskMap();
+		successorSweeper = new Sweeper();
 		serverProxies = Collections.synchronizedMap(new HashMap<>());
 		spaceProxies = Collections.synchronizedMap(new HashMap<>());
+		cancelledJobs = new CancelledJobs();
+		subscriptions = Collections.synchronizedMap(new HashMap<>());
+		deadlines = Collections.synchronizedMap(new HashMap<>());
+		metrics = new NodeMetrics("Universe");
+		startMonitoring();
 		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
 				"Universe started.");
 	}
@@ -90,7 +147,9 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 	 * @throws RemoteException
 	 */
 	public UniverseImpl(String recoveryFileName) throws RemoteException {
+		super(0, SocketOptions.clientFactory(), SocketOptions.serverFactory());
 		System.out.println("Universe is recovering...");
+		metrics = new NodeMetrics("Universe");
 		UniverseImpl readUniverse = null;
 		ObjectInputStream objectinputstream = null;
 		try {
@@ -100,15 +159,24 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 		} catch (Exception e) {
 			System.out.println("Universe failed to recover. Relaunching...");
 			readyTaskQueue = new LinkedBlockingQueue<>();
-			successorTaskMap = Collections.synchronizedMap(new HashMap<>());
+			successorTaskMap = new SuccessorTaskMap();
+			successorSweeper = new Sweeper();
 			serverProxies = Collections.synchronizedMap(new HashMap<>());
 			spaceProxies = Collections.synchronizedMap(new HashMap<>());
+			cancelledJobs = new CancelledJobs();
+			subscriptions = Collections.synchronizedMap(new HashMap<>());
+			deadlines = Collections.synchronizedMap(new HashMap<>());
+			startMonitoring();
 			Logger.getLogger(this.getClass().getName()).log(Level.INFO,
 					"Universe started.");
 			return;
 		}
 		readyTaskQueue = readUniverse.readyTaskQueue;
 		successorTaskMap = readUniverse.successorTaskMap;
+		successorSweeper = new Sweeper();
+		cancelledJobs = readUniverse.cancelledJobs;
+		subscriptions = readUniverse.subscriptions;
+		deadlines = readUniverse.deadlines;
 		serverProxies = readUniverse.serverProxies;
 		for (int i : serverProxies.keySet()) {
 			serverProxies.get(i).start();
@@ -122,6 +190,7 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
+		startMonitoring();
 		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
 				"Universe recovered.");
 	}
@@ -139,6 +208,20 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 		}
 	}
 
+	/**
+	 * Start the Successor Sweeper and the Deadline Watcher and register the
+	 * metrics of the Universe.
+	 */
+	private void startMonitoring() {
+		successorSweeper.start();
+		new DeadlineWatcher().start();
+		metrics.addGauge("ReadyTaskQueueSize", readyTaskQueue::size);
+		metrics.addGauge("SuccessorTaskNum", successorTaskMap::size);
+		metrics.addGauge("ServerNum", serverProxies::size);
+		metrics.addGauge("SpaceNum", spaceProxies::size);
+		metrics.register(0);
+	}
+
 	private void checkPoint() {
 		try {
 			FileOutputStream fout = new FileOutputStream(recoveryFileName);
@@ -163,6 +246,7 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 	 *            Task to be added.
 	 */
 	public void addReadyTask(Task<?> task) {
+		task.enqueued(Task.UNIVERSE_HOP);
 		try {
 			readyTaskQueue.put(task);
 		} catch (InterruptedException e) {
@@ -177,7 +261,7 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 	 *            Task to be added.
 	 */
 	public void addSuccessorTask(Task<?> task) {
-		successorTaskMap.put(task.getID(), task);
+		successorTaskMap.put(task);
 	}
 
 	/**
@@ -186,7 +270,29 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 	 * @return Task
 	 */
 	private Task<?> getReadyTask() {
-		return readyTaskQueue.poll();
+		Task<?> task = null;
+		try {
+			task = successorSweeper.take(0);
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+		if (task != null) {
+			recordWait(task);
+		}
+		return task;
+	}
+
+	/**
+	 * Record the wait time of a Task taken from the Ready Task Queue.
+	 * 
+	 * @param task
+	 *            Task taken from the Ready Task Queue.
+	 */
+	private void recordWait(Task<?> task) {
+		long wait = task.dequeued(Task.UNIVERSE_HOP);
+		if (wait >= 0) {
+			metrics.histogram("QueueWait").record(wait);
+		}
 	}
 
 	/**
@@ -200,6 +306,24 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 		return successorTaskMap.get(TaskId);
 	}
 
+	/**
+	 * Get the number of Successor Tasks in Successor Task Map.
+	 * 
+	 * @return Number of Successor Tasks.
+	 */
+	public int getSuccessorTaskNum() {
+		return successorTaskMap.size();
+	}
+
+	/**
+	 * Get the number of Successor Tasks and their size in bytes of each job.
+	 * 
+	 * @return Job ID to {number of Successor Tasks, bytes}.
+	 */
+	public Map<String, long[]> getSuccessorTaskStatus() {
+		return successorTaskMap.getJobStatus();
+	}
+
 	/**
 	 * 
 	 * Remove a successor task from Successor Task Map and put it into Ready
@@ -210,11 +334,13 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 	 *            The ready-to-run successor task.
 	 */
 	public void successorToReady(Task<?> successortask) {
-		successorTaskMap.remove(successortask.getID());
-		try {
-			readyTaskQueue.put(successortask);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
+		if (successorTaskMap.remove(successortask.getID()) != null) {
+			successortask.enqueued(Task.UNIVERSE_HOP);
+			try {
+				readyTaskQueue.put(successortask);
+			} catch (InterruptedException e) {
+				e.printStackTrace();
+			}
 		}
 	}
 
@@ -226,8 +352,96 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 	 *            Result to be dispatched.
 	 */
 	public void dispatchResult(final Result result) {
-		String resultID[] = result.getID().split(":");
-		int serverID = Integer.parseInt(resultID[2]);
+		// The job is done. Any Successor Task left is an orphan.
+		String jobID = result.getJobID();
+		successorTaskMap.removeJob(jobID);
+		endJob(jobID);
+		toServer(result);
+		Long deadline = deadlines.remove(jobID);
+		if (deadline != null
+				&& System.currentTimeMillis() >= deadline - Config.DeadlineMargin) {
+			// Completed on its deadline, the job may still have tasks running.
+			try {
+				cancel(jobID);
+			} catch (RemoteException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Send a partial value to the Server of its job if the job is subscribed
+	 * and the value is better than the ones before. Call from Value Result
+	 * filling a successor task.
+	 * 
+	 * @param result
+	 *            Value Result.
+	 * @param successortask
+	 *            Successor task the value goes to.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void offerPartial(final ValueResult<?> result,
+			final SuccessorTask<?> successortask) {
+		if (subscriptions.isEmpty() || !successortask.isBestOf()
+				|| !(result.getResultValue() instanceof Comparable)) {
+			return;
+		}
+		String jobID = result.getJobID();
+		Comparable value = (Comparable) result.getResultValue();
+		synchronized (subscriptions) {
+			if (!subscriptions.containsKey(jobID)) {
+				return;
+			}
+			Object best = subscriptions.get(jobID);
+			if (best != null && value.compareTo(best) >= 0) {
+				return;
+			}
+			subscriptions.put(jobID, value);
+		}
+		metrics.counter("PartialResults").increment();
+		toServer(ValueResult.partial(jobID, value));
+	}
+
+	/**
+	 * Subscribe to the partial values of a job. Each value better than the
+	 * ones before, reaching the Universe for a successor taking the best of
+	 * its arguments, is sent to the Server of the job. Call from Server.
+	 * 
+	 * @param jobID
+	 *            Job ID.
+	 * @throws RemoteException
+	 *             Cannot connect with Universe.
+	 */
+	@Override
+	public void subscribe(final String jobID) throws RemoteException {
+		synchronized (subscriptions) {
+			if (!cancelledJobs.contains(jobID)) {
+				subscriptions.putIfAbsent(jobID, null);
+			}
+		}
+	}
+
+	/**
+	 * Mark a job cancelled or finished and drop its subscription, so a
+	 * subscription arriving later is not kept.
+	 * 
+	 * @param jobID
+	 *            Job ID.
+	 */
+	private void endJob(final String jobID) {
+		synchronized (subscriptions) {
+			cancelledJobs.add(jobID);
+			subscriptions.remove(jobID);
+		}
+	}
+
+	/**
+	 * Put a Result into the Server Proxy of its job. If the Server is down,
+	 * discard the result.
+	 */
+	private void toServer(final Result result) {
+		String jobID[] = result.getJobID().split(":");
+		int serverID = Integer.parseInt(jobID[2].substring(1));
 		synchronized (serverProxies) {
 			if (serverProxies.containsKey(serverID)) {
 				serverProxies.get(serverID).addResult(result);
@@ -244,6 +458,151 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 		return TaskID.incrementAndGet();
 	}
 
+	/**
+	 * Cancel a job. Discard all its Ready Tasks and Successor Tasks in
+	 * Universe and propagate the cancellation to all the Spaces. Call from
+	 * Server.
+	 * 
+	 * @param jobID
+	 *            Job ID to be cancelled.
+	 * @throws RemoteException
+	 *             Cannot connect with Universe.
+	 */
+	@Override
+	public void cancel(final String jobID) throws RemoteException {
+		endJob(jobID);
+		deadlines.remove(jobID);
+		synchronized (readyTaskQueue) {
+			for (Task<?> task : readyTaskQueue) {
+				if (jobID.equals(task.getJobID())) {
+					readyTaskQueue.remove(task);
+				}
+			}
+			successorTaskMap.removeJob(jobID);
+		}
+		SpaceProxy[] proxies;
+		synchronized (spaceProxies) {
+			proxies = spaceProxies.values().toArray(new SpaceProxy[0]);
+		}
+		for (SpaceProxy spaceProxy : proxies) {
+			spaceProxy.cancel(jobID);
+		}
+		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
+				"Job {0} is cancelled.", jobID);
+	}
+
+	/**
+	 * Complete a job on its deadline. Execute at once its successor tasks
+	 * ready to run, and those taking the best of their arguments with the
+	 * arguments they have, the ones no other successor task waits for first,
+	 * so the values go up the tree to the final one. Arguments arriving later
+	 * are discarded.
+	 * 
+	 * @param jobID
+	 *            Job ID.
+	 */
+	private void completeJob(String jobID) {
+		boolean completed = true;
+		while (completed) {
+			completed = false;
+			List<Task<?>> readyTasks = new ArrayList<>();
+			synchronized (readyTaskQueue) {
+				Iterator<Task<?>> iterator = readyTaskQueue.iterator();
+				while (iterator.hasNext()) {
+					Task<?> task = iterator.next();
+					if (task instanceof SuccessorTask
+							&& jobID.equals(task.getJobID())
+							&& successorSweeper.remove(task)) {
+						recordWait(task);
+						readyTasks.add(task);
+					}
+				}
+			}
+			for (Task<?> task : readyTasks) {
+				if (complete(task)) {
+					completed = true;
+				} else {
+					addReadyTask(task);
+				}
+				successorSweeper.dispatched(task);
+			}
+			List<Task<?>> tasks = successorTaskMap.getJob(jobID);
+			Set<String> waiting = new HashSet<>();
+			for (Task<?> task : tasks) {
+				// A task without any argument holds nothing to wait for.
+				if (!(task instanceof SuccessorTask)
+						|| ((SuccessorTask<?>) task).hasArg()
+						|| !((SuccessorTask<?>) task).isBestOf()) {
+					waiting.add(task.getTargetID());
+				}
+			}
+			// So do the successor tasks running in the Spaces.
+			SpaceProxy[] proxies;
+			synchronized (spaceProxies) {
+				proxies = spaceProxies.values().toArray(new SpaceProxy[0]);
+			}
+			for (SpaceProxy spaceProxy : proxies) {
+				synchronized (spaceProxy.runningTaskMap) {
+					for (Task<?> task : spaceProxy.runningTaskMap.values()) {
+						if (task instanceof SuccessorTask
+								&& jobID.equals(task.getJobID())) {
+							waiting.add(task.getTargetID());
+						}
+					}
+				}
+			}
+			for (Task<?> task : tasks) {
+				if (waiting.contains(task.getID())
+						|| !(task instanceof SuccessorTask)) {
+					continue;
+				}
+				SuccessorTask<?> successortask = (SuccessorTask<?>) task;
+				if (successortask.isBestOf() && successortask.hasArg()
+						&& successorTaskMap.remove(task.getID()) != null) {
+					if (complete(task)) {
+						completed = true;
+					} else {
+						successorTaskMap.put(task);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Execute a successor task in Universe and process its value. Call from
+	 * Deadline Watcher.
+	 * 
+	 * @param task
+	 *            Successor task taken from Universe.
+	 * @return True if the task is executed. False otherwise.
+	 */
+	private boolean complete(Task<?> task) {
+		Result result;
+		try {
+			result = task.execute();
+		} catch (RuntimeException e) {
+			Logger.getLogger(this.getClass().getName()).log(Level.WARNING,
+					"Completing {0} failed: {1}",
+					new Object[] { task.getID(), e });
+			return false;
+		}
+		metrics.counter("DeadlineTasks").increment();
+		result.process(this, null);
+		return true;
+	}
+
+	/**
+	 * Check if a job is cancelled.
+	 * 
+	 * @param ID
+	 *            Task ID or Result ID.
+	 * @return True if the job is cancelled. False otherwise.
+	 */
+	private boolean isCancelled(String ID) {
+		return cancelledJobs.contains(Task.getJobID(ID));
+	}
+
 	/**
 	 * Register a Server in Universe. Call from Server.
 	 * 
@@ -259,6 +618,8 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 		server.setID(serverProxy.ID);
 		serverProxies.put(serverProxy.ID, serverProxy);
 		serverProxy.start();
+		metrics.addGauge("ResultQueueSize.Server" + serverProxy.ID,
+				serverProxy.resultQueue::size);
 		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
 				"Server {0} starts!", serverProxy.ID);
 	}
@@ -271,6 +632,7 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 	 */
 	private void unregister(ServerProxy serverProxy) {
 		serverProxies.remove(serverProxy.ID);
+		metrics.removeGauge("ResultQueueSize.Server" + serverProxy.ID);
 		synchronized (readyTaskQueue) {
 			for (Task<?> task : readyTaskQueue) {
 				String taskID[] = task.getID().split(":");
@@ -298,6 +660,8 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 		space.setID(spaceProxy.ID);
 		spaceProxies.put(spaceProxy.ID, spaceProxy);
 		spaceProxy.start();
+		metrics.addGauge("RunningTaskNum.Space" + spaceProxy.ID,
+				spaceProxy.runningTaskMap::size);
 		Logger.getLogger(this.getClass().getName()).log(Level.INFO,
 				"Space {0} started!", spaceProxy.ID);
 	}
@@ -312,6 +676,7 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 	 */
 	private void unregister(SpaceProxy spaceProxy) {
 		spaceProxies.remove(spaceProxy.ID);
+		metrics.removeGauge("RunningTaskNum.Space" + spaceProxy.ID);
 		synchronized (readyTaskQueue) {
 			synchronized (spaceProxy.runningTaskMap) {
 				if (!spaceProxy.runningTaskMap.isEmpty()) {
@@ -323,6 +688,7 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 							if (index != -1) {
 								task.setID(task.getID().substring(0, index));
 							}
+							task.enqueued(Task.UNIVERSE_HOP);
 							readyTaskQueue.put(task);
 							if (Config.STATUSOUTPUT) {
 								System.out.println("Save Space Task:" + taskID);
@@ -342,6 +708,73 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 				"Space {0} is down.", spaceProxy.ID);
 	}
 
+	/**
+	 * Sweeper reclaims the Successor Tasks of the idle jobs, which have no
+	 * task running in any Space either.
+	 */
+	private class Sweeper extends SuccessorSweeper {
+		Sweeper() {
+			super(successorTaskMap, readyTaskQueue);
+		}
+
+		@Override
+		protected void addRunningJobs(Set<String> runningJobs) {
+			SpaceProxy[] proxies;
+			synchronized (spaceProxies) {
+				proxies = spaceProxies.values().toArray(new SpaceProxy[0]);
+			}
+			for (SpaceProxy spaceProxy : proxies) {
+				synchronized (spaceProxy.runningTaskMap) {
+					for (String taskID : spaceProxy.runningTaskMap.keySet()) {
+						runningJobs.add(Task.getJobID(taskID));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Deadline Watcher is a thread completing the jobs whose deadline is
+	 * closer than half of Config.DeadlineMargin, after the Spaces had the
+	 * time to complete their part. It keeps completing a job as its values
+	 * arrive until the final one is dispatched. A job still without a final
+	 * value once its deadline has passed is cancelled, and its Client gets a
+	 * deadline-expired Error Result instead.
+	 */
+	private class DeadlineWatcher extends Thread {
+		@Override
+		public void run() {
+			while (true) {
+				try {
+					Thread.sleep(Config.DeadlineCheckInterval);
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (deadlines.isEmpty()) {
+					continue;
+				}
+				long now = System.currentTimeMillis();
+				long due = now + Config.DeadlineMargin / 2;
+				List<String> dueJobs = new ArrayList<>();
+				synchronized (deadlines) {
+					for (Map.Entry<String, Long> entry : deadlines.entrySet()) {
+						if (entry.getValue() <= due) {
+							dueJobs.add(entry.getKey());
+						}
+					}
+				}
+				for (String jobID : dueJobs) {
+					completeJob(jobID);
+					Long deadline = deadlines.get(jobID);
+					if (deadline != null && deadline <= now) {
+						ErrorResult.expired(jobID).process(UniverseImpl.this,
+								null);
+					}
+				}
+			}
+		}
+	}
+
 	private class ServerProxy {
 		/**
 		 * Associated Server
@@ -353,6 +786,11 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 		 */
 		private final int ID;
 
+		/**
+		 * Name of the Server in the events.
+		 */
+		private final String name;
+
 		/**
 		 * Result Queue.
 		 */
@@ -371,6 +809,7 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 		public ServerProxy(Server server, int id) {
 			this.server = server;
 			this.ID = id;
+			this.name = "Server" + id;
 			this.resultQueue = new LinkedBlockingQueue<>();
 			receiveService = new ReceiveService();
 			sendService = new SendService();
@@ -419,8 +858,20 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 			public void run() {
 				while (true) {
 					Result result = getResult();
+					if (result == null) {
+						return;
+					}
+					// Send the Results waiting with it in the same call.
+					List<Result> results = new ArrayList<>();
+					results.add(result);
+					resultQueue.drainTo(results, Config.ServerBatchSize - 1);
+					RemoteSendEvent event = new RemoteSendEvent();
+					event.begin();
 					try {
-						server.dispatchResult(result);
+						server.dispatchResults(results);
+						metrics.counter("ServerResults").add(results.size());
+						event.peer(name).commit("Universe", result,
+								null);
 					} catch (RemoteException e) {
 						System.out.println("Receive Service: Server " + ID
 								+ " is Down!");
@@ -441,9 +892,11 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 			@Override
 			public void run() {
 				while (true) {
-					Task<?> task = null;
+					List<Task<?>> tasks;
+					RemoteReceiveEvent event = new RemoteReceiveEvent();
+					event.begin();
 					try {
-						task = server.getTask();
+						tasks = server.getTasks(Config.ServerBatchSize);
 					} catch (RemoteException e) {
 						System.out.println("Send Service: Server " + ID
 								+ " is Down!");
@@ -458,23 +911,40 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 						unregister(ServerProxy.this);
 						return;
 					}
-					// !:F:1:S0:1:U1
-					if (!task.getID().contains(":U")) {
-						task.setID(task.getID() + ":U" + makeTaskID());
-					} else {
-						String taskid[] = task.getID().split(":");
-						task.setID(task.getID().replace(":" + taskid[4],
-								":U" + makeTaskID()));
+					if (tasks.isEmpty()) {
+						continue;
 					}
-					synchronized (universe.readyTaskQueue) {
-						universe.addReadyTask(task);
-						if (Config.DEBUG) {
-							System.out.println("Universe-Server Proxy: Task "
-									+ task.getID()
-									+ " is added to Universe ReadyTaskQueue!");
-						}
+					event.peer(name).commit("Universe", tasks.get(0));
+					for (Task<?> task : tasks) {
+						addServerTask(task);
 					}
+				}
+			}
 
+			/**
+			 * Give a Task from the Server its Universe Task ID and add it to
+			 * the Ready Task Queue, unless its job is cancelled.
+			 */
+			private void addServerTask(Task<?> task) {
+				if (isCancelled(task.getID())) {
+					return;
+				}
+				if (task.getDeadline() != 0) {
+					deadlines.put(task.getJobID(), task.getDeadline());
+				}
+				// !:F:1:S0:1:U1
+				if (!task.getID().contains(":U")) {
+					task.setID(task.getID() + ":U" + makeTaskID());
+				} else {
+					String taskid[] = task.getID().split(":");
+					task.setID(task.getID().replace(":" + taskid[4], ":U"
+							+ makeTaskID()));
+				}
+				synchronized (readyTaskQueue) {
+					addReadyTask(task);
+					metrics.counter("ServerTasks").increment();
+					Tracer.record(Tracer.UNIVERSE_SUBMIT, task.getID(),
+							task.getLayer());
 				}
 			}
 		}
@@ -491,6 +961,11 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 		 */
 		private final int ID;
 
+		/**
+		 * Name of the Space in the events.
+		 */
+		private final String name;
+
 		/**
 		 * Task ID.
 		 */
@@ -519,6 +994,7 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 		public SpaceProxy(Space space, int id) {
 			this.space = space;
 			this.ID = id;
+			this.name = "Space" + id;
 			this.isInterrupt = false;
 			this.runningTaskMap = Collections.synchronizedMap(new HashMap<>());
 			this.receiveService = new ReceiveService();
@@ -542,11 +1018,64 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 			return TaskID.incrementAndGet();
 		}
 
+		/**
+		 * Cancel a job. Stop tracking its running tasks and propagate the
+		 * cancellation to the Space.
+		 * 
+		 * @param jobID
+		 *            Job ID to be cancelled.
+		 */
+		private void cancel(String jobID) {
+			synchronized (runningTaskMap) {
+				Iterator<String> iterator = runningTaskMap.keySet().iterator();
+				while (iterator.hasNext()) {
+					if (jobID.equals(Task.getJobID(iterator.next()))) {
+						iterator.remove();
+					}
+				}
+			}
+			try {
+				space.cancel(jobID);
+			} catch (RemoteException e) {
+				System.out.println("Cancel: Space " + ID + " is Down!");
+			}
+		}
+
+		/**
+		 * Record the metrics of a Result from the Space. The associated task
+		 * is still in Running Task Map.
+		 * 
+		 * @param result
+		 *            Result from the Space.
+		 */
+		private void recordResult(Result result) {
+			metrics.counter("Results").increment();
+			long[] hopWaits = result.getHopWaits();
+			if (hopWaits != null) {
+				for (int i = 0; i < hopWaits.length; i++) {
+					metrics.histogram("HopWait." + Task.HOP_NAMES[i]).record(
+							hopWaits[i]);
+				}
+			}
+			Task<?> task = runningTaskMap.get(result.getID());
+			if (task != null) {
+				metrics.histogram("ExecutionTime", task.getClass(),
+						task.getLayer()).record(result.getTaskRuntime());
+				if (task.getDispatchTime() != 0) {
+					metrics.histogram("DispatchToResult", task.getClass(),
+							task.getLayer()).record(
+							System.nanoTime() - task.getDispatchTime());
+				}
+			}
+		}
+
 		private class ReceiveService extends Thread {
 			@Override
 			public void run() {
 				while (true) {
 					Result result = null;
+					RemoteReceiveEvent event = new RemoteReceiveEvent();
+					event.begin();
 					try {
 						result = space.getResult();
 					} catch (RemoteException e) {
@@ -561,18 +1090,23 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 						unregister(SpaceProxy.this);
 						return;
 					}
-					synchronized (universe.readyTaskQueue) {
-						synchronized (universe.successorTaskMap) {
+					event.peer(name).commit("Universe", result,
+							runningTaskMap.get(result.getID()));
+					if (isCancelled(result.getID())) {
+						runningTaskMap.remove(result.getID());
+						continue;
+					}
+					synchronized (readyTaskQueue) {
+						synchronized (successorTaskMap) {
 							synchronized (runningTaskMap) {
-								if (Config.DEBUG) {
-									System.out
-											.println("Universe-Space Proxy: Result "
-													+ result.getID()
-													+ "-"
-													+ result.isCoarse()
-													+ " is processing!");
-								}
-								result.process(universe, runningTaskMap);
+								Tracer.record(Tracer.UNIVERSE_RECEIVE,
+										result.getID(), -1);
+								recordResult(result);
+								ResultProcessEvent processEvent = new ResultProcessEvent();
+								processEvent.begin();
+								Task<?> task = runningTaskMap.get(result.getID());
+								result.process(UniverseImpl.this, runningTaskMap);
+								processEvent.commit("Universe", result, task);
 								runningTaskMap.remove(result.getID());
 							}
 						}
@@ -596,8 +1130,8 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 					} catch (InterruptedException e) {
 						return;
 					}
-					synchronized (universe.readyTaskQueue) {
-						task = universe.getReadyTask();
+					synchronized (readyTaskQueue) {
+						task = getReadyTask();
 						if (task == null) {
 							continue;
 						}
@@ -605,26 +1139,32 @@ public class UniverseImpl extends UnicastRemoteObject implements Universe,
 							task.setID(task.getID() + ":P" + ID + ":"
 									+ makeTaskID());
 						}
+						if (!deadlines.isEmpty() && task.getDeadline() == 0) {
+							// The Space completes the job on its deadline.
+							Long deadline = deadlines.get(task.getJobID());
+							if (deadline != null) {
+								task.setDeadline(deadline);
+							}
+						}
 						synchronized (runningTaskMap) {
+							TaskDispatchEvent event = new TaskDispatchEvent();
+							event.begin();
 							try {
 								space.addTask(task);
 							} catch (RemoteException e) {
 								System.out.println("Send Service: Space " + ID
 										+ " is Down!");
-								universe.addReadyTask(task);
+								addReadyTask(task);
+								successorSweeper.dispatched(task);
 								return;
 							}
+							event.peer(name).commit("Universe", task);
+							task.setDispatchTime(System.nanoTime());
 							runningTaskMap.put(task.getID(), task);
-							if (Config.DEBUG) {
-								System.out
-										.println("Universe-Space Proxy: Task "
-												+ task.getID()
-												+ "-"
-												+ task.getLayer()
-												+ "-"
-												+ task.isCoarse()
-												+ " is added to Space ReadyTaskQueue!");
-							}
+							successorSweeper.dispatched(task);
+							metrics.counter("Tasks").increment();
+							Tracer.record(Tracer.UNIVERSE_SEND, task.getID(),
+									task.getLayer());
 						}
 					}
 					if (Config.STATUSOUTPUT) {